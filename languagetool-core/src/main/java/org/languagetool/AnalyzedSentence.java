@@ -32,8 +32,9 @@ public final class AnalyzedSentence {
   private final AnalyzedTokenReadings[] tokens;
   private final AnalyzedTokenReadings[] nonBlankTokens;
   private final int[] whPositions;  // maps positions without whitespace to positions that include whitespaces
-  private final Set<String> tokenSet;
-  private final Set<String> lemmaSet;
+  // built lazily, as sentences are re-created for every change by the disambiguator, which doesn't need them:
+  private volatile Set<String> tokenSet;
+  private volatile Set<String> lemmaSet;
 
   /**
    * Creates an AnalyzedSentence from the given {@link AnalyzedTokenReadings}. Whitespace is also a token.
@@ -54,16 +55,12 @@ public final class AnalyzedSentence {
     }
     this.whPositions = mapping;
     this.nonBlankTokens = l.toArray(new AnalyzedTokenReadings[l.size()]);
-    this.tokenSet = getTokenSet(tokens);
-    this.lemmaSet = getLemmaSet(tokens);
   }
 
   private AnalyzedSentence(AnalyzedTokenReadings[] tokens, int[] mapping, AnalyzedTokenReadings[] nonBlankTokens) {
     this.tokens = tokens;
     this.whPositions = mapping;
     this.nonBlankTokens = nonBlankTokens;
-    this.tokenSet = getTokenSet(tokens);
-    this.lemmaSet = getLemmaSet(tokens);
   }
 
   private Set<String> getTokenSet(AnalyzedTokenReadings[] tokens) {
@@ -251,7 +248,12 @@ public final class AnalyzedSentence {
    * @since 2.4
    */
   public Set<String> getTokenSet() {
-    return tokenSet;
+    Set<String> set = tokenSet;
+    if (set == null) {
+      // no locking needed, in the worst case several threads create the same set:
+      tokenSet = set = getTokenSet(tokens);
+    }
+    return set;
   }
 
   /**
@@ -260,7 +262,11 @@ public final class AnalyzedSentence {
    * @since 2.5
    */
   public Set<String> getLemmaSet() {
-    return lemmaSet;
+    Set<String> set = lemmaSet;
+    if (set == null) {
+      lemmaSet = set = getLemmaSet(tokens);
+    }
+    return set;
   }
 
   @SuppressWarnings("ControlFlowStatementWithoutBraces")
@@ -23,6 +23,7 @@ import java.util.Objects;
 import org.apache.commons.lang.builder.EqualsBuilder;
 import org.apache.commons.lang.builder.HashCodeBuilder;
 import org.jetbrains.annotations.Nullable;
+import org.languagetool.tagging.PosTagIds;
 
 /**
  * A word (or punctuation, or whitespace) and its analysis (part-of-speech tag, lemma)
@@ -38,6 +39,7 @@ public final class AnalyzedToken {
 
   private boolean isWhitespaceBefore;
   private boolean hasNoPOSTag;
+  private PosTagIds.Id posTagId;  // null until setPOSTagIds() has been called
 
   public AnalyzedToken(final String token, final String posTag, final String lemma) {
     this.token = Objects.requireNonNull(token, "token cannot be null");
@@ -65,6 +67,29 @@ public final class AnalyzedToken {
     return posTag;
   }
 
+  /**
+   * Look up the ID of the token's part-of-speech tag in {@code posTagIds}, usually the table
+   * of the language the token has been analyzed for. Nothing is looked up if the token already
+   * has an ID from that table.
+   * @since 3.2
+   */
+  public void setPOSTagIds(PosTagIds posTagIds) {
+    PosTagIds.Id id = posTagId;
+    if (id == null || id.getTable() != posTagIds) {
+      posTagId = posTagIds.getId(posTag);
+    }
+  }
+
+  /**
+   * @return the ID of the token's part-of-speech tag, or {@code null} if the tag is {@code null}
+   *   or no ID has been assigned, see {@link #setPOSTagIds(PosTagIds)}
+   * @since 3.2
+   */
+  @Nullable
+  public PosTagIds.Id getPOSTagId() {
+    return posTagId;
+  }
+
   /**
    * @return the token's lemma or {@code null}
    */
@@ -30,6 +30,7 @@ import org.languagetool.rules.patterns.AbstractPatternRule;
 import org.languagetool.rules.patterns.FalseFriendRuleLoader;
 import org.languagetool.rules.patterns.PatternRule;
 import org.languagetool.rules.patterns.PatternRuleLoader;
+import org.languagetool.tagging.PosTagIds;
 import org.xml.sax.SAXException;
 
 import javax.xml.parsers.ParserConfigurationException;
@@ -128,6 +129,7 @@ public class JLanguageTool {
 
   private boolean listUnknownWords;
   private Set<String> unknownWords;  
+  private int maxSuggestions = -1;
 
   /**
    * Constants for correct paragraph-rule handling:
@@ -231,6 +233,20 @@ public class JLanguageTool {
     this.listUnknownWords = listUnknownWords;
   }
 
+  /**
+   * Limit the number of suggestions of the matches returned by the {@code check...} methods.
+   * Use {@code 0} to skip suggestions completely, e.g. if only the error positions are needed.
+   * As the spell checking rules compute their suggestions only on demand, this avoids their
+   * expensive search for similar words. The default is {@code -1}, i.e. no limit.
+   * @since 3.2
+   */
+  public void setMaxSuggestions(int maxSuggestions) {
+    if (maxSuggestions < -1) {
+      throw new IllegalArgumentException("maxSuggestions must be -1 (no limit) or >= 0: " + maxSuggestions);
+    }
+    this.maxSuggestions = maxSuggestions;
+  }
+
   /**
    * Gets the ResourceBundle (i18n strings) for the default language of the user's system.
    */
@@ -624,7 +640,12 @@ public class JLanguageTool {
     }
     final RuleMatch thisMatch = new RuleMatch(match.getRule(),
         fromPos, toPos, match.getMessage(), match.getShortMessage());
-    thisMatch.setSuggestedReplacements(match.getSuggestedReplacements());
+    if (maxSuggestions == 0) {
+      thisMatch.setSuggestedReplacements(new ArrayList<>());
+    } else {
+      // don't trigger the computation of lazy suggestions here, the caller might not need them:
+      thisMatch.setLazySuggestedReplacements(() -> limitSuggestions(match.getSuggestedReplacements()));
+    }
     final String sentencePartToError = sentence.substring(0, match.getFromPos());
     final String sentencePartToEndOfError = sentence.substring(0, match.getToPos());
     final int lastLineBreakPos = sentencePartToError.lastIndexOf('\n');
@@ -650,6 +671,13 @@ public class JLanguageTool {
     return thisMatch;
   }
 
+  private List<String> limitSuggestions(List<String> suggestions) {
+    if (maxSuggestions >= 0 && suggestions.size() > maxSuggestions) {
+      return new ArrayList<>(suggestions.subList(0, maxSuggestions));
+    }
+    return suggestions;
+  }
+
   protected void rememberUnknownWords(final AnalyzedSentence analyzedText) {
     if (listUnknownWords) {
       final AnalyzedTokenReadings[] atr = analyzedText
@@ -702,6 +730,7 @@ public class JLanguageTool {
     if (language.getPostDisambiguationChunker() != null) {
       language.getPostDisambiguationChunker().addChunkTags(Arrays.asList(analyzedSentence.getTokens()));
     }
+    setPosTagIds(analyzedSentence.getTokens());  // for readings added by the disambiguator
     return analyzedSentence;
   }
 
@@ -762,9 +791,20 @@ public class JLanguageTool {
     if (tokenArray.length == lastToken + 1 && tokenArray[lastToken].isLinebreak()) {
       tokenArray[lastToken].setParagraphEnd();
     }
+    setPosTagIds(tokenArray);
     return new AnalyzedSentence(tokenArray);
   }
 
+  // lets pattern rules remember the results of their POS tag regexes, see PosTagIds:
+  private void setPosTagIds(AnalyzedTokenReadings[] tokens) {
+    final PosTagIds posTagIds = language.getPosTagIds();
+    for (AnalyzedTokenReadings tokenReadings : tokens) {
+      for (AnalyzedToken reading : tokenReadings) {
+        reading.setPOSTagIds(posTagIds);
+      }
+    }
+  }
+
   private Map<Integer, String> replaceSoftHyphens(List<String> tokens) {
     Pattern ignoredCharacterRegex = language.getIgnoredCharactersRegex();
     
@@ -904,13 +944,21 @@ public class JLanguageTool {
         if (rule instanceof TextLevelRule && !ignoreRule(rule) && paraMode != ParagraphHandling.ONLYNONPARA) {
           RuleMatch[] matches = ((TextLevelRule) rule).match(analyzedSentences);
           for (RuleMatch match : matches) {
-            LineColumnRange range = getLineColumnRange(match);
-            match.setColumn(range.from.column);
-            match.setEndColumn(range.to.column);
-            match.setLine(range.from.line);
-            match.setEndLine(range.to.line);
+            RuleMatch thisMatch = match;
+            if (maxSuggestions == 0) {
+              match.setSuggestedReplacements(new ArrayList<>());
+            } else if (maxSuggestions > 0) {
+              // like in adjustRuleMatchPos(), don't trigger the computation of lazy suggestions here:
+              thisMatch = new RuleMatch(match.getRule(), match.getFromPos(), match.getToPos(), match.getMessage(), match.getShortMessage());
+              thisMatch.setLazySuggestedReplacements(() -> limitSuggestions(match.getSuggestedReplacements()));
+            }
+            LineColumnRange range = getLineColumnRange(thisMatch);
+            thisMatch.setColumn(range.from.column);
+            thisMatch.setEndColumn(range.to.column);
+            thisMatch.setLine(range.from.line);
+            thisMatch.setEndLine(range.to.line);
+            ruleMatches.add(thisMatch);
           }
-          ruleMatches.addAll(Arrays.asList(matches));
         }
       }
       for (final AnalyzedSentence analyzedSentence : analyzedSentences) {
@@ -23,9 +23,11 @@ import org.languagetool.chunking.Chunker;
 import org.languagetool.databroker.ResourceDataBroker;
 import org.languagetool.language.Contributor;
 import org.languagetool.languagemodel.LanguageModel;
+import org.languagetool.languagemodel.LuceneLanguageModel;
 import org.languagetool.rules.Rule;
 import org.languagetool.rules.patterns.*;
 import org.languagetool.synthesis.Synthesizer;
+import org.languagetool.tagging.PosTagIds;
 import org.languagetool.tagging.Tagger;
 import org.languagetool.tagging.disambiguation.Disambiguator;
 import org.languagetool.tagging.disambiguation.xx.DemoDisambiguator;
@@ -62,6 +64,7 @@ public abstract class Language {
 
   private final UnifierConfiguration unifierConfig = new UnifierConfiguration();
   private final UnifierConfiguration disambiguationUnifierConfig = new UnifierConfiguration();
+  private final PosTagIds posTagIds = new PosTagIds();
 
   private final Pattern ignoredCharactersRegex = Pattern.compile("[\u00AD]");  // soft hyphen
   
@@ -144,6 +147,22 @@ public abstract class Language {
     return null;
   }
 
+  /**
+   * Helper for sub classes that keep a {@link LuceneLanguageModel} in a field: returns a new
+   * model for {@code indexDir/<shortName>} if {@code languageModel} is {@code null}, otherwise
+   * switches {@code languageModel} to that directory if it has changed (e.g. because {@code indexDir}
+   * is a symlink that now points to a newer version of the ngram data), see {@link LuceneLanguageModel#reload(File)}.
+   * @since 3.2
+   */
+  protected LuceneLanguageModel initLanguageModel(File indexDir, @Nullable LuceneLanguageModel languageModel) {
+    File topIndexDir = new File(indexDir, getShortName());
+    if (languageModel == null) {
+      return new LuceneLanguageModel(topIndexDir);
+    }
+    languageModel.reload(topIndexDir);
+    return languageModel;
+  }
+
   /**
    * Get a list of rules that require a {@link LanguageModel}. Returns an empty list for
    * languages that don't have such rules.
@@ -291,6 +310,15 @@ public abstract class Language {
   public UnifierConfiguration getDisambiguationUnifierConfiguration() {
     return disambiguationUnifierConfig;
   }
+
+  /**
+   * The IDs of the part-of-speech tags of this language, assigned to the tokens of analyzed
+   * sentences by {@link JLanguageTool}.
+   * @since 3.2
+   */
+  public PosTagIds getPosTagIds() {
+    return posTagIds;
+  }
   
   /**
    * Get the name of the language translated to the current locale,
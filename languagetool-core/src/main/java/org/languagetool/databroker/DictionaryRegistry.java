@@ -0,0 +1,131 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.databroker;
+
+import morfologik.fsa.CFSA;
+import morfologik.fsa.CFSA2;
+import morfologik.fsa.FSA;
+import morfologik.fsa.FSA5;
+import morfologik.stemming.Dictionary;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry of Morfologik dictionaries, so that each dictionary file is loaded
+ * only once even if it is used by several components (tagger, synthesizer, speller) and
+ * language variants. {@link Dictionary} is immutable and can be shared between threads.
+ * The registry only keeps weak references, so a dictionary can be garbage collected once
+ * no component uses it anymore, and is loaded again when it's needed later.
+ * Use {@link ResourceDataBroker#getDictionaryFromResourceDir(String)} to get dictionaries
+ * from the resource directory.
+ * @since 3.2
+ */
+public final class DictionaryRegistry {
+
+  private static final Map<String,DictionaryReference> dictionaries = new ConcurrentHashMap<>();  // key: URL of the dictionary
+  // one lock per URL, so loading a big dictionary doesn't block getting other dictionaries:
+  private static final Map<String,Object> loadLocks = new ConcurrentHashMap<>();
+
+  private DictionaryRegistry() {
+  }
+
+  /**
+   * Get the dictionary at {@code url}, loading it if it's not in use already.
+   * @throws RuntimeException if the dictionary cannot be loaded
+   */
+  public static Dictionary get(URL url) {
+    String key = url.toExternalForm();
+    Dictionary dictionary = getLoaded(key);
+    if (dictionary != null) {
+      return dictionary;
+    }
+    synchronized (loadLocks.computeIfAbsent(key, k -> new Object())) {
+      dictionary = getLoaded(key);
+      if (dictionary == null) {
+        try {
+          dictionary = Dictionary.read(url);
+        } catch (IOException e) {
+          throw new RuntimeException("Could not load dictionary from " + url, e);
+        }
+        removeCollectedEntries();
+        dictionaries.put(key, new DictionaryReference(dictionary));
+      }
+      return dictionary;
+    }
+  }
+
+  /**
+   * Whether the dictionary at {@code url} is currently loaded.
+   */
+  static boolean isLoaded(URL url) {
+    return getLoaded(url.toExternalForm()) != null;
+  }
+
+  /**
+   * The approximate heap memory used by each loaded dictionary in bytes, sorted by URL.
+   * The value is {@code -1} for automaton types whose size is unknown.
+   */
+  public static Map<String,Long> getMemoryFootprint() {
+    removeCollectedEntries();
+    Map<String,Long> result = new TreeMap<>();
+    for (Map.Entry<String,DictionaryReference> entry : dictionaries.entrySet()) {
+      if (entry.getValue().get() != null) {
+        result.put(entry.getKey(), entry.getValue().sizeInBytes);
+      }
+    }
+    return result;
+  }
+
+  @Nullable
+  private static Dictionary getLoaded(String key) {
+    DictionaryReference ref = dictionaries.get(key);
+    return ref == null ? null : ref.get();
+  }
+
+  private static void removeCollectedEntries() {
+    dictionaries.values().removeIf(ref -> ref.get() == null);
+  }
+
+  private static long getSizeInBytes(FSA fsa) {
+    // the automaton is stored as one byte array, which is by far the biggest part of a dictionary:
+    if (fsa instanceof FSA5) {
+      return ((FSA5) fsa).arcs.length;
+    } else if (fsa instanceof CFSA2) {
+      return ((CFSA2) fsa).arcs.length;
+    } else if (fsa instanceof CFSA) {
+      return ((CFSA) fsa).arcs.length;
+    }
+    return -1;
+  }
+
+  private static final class DictionaryReference extends WeakReference<Dictionary> {
+    private final long sizeInBytes;
+    DictionaryReference(Dictionary dictionary) {
+      super(dictionary);
+      this.sizeInBytes = getSizeInBytes(dictionary.fsa);
+    }
+  }
+
+}
@@ -21,6 +21,7 @@ package org.languagetool.databroker;
 import java.io.InputStream;
 import java.net.URL;
 
+import morfologik.stemming.Dictionary;
 import org.languagetool.JLanguageTool;
 
 /**
@@ -98,6 +99,19 @@ public interface ResourceDataBroker {
    */
    InputStream getFromResourceDirAsStream(String path);
 
+  /**
+   * Gets a Morfologik dictionary from the grammar checker's {@code /resource} directory.
+   * A dictionary is loaded only once as long as it is in use and then shared, see {@link DictionaryRegistry}.
+   *
+   * @param path Path to a {@code .dict} file from the {@code /resource} directory, the
+   *             {@code .info} file is expected next to it
+   * @throws RuntimeException if path cannot be found or the dictionary cannot be loaded
+   * @since 3.2
+   */
+  default Dictionary getDictionaryFromResourceDir(String path) {
+    return DictionaryRegistry.get(getFromResourceDirAsUrl(path));
+  }
+
   /**
    * Gets any resource from the grammar checker's {@code /rules} directory.
    *
@@ -33,15 +33,24 @@ public abstract class BaseLanguageModel implements LanguageModel {
 
   private static final boolean DEBUG = false;
   
-  private Long totalTokenCount;
+  private volatile Long totalTokenCount;
 
   public BaseLanguageModel()  {
   }
 
+  /**
+   * Forget the cached total token count, to be called when the underlying data changes.
+   */
+  void resetTotalTokenCount() {
+    totalTokenCount = null;
+  }
+
   @Override
   public Probability getPseudoProbability(List<String> context) {
-    if (this.totalTokenCount == null) {
-      this.totalTokenCount = getTotalTokenCount();
+    Long totalTokenCount = this.totalTokenCount;
+    if (totalTokenCount == null) {
+      totalTokenCount = getTotalTokenCount();
+      this.totalTokenCount = totalTokenCount;
     }
     int maxCoverage = 0;
     int coverage = 0;
@@ -0,0 +1,119 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.languagemodel;
+
+/**
+ * Maps ngram occurrence counts to 8 or 16 bit codes on a logarithmic scale,
+ * so indexes can store a small code instead of a full 64-bit count. Counts
+ * that decode from the same code differ by at most about 9% (8 bit) or 0.04% (16 bit),
+ * which is usually irrelevant for comparing probabilities. Code {@code 0} is
+ * reserved for a count of {@code 0}. The codes are spread up to {@code maxCount}, so each
+ * ngram order should get its own quantizer with the largest count of that order: the smaller
+ * {@code maxCount}, the smaller the error (e.g. about 3% for 8 bits and a {@code maxCount} of one million).
+ * @since 3.2
+ */
+public class CountQuantizer {
+
+  private final int bits;
+  private final long maxCount;
+  private final double logStep;
+  private final long[] codeToCount;
+
+  /**
+   * @param bits 8 or 16
+   * @param maxCount the largest count to be encoded, larger counts will be encoded as this value,
+   *                 usually the largest count of the ngram order in the index
+   */
+  public CountQuantizer(int bits, long maxCount) {
+    if (bits != 8 && bits != 16) {
+      throw new IllegalArgumentException("Only 8 and 16 bits are supported: " + bits);
+    }
+    if (maxCount < 2) {
+      throw new IllegalArgumentException("maxCount must be > 1: " + maxCount);
+    }
+    this.bits = bits;
+    this.maxCount = maxCount;
+    int codes = 1 << bits;
+    // code 0 is for count 0, code 1 is for count 1, the other codes are distributed on a log scale:
+    this.logStep = Math.log(maxCount) / (codes - 2);
+    this.codeToCount = new long[codes];
+    for (int code = 1; code < codes; code++) {
+      codeToCount[code] = Math.max(1, Math.min(maxCount, Math.round(Math.exp((code - 1) * logStep))));
+    }
+  }
+
+  public int getBits() {
+    return bits;
+  }
+
+  public long getMaxCount() {
+    return maxCount;
+  }
+
+  public int encode(long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be >= 0: " + count);
+    }
+    if (count == 0) {
+      return 0;
+    }
+    long code = 1 + Math.round(Math.log(Math.min(count, maxCount)) / logStep);
+    return (int) Math.min(code, codeToCount.length - 1);
+  }
+
+  public long decode(int code) {
+    return codeToCount[code];
+  }
+
+  /**
+   * Encode {@code count} as one byte (8 bit) or two bytes (16 bit, big endian).
+   */
+  public byte[] encodeToBytes(long count) {
+    int code = encode(count);
+    if (bits == 8) {
+      return new byte[] {(byte) code};
+    } else {
+      return new byte[] {(byte) (code >>> 8), (byte) code};
+    }
+  }
+
+  /**
+   * Decode a count from the bytes created by {@link #encodeToBytes(long)}.
+   */
+  public long decodeFromBytes(byte[] bytes, int offset) {
+    if (bits == 8) {
+      return decode(bytes[offset] & 0xFF);
+    } else {
+      return decode(((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF));
+    }
+  }
+
+  /**
+   * The count as it will be returned after encoding and decoding it.
+   */
+  public long quantize(long count) {
+    return decode(encode(count));
+  }
+
+  @Override
+  public String toString() {
+    return bits + " bits, max. count " + maxCount;
+  }
+
+}
@@ -19,32 +19,37 @@
 package org.languagetool.languagemodel;
 
 import org.apache.commons.lang.StringUtils;
+import org.apache.lucene.document.Document;
 import org.apache.lucene.index.*;
 import org.apache.lucene.search.*;
 import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
 import org.languagetool.Experimental;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.*;
 
 /**
  * Information about ngram occurrences, taken from a Lucene index.
  * This is not a real language model as it only returns information
  * about occurrence counts but has no probability calculation, especially
- * not for the case with 0 occurrences.
+ * not for the case with 0 occurrences. Indexes can contain exact
+ * counts or counts quantized with a {@link CountQuantizer}; the latter are
+ * detected automatically, per ngram order.
+ * <p>
+ * The indexes can be replaced at runtime with {@link #reload(File)}, e.g. to switch
+ * from one versioned ngram directory to the next. Lookups that are running while the
+ * indexes are swapped finish on the old indexes, which are closed when the last of them is done.
  * @since 2.7
  */
 public class LuceneLanguageModel extends BaseLanguageModel {
 
-  private static final Map<File,LuceneSearcher> dirToSearcherMap = new HashMap<>();  // static to save memory for language variants
+  // static to save memory for language variants, key is the canonical index directory,
+  // access must be synchronized on the map itself:
+  private static final Map<File,LuceneSearcher> dirToSearcherMap = new HashMap<>();
 
-  private final List<File> indexes = new ArrayList<>();
-  private final Map<Integer,LuceneSearcher> luceneSearcherMap = new HashMap<>();
-  private final File topIndexDir;
-  private final long maxNgram;
+  private volatile IndexSet indexSet;
 
   /**
    * Throw RuntimeException is the given directory does not seem to be a valid ngram top directory
@@ -72,7 +77,9 @@ public class LuceneLanguageModel extends BaseLanguageModel {
   
   @Experimental
   public static void clearCaches() {
-    dirToSearcherMap.clear();
+    synchronized (dirToSearcherMap) {
+      dirToSearcherMap.clear();
+    }
   }
 
   /**
@@ -82,46 +89,78 @@ public class LuceneLanguageModel extends BaseLanguageModel {
    */
   public LuceneLanguageModel(File topIndexDir)  {
     doValidateDirectory(topIndexDir);
-    this.topIndexDir = topIndexDir;
-    addIndex(topIndexDir, 1);
-    addIndex(topIndexDir, 2);
-    addIndex(topIndexDir, 3);
-    addIndex(topIndexDir, 4);
-    if (luceneSearcherMap.size() == 0) {
-      throw new RuntimeException("No directories '1grams' ... '3grams' found in " + topIndexDir);
-    }
-    maxNgram = Collections.<Integer>max(luceneSearcherMap.keySet());
+    this.indexSet = openIndexSet(topIndexDir);
   }
 
   @Experimental
   public LuceneLanguageModel(int maxNgram)  {
-    this.maxNgram = maxNgram;
-    this.topIndexDir = null;
+    this.indexSet = new IndexSet(null, null, Collections.<Integer,LuceneSearcher>emptyMap(), maxNgram);
   }
 
   protected void doValidateDirectory(File topIndexDir) {
     validateDirectory(topIndexDir);
   }
 
-  private void addIndex(File topIndexDir, int ngramSize) {
-    File indexDir = new File(topIndexDir, ngramSize + "grams");
-    if (indexDir.exists() && indexDir.isDirectory()) {
-      if (luceneSearcherMap.containsKey(ngramSize)) {
-        throw new RuntimeException("Searcher for ngram size " + ngramSize + " already exists");
+  /**
+   * Atomically switch this model to the indexes in {@code newTopIndexDir}. Lookups
+   * that have already started finish on the old indexes, which get closed afterwards
+   * unless another model still uses them. Nothing happens if {@code newTopIndexDir}
+   * resolves to the directory that is currently in use.
+   * @param newTopIndexDir a directory like the one given to the constructor
+   * @return {@code true} if the indexes have been replaced
+   * @since 3.2
+   */
+  public synchronized boolean reload(File newTopIndexDir) {
+    IndexSet oldSet = indexSet;
+    if (oldSet.canonicalTopIndexDir != null && oldSet.canonicalTopIndexDir.equals(getCanonicalFile(newTopIndexDir))) {
+      return false;
+    }
+    doValidateDirectory(newTopIndexDir);
+    IndexSet newSet = openIndexSet(newTopIndexDir);
+    indexSet = newSet;
+    resetTotalTokenCount();
+    oldSet.release();
+    return true;
+  }
+
+  /**
+   * The top index directory currently in use, as given to the constructor or {@link #reload(File)}.
+   * @since 3.2
+   */
+  public File getTopIndexDir() {
+    return indexSet.topIndexDir;
+  }
+
+  private IndexSet openIndexSet(File topIndexDir) {
+    Map<Integer,LuceneSearcher> searchers = new HashMap<>();
+    try {
+      for (int ngramSize = 1; ngramSize <= 4; ngramSize++) {
+        File indexDir = new File(topIndexDir, ngramSize + "grams");
+        if (indexDir.exists() && indexDir.isDirectory()) {
+          searchers.put(ngramSize, acquireSearcher(indexDir));
+        }
+      }
+    } catch (RuntimeException e) {
+      for (LuceneSearcher searcher : searchers.values()) {
+        releaseSearcher(searcher);
       }
-      luceneSearcherMap.put(ngramSize, getCachedLuceneSearcher(indexDir));
-      indexes.add(indexDir);
+      throw e;
+    }
+    if (searchers.size() == 0) {
+      throw new RuntimeException("No directories '1grams' ... '3grams' found in " + topIndexDir);
     }
+    return new IndexSet(topIndexDir, getCanonicalFile(topIndexDir), searchers, Collections.max(searchers.keySet()));
   }
 
   @Override
   public long getCount(List<String> tokens) {
+    Objects.requireNonNull(tokens);
+    long maxNgram = indexSet.maxNgram;
     if (tokens.size() > maxNgram) {
       throw new RuntimeException("Requested " + tokens.size() + "gram but index has only up to " + maxNgram + "gram: " + tokens);
     }
-    Objects.requireNonNull(tokens);
     Term term = new Term("ngram", StringUtils.join(tokens, " "));
-    return getCount(term, getLuceneSearcher(tokens.size()));
+    return search(tokens.size(), searcher -> getCount(term, searcher));
   }
 
   @Override
@@ -136,8 +175,7 @@ public class LuceneLanguageModel extends BaseLanguageModel {
 
   @Override
   public long getTotalTokenCount() {
-    LuceneSearcher luceneSearcher = getLuceneSearcher(1);
-    try {
+    return search(1, luceneSearcher -> {
       RegexpQuery query = new RegexpQuery(new Term("totalTokenCount", ".*"));
       TopDocs docs = luceneSearcher.searcher.search(query, 1000);  // Integer.MAX_VALUE might cause OOE on wrong index
       if (docs.totalHits == 0) {
@@ -151,81 +189,174 @@ public class LuceneLanguageModel extends BaseLanguageModel {
         }
         return result;
       }
-    } catch (IOException e) {
-      throw new RuntimeException(e);
-    }
+    });
   }
 
-  protected LuceneSearcher getLuceneSearcher(int ngramSize) {
-    LuceneSearcher luceneSearcher = luceneSearcherMap.get(ngramSize);
-    if (luceneSearcher == null) {
-      throw new RuntimeException("No " + ngramSize + "grams directory found in " + topIndexDir);
+  /**
+   * Run {@code task} on the current searcher for {@code ngramSize}, making sure
+   * its reader cannot be closed by a concurrent {@link #reload(File)} meanwhile.
+   * Subclasses must not keep the searcher after {@code task} has returned.
+   * @since 3.2
+   */
+  protected <T> T search(int ngramSize, SearchTask<T> task) {
+    while (true) {
+      IndexSet currentSet = indexSet;
+      LuceneSearcher luceneSearcher = currentSet.getSearcher(ngramSize);
+      if (luceneSearcher.reader.tryIncRef()) {
+        try {
+          return task.run(luceneSearcher);
+        } catch (IOException e) {
+          throw new RuntimeException(e);
+        } finally {
+          decRef(luceneSearcher);
+        }
+      }
+      if (currentSet == indexSet) {
+        throw new RuntimeException("Index has been closed: " + luceneSearcher.directory);
+      }
+      // the indexes have just been swapped, try again with the new ones
     }
-    return luceneSearcher;
   }
 
-  private LuceneSearcher getCachedLuceneSearcher(File indexDir) {
-    LuceneSearcher luceneSearcher = dirToSearcherMap.get(indexDir);
-    if (luceneSearcher == null) {
-      try {
-        LuceneSearcher newSearcher = new LuceneSearcher(indexDir);
-        dirToSearcherMap.put(indexDir, newSearcher);
-        return newSearcher;
-      } catch (IOException e) {
-        throw new RuntimeException(e);
+  private static LuceneSearcher acquireSearcher(File indexDir) {
+    File key = getCanonicalFile(indexDir);
+    synchronized (dirToSearcherMap) {
+      LuceneSearcher luceneSearcher = dirToSearcherMap.get(key);
+      if (luceneSearcher == null) {
+        try {
+          luceneSearcher = new LuceneSearcher(key);
+        } catch (IOException e) {
+          throw new RuntimeException(e);
+        }
+        dirToSearcherMap.put(key, luceneSearcher);
       }
-    } else {
+      luceneSearcher.users++;
       return luceneSearcher;
     }
   }
 
-  private long getCount(Term term, LuceneSearcher luceneSearcher) {
-    try {
-      TopDocs docs = luceneSearcher.searcher.search(new TermQuery(term), 2);
-      if (docs.totalHits == 0) {
-        return 0;
-      } else if (docs.totalHits == 1) {
-        int docId = docs.scoreDocs[0].doc;
-        return Long.parseLong(luceneSearcher.reader.document(docId).get("count"));
-      } else {
-        throw new RuntimeException("Found more than one match for query " + term + " in " + luceneSearcher.directory);
+  private static void releaseSearcher(LuceneSearcher luceneSearcher) {
+    synchronized (dirToSearcherMap) {
+      if (--luceneSearcher.users > 0) {
+        return;
       }
+      if (dirToSearcherMap.get(luceneSearcher.indexDir) == luceneSearcher) {
+        dirToSearcherMap.remove(luceneSearcher.indexDir);
+      }
+    }
+    // the reader (and with it the directory) gets closed once running lookups are done:
+    decRef(luceneSearcher);
+  }
+
+  private static void decRef(LuceneSearcher luceneSearcher) {
+    try {
+      luceneSearcher.reader.decRef();
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
   }
 
-  @Override
-  public void close() {
-    for (LuceneSearcher searcher : luceneSearcherMap.values()) {
-      try {
-        searcher.reader.close();
-        searcher.directory.close();
-      } catch (IOException e) {
-        throw new RuntimeException(e);
+  private static File getCanonicalFile(File file) {
+    try {
+      // not File.getCanonicalFile(), as that may return cached results after a symlink has changed:
+      return file.toPath().toRealPath().toFile();
+    } catch (IOException e) {
+      throw new RuntimeException("Could not resolve " + file, e);
+    }
+  }
+
+  private long getCount(Term term, LuceneSearcher luceneSearcher) throws IOException {
+    TopDocs docs = luceneSearcher.searcher.search(new TermQuery(term), 2);
+    if (docs.totalHits == 0) {
+      return 0;
+    } else if (docs.totalHits == 1) {
+      int docId = docs.scoreDocs[0].doc;
+      Document doc = luceneSearcher.reader.document(docId);
+      if (luceneSearcher.quantizer != null) {
+        BytesRef code = doc.getBinaryValue("qcount");
+        return luceneSearcher.quantizer.decodeFromBytes(code.bytes, code.offset);
       }
+      return Long.parseLong(doc.get("count"));
+    } else {
+      throw new RuntimeException("Found more than one match for query " + term + " in " + luceneSearcher.directory);
     }
   }
 
+  @Override
+  public synchronized void close() {
+    IndexSet oldSet = indexSet;
+    indexSet = new IndexSet(oldSet.topIndexDir, null, Collections.<Integer,LuceneSearcher>emptyMap(), oldSet.maxNgram);
+    oldSet.release();
+  }
+
   @Override
   public String toString() {
-    return indexes.toString();
+    return indexSet.indexes.toString();
+  }
+
+  /** @since 3.2 */
+  protected interface SearchTask<T> {
+    T run(LuceneSearcher luceneSearcher) throws IOException;
+  }
+
+  /**
+   * The searchers of one top index directory, replaced as a whole on reload.
+   */
+  private static class IndexSet {
+    private final File topIndexDir;
+    private final File canonicalTopIndexDir;
+    private final Map<Integer,LuceneSearcher> searchers;
+    private final List<File> indexes = new ArrayList<>();
+    private final long maxNgram;
+    IndexSet(File topIndexDir, File canonicalTopIndexDir, Map<Integer,LuceneSearcher> searchers, long maxNgram) {
+      this.topIndexDir = topIndexDir;
+      this.canonicalTopIndexDir = canonicalTopIndexDir;
+      this.searchers = searchers;
+      this.maxNgram = maxNgram;
+      for (int ngramSize : new TreeSet<>(searchers.keySet())) {
+        indexes.add(new File(topIndexDir, ngramSize + "grams"));
+      }
+    }
+    LuceneSearcher getSearcher(int ngramSize) {
+      LuceneSearcher luceneSearcher = searchers.get(ngramSize);
+      if (luceneSearcher == null) {
+        throw new RuntimeException("No " + ngramSize + "grams directory found in " + topIndexDir);
+      }
+      return luceneSearcher;
+    }
+    void release() {
+      for (LuceneSearcher luceneSearcher : searchers.values()) {
+        releaseSearcher(luceneSearcher);
+      }
+    }
   }
 
   protected static class LuceneSearcher {
+    final File indexDir;
     final FSDirectory directory;
     final IndexReader reader;
     final IndexSearcher searcher;
-    private LuceneSearcher(File indexDir) throws IOException {
-      Path path = indexDir.toPath();
-      // symlinks are not supported here, see https://issues.apache.org/jira/browse/LUCENE-6700,
-      // so we resolve the link ourselves:
-      if (Files.isSymbolicLink(path)) {
-        path = indexDir.getCanonicalFile().toPath();
-      }
-      this.directory = FSDirectory.open(path);
+    final CountQuantizer quantizer;  // null if the index contains exact counts
+    private int users;  // number of models using this searcher, guarded by dirToSearcherMap
+    private LuceneSearcher(File canonicalIndexDir) throws IOException {
+      // symlinks are not supported by Lucene, see https://issues.apache.org/jira/browse/LUCENE-6700,
+      // so we expect the link to be resolved already:
+      this.indexDir = canonicalIndexDir;
+      this.directory = FSDirectory.open(canonicalIndexDir.toPath());
       this.reader = DirectoryReader.open(directory);
+      this.reader.addReaderClosedListener(r -> directory.close());
       this.searcher = new IndexSearcher(reader);
+      this.quantizer = getQuantizer();
+    }
+    private CountQuantizer getQuantizer() throws IOException {
+      TopDocs docs = searcher.search(new RegexpQuery(new Term("quantizationBits", ".*")), 2);
+      if (docs.totalHits == 0) {
+        return null;
+      } else if (docs.totalHits > 1) {
+        throw new RuntimeException("Expected only one 'quantizationBits' meta document in " + directory + ", found " + docs.totalHits);
+      }
+      Document doc = reader.document(docs.scoreDocs[0].doc);
+      return new CountQuantizer(Integer.parseInt(doc.get("quantizationBits")), Long.parseLong(doc.get("quantizationMaxCount")));
     }
     public IndexReader getReader() {
       return reader;
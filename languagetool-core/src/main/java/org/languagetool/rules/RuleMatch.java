@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -46,7 +47,8 @@ public class RuleMatch implements Comparable<RuleMatch> {
 
   private LinePosition linePosition = new LinePosition(-1, -1);
   private ColumnPosition columnPosition = new ColumnPosition(-1, -1);
-  private List<String> suggestedReplacements = new ArrayList<>();
+  private volatile List<String> suggestedReplacements = new ArrayList<>();
+  private volatile Supplier<List<String>> suggestionSupplier;   // non-null until lazy suggestions have been computed
 
   /**
    * Creates a RuleMatch object, taking the rule that triggered
@@ -209,7 +211,27 @@ public class RuleMatch implements Comparable<RuleMatch> {
    * @see #getSuggestedReplacements()
    */
   public void setSuggestedReplacements(final List<String> replacements) {
-    this.suggestedReplacements = Objects.requireNonNull(replacements, "replacements may be empty but not null");
+    Objects.requireNonNull(replacements, "replacements may be empty but not null");
+    synchronized (this) {
+      this.suggestedReplacements = replacements;
+      this.suggestionSupplier = null;
+    }
+  }
+
+  /**
+   * Set suggestions that are only computed when {@link #getSuggestedReplacements()}
+   * is called for the first time. Use this if computing suggestions is expensive, as
+   * is the case for spell checking, and the caller might not need them. The supplier
+   * is called at most once, even if several threads ask for the suggestions.
+   * @param supplier computes the suggestions, must not return {@code null} and must not throw:
+   *                 work that can fail should be done before the match is created
+   * @since 3.2
+   */
+  public void setLazySuggestedReplacements(final Supplier<List<String>> supplier) {
+    Objects.requireNonNull(supplier, "supplier must not be null");
+    synchronized (this) {
+      this.suggestionSupplier = supplier;
+    }
   }
 
   /**
@@ -219,6 +241,15 @@ public class RuleMatch implements Comparable<RuleMatch> {
    * @return unmodifiable list of String objects or an empty List
    */
   public List<String> getSuggestedReplacements() {
+    if (suggestionSupplier != null) {
+      synchronized (this) {
+        Supplier<List<String>> supplier = suggestionSupplier;
+        if (supplier != null) {
+          suggestedReplacements = Objects.requireNonNull(supplier.get(), "supplier returned null suggestions");
+          suggestionSupplier = null;
+        }
+      }
+    }
     return Collections.unmodifiableList(suggestedReplacements);
   }
 
@@ -234,6 +265,11 @@ public class RuleMatch implements Comparable<RuleMatch> {
     return Integer.compare(getFromPos(), other.getFromPos());
   }
 
+  /**
+   * Suggestions are not part of the comparison: they may be computed lazily (see
+   * {@link #setLazySuggestedReplacements(Supplier)}) and comparing them would force
+   * that computation.
+   */
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -243,7 +279,6 @@ public class RuleMatch implements Comparable<RuleMatch> {
             .append(rule.getId(), other.rule.getId())
             .append(offsetPosition, other.offsetPosition)
             .append(message, other.message)
-            .append(suggestedReplacements, other.suggestedReplacements)
             .isEquals();
   }
 
@@ -252,8 +287,7 @@ public class RuleMatch implements Comparable<RuleMatch> {
     return new HashCodeBuilder()
             .append(rule.getId())
             .append(offsetPosition)
-            .append(message)
-            .append(suggestedReplacements).toHashCode();
+            .append(message).toHashCode();
   }
 
   static class OffsetPosition extends MatchPosition {
@@ -32,6 +32,8 @@ import org.languagetool.tools.Tools;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * LanguageTool's homophone confusion check that uses ngram lookups
@@ -52,6 +54,8 @@ public abstract class ConfusionProbabilityRule extends Rule {
   private static final boolean DEBUG = false;
 
   private final Map<String,List<ConfusionSet>> wordToSets;
+  // the Google-style tokenization of the words from the confusion sets, so we don't need to tokenize them again for every match:
+  private final Map<String,List<String>> termToTokens = new ConcurrentHashMap<>();
   private final LanguageModel lm;
   private final int grams;
   private final Language language;
@@ -87,12 +91,60 @@ public abstract class ConfusionProbabilityRule extends Rule {
 
   @Override
   public RuleMatch[] match(AnalyzedSentence sentence) {
-    String text = sentence.getText();
-    List<GoogleToken> tokens = GoogleToken.getGoogleTokens(text, true, getGoogleStyleWordTokenizer());
     List<RuleMatch> matches = new ArrayList<>();
-    int pos = 0;
-    for (GoogleToken googleToken : tokens) {
-      String token = googleToken.token;
+    for (Candidate candidate : getCandidates(sentence, 0)) {
+      RuleMatch match = getRuleMatchOrNull(candidate, lm::getPseudoProbability, this);
+      if (match != null) {
+        matches.add(match);
+      }
+    }
+    return matches.toArray(new RuleMatch[matches.size()]);
+  }
+
+  /**
+   * Check all sentences of a text, looking up every distinct ngram context only once,
+   * no matter how often it occurs. Used by {@link DocumentConfusionProbabilityRule}.
+   * @param rule the rule to be used for the rule matches
+   */
+  RuleMatch[] match(List<AnalyzedSentence> sentences, Rule rule) {
+    List<Candidate> candidates = new ArrayList<>();
+    int startPosBase = 0;
+    for (AnalyzedSentence sentence : sentences) {
+      candidates.addAll(getCandidates(sentence, startPosBase));
+      startPosBase += sentence.getText().length();
+    }
+    // first collect the contexts needed by all candidates, then look them up:
+    Set<List<String>> contexts = new HashSet<>();
+    Probability dummyProbability = new Probability(0, 0);
+    for (Candidate candidate : candidates) {
+      getBetterAlternativeOrNull(candidate, context -> {
+        contexts.add(context);
+        return dummyProbability;
+      });
+    }
+    Map<List<String>,Probability> contextToProbability = new HashMap<>();
+    for (List<String> context : contexts) {
+      contextToProbability.put(context, lm.getPseudoProbability(context));
+    }
+    List<RuleMatch> matches = new ArrayList<>();
+    for (Candidate candidate : candidates) {
+      RuleMatch match = getRuleMatchOrNull(candidate, contextToProbability::get, rule);
+      if (match != null) {
+        matches.add(match);
+      }
+    }
+    return matches.toArray(new RuleMatch[matches.size()]);
+  }
+
+  private List<Candidate> getCandidates(AnalyzedSentence sentence, int startPosBase) {
+    String text = sentence.getText();
+    if (isException(text)) {
+      return Collections.emptyList();
+    }
+    List<GoogleToken> tokens = getGoogleTokens(sentence);
+    List<Candidate> candidates = new ArrayList<>();
+    for (int pos = 0; pos < tokens.size(); pos++) {
+      String token = tokens.get(pos).token;
       List<ConfusionSet> confusionSets = wordToSets.get(token);
       boolean uppercase = false;
       if (confusionSets == null && token.length() > 0 && Character.isUpperCase(token.charAt(0))) {
@@ -104,20 +156,38 @@ public abstract class ConfusionProbabilityRule extends Rule {
           boolean isEasilyConfused = confusionSet != null;
           if (isEasilyConfused) {
             Set<ConfusionString> set = uppercase ? confusionSet.getUppercaseFirstCharSet() : confusionSet.getSet();
-            ConfusionString betterAlternative = getBetterAlternativeOrNull(tokens.get(pos), tokens, set, confusionSet.getFactor());
-            if (betterAlternative != null && !isException(text)) {
-              ConfusionString stringFromText = getConfusionString(set, tokens.get(pos));
-              String message = getMessage(stringFromText, betterAlternative);
-              RuleMatch match = new RuleMatch(this, googleToken.startPos, googleToken.endPos, message);
-              match.setSuggestedReplacement(betterAlternative.getString());
-              matches.add(match);
+            if (set.size() != 2) {
+              throw new RuntimeException("Confusion set must be of size 2: " + set);
             }
+            candidates.add(new Candidate(tokens, pos, startPosBase, set, confusionSet.getFactor()));
           }
         }
       }
-      pos++;
     }
-    return matches.toArray(new RuleMatch[matches.size()]);
+    return candidates;
+  }
+
+  @Nullable
+  private RuleMatch getRuleMatchOrNull(Candidate candidate, Function<List<String>,Probability> probabilities, Rule rule) {
+    ConfusionString betterAlternative = getBetterAlternativeOrNull(candidate, probabilities);
+    if (betterAlternative == null) {
+      return null;
+    }
+    GoogleToken googleToken = candidate.tokens.get(candidate.pos);
+    ConfusionString stringFromText = getConfusionString(candidate.set, googleToken);
+    String message = getMessage(stringFromText, betterAlternative);
+    RuleMatch match = new RuleMatch(rule, candidate.startPosBase + googleToken.startPos, candidate.startPosBase + googleToken.endPos, message);
+    match.setSuggestedReplacement(betterAlternative.getString());
+    return match;
+  }
+
+  private List<GoogleToken> getGoogleTokens(AnalyzedSentence sentence) {
+    Tokenizer tokenizer = getGoogleStyleWordTokenizer();
+    if (tokenizer == language.getWordTokenizer()) {
+      // the sentence has already been tokenized the way we need it:
+      return GoogleToken.getGoogleTokens(sentence, true);
+    }
+    return GoogleToken.getGoogleTokens(sentence.getText(), true, tokenizer);
   }
 
   /**
@@ -171,12 +241,9 @@ public abstract class ConfusionProbabilityRule extends Rule {
   }
 
   @Nullable
-  private ConfusionString getBetterAlternativeOrNull(GoogleToken token, List<GoogleToken> tokens, Set<ConfusionString> confusionSet, long factor) {
-    if (confusionSet.size() != 2) {
-      throw new RuntimeException("Confusion set must be of size 2: " + confusionSet);
-    }
-    ConfusionString other = getAlternativeTerm(confusionSet, token);
-    return getBetterAlternativeOrNull(token, tokens, other, factor);
+  private ConfusionString getBetterAlternativeOrNull(Candidate candidate, Function<List<String>,Probability> probabilities) {
+    ConfusionString other = getAlternativeTerm(candidate.set, candidate.tokens.get(candidate.pos));
+    return getBetterAlternativeOrNull(candidate.pos, candidate.tokens, other, candidate.factor, probabilities);
   }
 
   private ConfusionString getAlternativeTerm(Set<ConfusionString> confusionSet, GoogleToken token) {
@@ -197,16 +264,17 @@ public abstract class ConfusionProbabilityRule extends Rule {
     throw new RuntimeException("Not found in set: " + token);
   }
 
-  private ConfusionString getBetterAlternativeOrNull(GoogleToken token, List<GoogleToken> tokens, ConfusionString otherWord, long factor) {
-    String word = token.token;
+  private ConfusionString getBetterAlternativeOrNull(int pos, List<GoogleToken> tokens, ConfusionString otherWord, long factor,
+                                                     Function<List<String>,Probability> probabilities) {
+    String word = tokens.get(pos).token;
     double p1;
     double p2;
     if (grams == 3) {
-      p1 = get3gramProbabilityFor(token, tokens, word);
-      p2 = get3gramProbabilityFor(token, tokens, otherWord.getString());
+      p1 = get3gramProbabilityFor(pos, tokens, word, probabilities);
+      p2 = get3gramProbabilityFor(pos, tokens, otherWord.getString(), probabilities);
     } else if (grams == 4) {
-      p1 = get4gramProbabilityFor(token, tokens, word);
-      p2 = get4gramProbabilityFor(token, tokens, otherWord.getString());
+      p1 = get4gramProbabilityFor(pos, tokens, word, probabilities);
+      p2 = get4gramProbabilityFor(pos, tokens, otherWord.getString(), probabilities);
     } else {
       throw new RuntimeException("Only 3grams and 4grams are supported");
     }
@@ -216,65 +284,85 @@ public abstract class ConfusionProbabilityRule extends Rule {
   }
 
   List<String> getContext(GoogleToken token, List<GoogleToken> tokens, String newToken, int toLeft, int toRight) {
-    return getContext(token, tokens, Collections.singletonList(new GoogleToken(newToken, 0, newToken.length())), toLeft, toRight);
-  }
-  
-  private List<String> getContext(GoogleToken token, List<GoogleToken> tokens, List<GoogleToken> newTokens, int toLeft, int toRight) {
     int pos = tokens.indexOf(token);
     if (pos == -1) {
       throw new RuntimeException("Token not found: " + token);
     }
-    List<String> result = new ArrayList<>();
-    for (int i = 1, added = 0; added < toLeft; i++) {
-      if (pos-i < 0) {
+    return getContext(pos, tokens, Collections.singletonList(newToken), toLeft, toRight);
+  }
+
+  /**
+   * Get the context of the token at {@code pos}, with that token replaced by {@code newTokens}.
+   * @param tokens must support fast random access
+   */
+  private List<String> getContext(int pos, List<GoogleToken> tokens, List<String> newTokens, int toLeft, int toRight) {
+    int start = pos;
+    for (int added = 0; added < toLeft; ) {
+      start--;
+      if (start < 0) {
         // So if we're at the beginning of the sentence, just use the first tokens:
-        result.clear();
-        for (GoogleToken googleToken : newTokens) {
-          result.add(googleToken.token);
-        }
-        for (int j = pos-1; j >= 0; j--) {
-          result.add(0, tokens.get(j).token);
-        }
-        return result;
-      } else {
-        if (!tokens.get(pos-i).isWhitespace()) {
-          result.add(0, tokens.get(pos - i).token);
-          added++;
+        String[] result = new String[pos + newTokens.size()];
+        for (int i = 0; i < pos; i++) {
+          result[i] = tokens.get(i).token;
         }
+        copyInto(newTokens, result, pos);
+        return Arrays.asList(result);
+      }
+      if (!tokens.get(start).isWhitespace()) {
+        added++;
       }
     }
-    for (GoogleToken googleToken : newTokens) {
-      result.add(googleToken.token);
+    String[] result = new String[toLeft + newTokens.size() + toRight];
+    int resultPos = 0;
+    for (int i = start; i < pos; i++) {
+      if (!tokens.get(i).isWhitespace()) {
+        result[resultPos++] = tokens.get(i).token;
+      }
     }
-    for (int i = 1, added = 0; added < toRight; i++) {
-      if (pos+i >= tokens.size()) {
+    resultPos = copyInto(newTokens, result, resultPos);
+    for (int i = pos + 1; resultPos < result.length; i++) {
+      if (i >= tokens.size()) {
         // I'm not sure if we should use _END_ here instead. Evaluation on 2015-08-12
         // shows increase in recall for some pairs, decrease in others.
-        result.add(".");
-        added++;
-      } else {
-        if (!tokens.get(pos+i).isWhitespace()) {
-          result.add(tokens.get(pos + i).token);
-          added++;
-        }
+        result[resultPos++] = ".";
+      } else if (!tokens.get(i).isWhitespace()) {
+        result[resultPos++] = tokens.get(i).token;
       }
     }
-    return result;
+    return Arrays.asList(result);
   }
 
-  private double get3gramProbabilityFor(GoogleToken token, List<GoogleToken> tokens, String term) {
-    List<GoogleToken> newTokens = GoogleToken.getGoogleTokens(term, false, getGoogleStyleWordTokenizer());
+  private int copyInto(List<String> newTokens, String[] result, int resultPos) {
+    for (String newToken : newTokens) {
+      result[resultPos++] = newToken;
+    }
+    return resultPos;
+  }
+
+  private List<String> getTermTokens(String term) {
+    return termToTokens.computeIfAbsent(term, k -> {
+      List<String> result = new ArrayList<>();
+      for (GoogleToken googleToken : GoogleToken.getGoogleTokens(k, false, getGoogleStyleWordTokenizer())) {
+        result.add(googleToken.token);
+      }
+      return Collections.unmodifiableList(result);
+    });
+  }
+
+  private double get3gramProbabilityFor(int pos, List<GoogleToken> tokens, String term, Function<List<String>,Probability> probabilities) {
+    List<String> newTokens = getTermTokens(term);
     Probability ngram3Left;
     Probability ngram3Middle;
     Probability ngram3Right;
     if (newTokens.size() == 1) {
-      ngram3Left = lm.getPseudoProbability(getContext(token, tokens, term, 0, 2));
-      ngram3Middle = lm.getPseudoProbability(getContext(token, tokens, term, 1, 1));
-      ngram3Right = lm.getPseudoProbability(getContext(token, tokens, term, 2, 0));
+      List<String> termAsList = Collections.singletonList(term);
+      ngram3Left = probabilities.apply(getContext(pos, tokens, termAsList, 0, 2));
+      ngram3Middle = probabilities.apply(getContext(pos, tokens, termAsList, 1, 1));
+      ngram3Right = probabilities.apply(getContext(pos, tokens, termAsList, 2, 0));
     } else if (newTokens.size() == 2) {
       // e.g. you're -> you 're
-      ngram3Left = lm.getPseudoProbability(getContext(token, tokens, newTokens, 0, 1));
-      ngram3Right = lm.getPseudoProbability(getContext(token, tokens, newTokens, 1, 0));
+      ngram3Left = probabilities.apply(getContext(pos, tokens, newTokens, 0, 1));
+      ngram3Right = probabilities.apply(getContext(pos, tokens, newTokens, 1, 0));
       // we cannot just use new Probability(1.0, 1.0f) as that would always produce higher
       // probabilities than in the case of one token (eg. "your"):
       ngram3Middle = new Probability((ngram3Left.getProb() + ngram3Right.getProb()) / 2, 1.0f); 
@@ -290,10 +378,11 @@ public abstract class ConfusionProbabilityRule extends Rule {
     }
   }
 
-  private double get4gramProbabilityFor(GoogleToken token, List<GoogleToken> tokens, String term) {
-    Probability ngram4Left = lm.getPseudoProbability(getContext(token, tokens, term, 0, 3));
-    Probability ngram4Middle = lm.getPseudoProbability(getContext(token, tokens, term, 1, 2));
-    Probability ngram4Right = lm.getPseudoProbability(getContext(token, tokens, term, 3, 0));
+  private double get4gramProbabilityFor(int pos, List<GoogleToken> tokens, String term, Function<List<String>,Probability> probabilities) {
+    List<String> termAsList = Collections.singletonList(term);
+    Probability ngram4Left = probabilities.apply(getContext(pos, tokens, termAsList, 0, 3));
+    Probability ngram4Middle = probabilities.apply(getContext(pos, tokens, termAsList, 1, 2));
+    Probability ngram4Right = probabilities.apply(getContext(pos, tokens, termAsList, 3, 0));
     if (ngram4Left.getCoverage() < MIN_COVERAGE && ngram4Middle.getCoverage() < MIN_COVERAGE && ngram4Right.getCoverage() < MIN_COVERAGE) {
       debug("  Min coverage of %.2f not reached: %.2f, %.2f, %.2f, assuming p=0\n", MIN_COVERAGE, ngram4Left.getCoverage(), ngram4Middle.getCoverage(), ngram4Right.getCoverage());
       return 0.0;
@@ -303,6 +392,24 @@ public abstract class ConfusionProbabilityRule extends Rule {
     }
   }
 
+  /**
+   * A token from a confusion set, found in a sentence.
+   */
+  private static class Candidate {
+    private final List<GoogleToken> tokens;
+    private final int pos;
+    private final int startPosBase;
+    private final Set<ConfusionString> set;
+    private final long factor;
+    private Candidate(List<GoogleToken> tokens, int pos, int startPosBase, Set<ConfusionString> set, long factor) {
+      this.tokens = tokens;
+      this.pos = pos;
+      this.startPosBase = startPosBase;
+      this.set = set;
+      this.factor = factor;
+    }
+  }
+
   private void debug(String message, Object... vars) {
     if (DEBUG) {
       System.out.printf(Locale.ENGLISH, message, vars);
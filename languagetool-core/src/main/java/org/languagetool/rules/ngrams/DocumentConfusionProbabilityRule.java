@@ -0,0 +1,70 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.ngrams;
+
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.Experimental;
+import org.languagetool.rules.RuleMatch;
+import org.languagetool.rules.TextLevelRule;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.ResourceBundle;
+
+/**
+ * A text-level variant of a {@link ConfusionProbabilityRule}: it first collects the
+ * confusion set occurrences of all sentences, then looks up each distinct ngram context
+ * only once, and then creates the matches. For long texts, this reduces the number
+ * of language model lookups, as contexts like "in the" are often repeated.
+ * The matches are the same as those of the wrapped rule. Don't activate both rules.
+ * @since 3.2
+ */
+@Experimental
+public class DocumentConfusionProbabilityRule extends TextLevelRule {
+
+  private final ConfusionProbabilityRule rule;
+
+  public DocumentConfusionProbabilityRule(ResourceBundle messages, ConfusionProbabilityRule rule) {
+    super(messages);
+    this.rule = Objects.requireNonNull(rule);
+    setCategory(rule.getCategory());
+    setLocQualityIssueType(rule.getLocQualityIssueType());
+    setIncorrectExamples(rule.getIncorrectExamples());
+    setCorrectExamples(rule.getCorrectExamples());
+    if (rule.isDefaultOff()) {
+      setDefaultOff();
+    }
+  }
+
+  @Override
+  public String getId() {
+    return rule.getId();
+  }
+
+  @Override
+  public String getDescription() {
+    return rule.getDescription();
+  }
+
+  @Override
+  public RuleMatch[] match(List<AnalyzedSentence> sentences) {
+    return rule.match(sentences, this);
+  }
+
+}
@@ -18,6 +18,8 @@
  */
 package org.languagetool.rules.ngrams;
 
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.AnalyzedTokenReadings;
 import org.languagetool.languagemodel.LanguageModel;
 import org.languagetool.tokenizers.Tokenizer;
 import org.languagetool.tools.StringTools;
@@ -68,4 +70,24 @@ class GoogleToken {
     return result;
   }
 
+  /**
+   * Like {@link #getGoogleTokens(String, boolean, Tokenizer)}, but re-uses the tokens of the
+   * already analyzed sentence instead of tokenizing its text again. Only useful if the sentence
+   * was tokenized by the same tokenizer that would otherwise be used.
+   */
+  static List<GoogleToken> getGoogleTokens(AnalyzedSentence sentence, boolean addStartToken) {
+    AnalyzedTokenReadings[] tokens = sentence.getTokens();
+    List<GoogleToken> result = new ArrayList<>(tokens.length);
+    for (AnalyzedTokenReadings token : tokens) {
+      if (token.isSentenceStart()) {
+        if (addStartToken) {
+          result.add(new GoogleToken(LanguageModel.GOOGLE_SENTENCE_START, 0, 0));
+        }
+      } else if (!token.isWhitespace()) {
+        result.add(new GoogleToken(token.getToken(), token.getStartPos(), token.getEndPos()));
+      }
+    }
+    return result;
+  }
+
 }
@@ -20,7 +20,6 @@ package org.languagetool.rules.patterns;
 
 import java.io.IOException;
 import java.util.*;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.jetbrains.annotations.Nullable;
@@ -77,7 +76,7 @@ public class PatternToken implements Cloneable {
   private int minOccurrence = 1;
   private int maxOccurrence = 1;
 
-  private Pattern pattern;
+  private TokenRegex regex;
 
   /** The reference to another element in the pattern. **/
   private Match tokenReference;
@@ -300,6 +299,14 @@ public class PatternToken implements Cloneable {
   }
 
   public final void setStringElement(final String token) {
+    setStringElement(token, true);
+  }
+
+  /**
+   * @param shared whether the regular expression may be shared with other rules, which is only
+   *               the case for expressions from the rule files, see {@link TokenRegex#getShared(String)}
+   */
+  private void setStringElement(final String token, boolean shared) {
     if (token != null) {
       stringToken = StringTools.trimWhitespace(token);
     } else {
@@ -312,7 +319,7 @@ public class PatternToken implements Cloneable {
         regToken = CASE_INSENSITIVE + stringToken;
       }
       if (!"\\0".equals(token)) {
-        pattern = Pattern.compile(regToken);
+        regex = shared ? TokenRegex.getShared(regToken) : TokenRegex.create(regToken);
       }
     }
   }
@@ -376,8 +383,7 @@ public class PatternToken implements Cloneable {
     }
     boolean match;
     if (posToken.regExp) {
-      final Matcher mPos = posToken.posPattern.matcher(token.getPOSTag());
-      match = mPos.matches();
+      match = posToken.posMatchCache.matches(token);
     } else {
       match = posToken.posTag.equals(token.getPOSTag());
     }
@@ -395,8 +401,7 @@ public class PatternToken implements Cloneable {
   boolean isStringTokenMatched(final AnalyzedToken token) {
     final String testToken = getTestToken(token);
     if (stringRegExp) {
-      final Matcher m = pattern.matcher(testToken);
-      return m.matches();
+      return regex.matches(testToken);
     }
     if (caseSensitive) {
       return stringToken.equals(testToken);
@@ -543,9 +548,9 @@ public class PatternToken implements Cloneable {
       if (posReference != null) {
         setPosToken(new PosToken(posReference, tokenReference.posRegExp(), negation));
       }
-      setStringElement(referenceString.replace(reference, ""));
+      setStringElement(referenceString.replace(reference, ""), false);
     } else {
-      setStringElement(referenceString.replace(reference, matchState.toTokenString()));
+      setStringElement(referenceString.replace(reference, matchState.toTokenString()), false);
     }
   }
 
@@ -776,7 +781,7 @@ public class PatternToken implements Cloneable {
     private final String posTag;
     private final boolean regExp;
     private final boolean negation;
-    private final Pattern posPattern;
+    private final PosTagMatchCache posMatchCache;
     private final boolean posUnknown;
 
     public PosToken(String posTag, boolean regExp, boolean negation) {
@@ -784,10 +789,11 @@ public class PatternToken implements Cloneable {
       this.regExp = regExp;
       this.negation = negation;
       if (regExp) {
-        posPattern = Pattern.compile(posTag);
+        Pattern posPattern = Pattern.compile(posTag);
+        posMatchCache = new PosTagMatchCache(posPattern);
         posUnknown = posPattern.matcher(UNKNOWN_TAG).matches();
       } else {
-        posPattern = null;
+        posMatchCache = null;
         posUnknown = UNKNOWN_TAG.equals(posTag);
       }
     }
@@ -0,0 +1,111 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.patterns;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Pattern;
+
+import org.languagetool.AnalyzedToken;
+import org.languagetool.tagging.PosTagIds;
+
+/**
+ * Matches the part-of-speech tag of tokens against a regular expression and remembers
+ * the result for each tag ID (see {@link PosTagIds}), so the regular expression is evaluated
+ * only once per distinct tag. The results are kept for the ID table of the first token
+ * that has an ID, i.e. for the language of the rule. Tokens without an ID or with an ID
+ * from another table are always matched with the regular expression.
+ * @since 3.2
+ */
+final class PosTagMatchCache {
+
+  // two bits per tag ID: whether the result is known, and whether the tag matches
+  private static final int TAGS_PER_WORD = 32;
+  private static final long KNOWN = 1L;
+  private static final long MATCHES = 2L;
+
+  private final Pattern pattern;
+
+  // replaced by a larger copy when a new tag ID doesn't fit, results that get lost
+  // because another thread is doing that at the same time are simply computed again:
+  private volatile Results results = new Results(null, new AtomicLongArray(0));
+
+  PosTagMatchCache(Pattern pattern) {
+    this.pattern = pattern;
+  }
+
+  /**
+   * @param token a token with a non-null part-of-speech tag
+   */
+  boolean matches(AnalyzedToken token) {
+    PosTagIds.Id id = token.getPOSTagId();
+    Results results = this.results;
+    if (id == null || (results.table != id.getTable() && results.table != null)) {
+      return pattern.matcher(token.getPOSTag()).matches();
+    }
+    int index = id.getIndex() / TAGS_PER_WORD;
+    int shift = (id.getIndex() % TAGS_PER_WORD) * 2;
+    if (index < results.bits.length()) {
+      long bits = results.bits.get(index) >>> shift;
+      if ((bits & KNOWN) != 0) {
+        return (bits & MATCHES) != 0;
+      }
+    } else {
+      results = grow(id.getTable(), index + 1);
+    }
+    boolean match = pattern.matcher(token.getPOSTag()).matches();
+    if (results != null) {
+      long newBits = (match ? KNOWN | MATCHES : KNOWN) << shift;
+      long oldWord;
+      do {
+        oldWord = results.bits.get(index);
+      } while (!results.bits.compareAndSet(index, oldWord, oldWord | newBits));
+    }
+    return match;
+  }
+
+  /**
+   * @return results for {@code table} with at least {@code minLength} words, or {@code null}
+   *   if the results are already kept for another table
+   */
+  private synchronized Results grow(PosTagIds table, int minLength) {
+    Results oldResults = results;
+    if (oldResults.table != null && oldResults.table != table) {
+      return null;
+    }
+    if (oldResults.bits.length() >= minLength) {
+      return oldResults;
+    }
+    AtomicLongArray newBits = new AtomicLongArray(Math.max(minLength, oldResults.bits.length() * 2));
+    for (int i = 0; i < oldResults.bits.length(); i++) {
+      newBits.set(i, oldResults.bits.get(i));
+    }
+    results = new Results(table, newBits);
+    return results;
+  }
+
+  private static class Results {
+    private final PosTagIds table;  // null until the first token with an ID has been matched
+    private final AtomicLongArray bits;
+    Results(PosTagIds table, AtomicLongArray bits) {
+      this.table = table;
+      this.bits = bits;
+    }
+  }
+
+}
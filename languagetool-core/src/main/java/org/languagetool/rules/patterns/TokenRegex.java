@@ -0,0 +1,102 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.patterns;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * A regular expression for matching the string of a token. Rules often use the same expression,
+ * so the expressions of all loaded rules are shared (see {@link #getShared(String)}) and each one
+ * is compiled only once. Results are not remembered: checking the German example sentences was
+ * not measurably faster with a per-thread memo of the most recently tested strings.
+ * @since 3.2
+ */
+final class TokenRegex {
+
+  // only weak references, so the expressions of rules that are not used anymore can be garbage collected:
+  private static final Map<String, SharedReference> sharedRegexes = new HashMap<>();
+  private static final ReferenceQueue<TokenRegex> collectedRegexes = new ReferenceQueue<>();
+
+  private final Pattern pattern;
+
+  /**
+   * Get the shared instance for the expression. Only use this for expressions from the rule files,
+   * not for expressions created while matching, as these are seldom the same.
+   */
+  static TokenRegex getShared(String regex) {
+    synchronized (sharedRegexes) {
+      removeCollectedEntries();
+      SharedReference ref = sharedRegexes.get(regex);
+      TokenRegex tokenRegex = ref == null ? null : ref.get();
+      if (tokenRegex == null) {
+        tokenRegex = new TokenRegex(regex);
+        sharedRegexes.put(regex, new SharedReference(regex, tokenRegex));
+      }
+      return tokenRegex;
+    }
+  }
+
+  /**
+   * Create an expression that is not shared.
+   */
+  static TokenRegex create(String regex) {
+    return new TokenRegex(regex);
+  }
+
+  private TokenRegex(String regex) {
+    this.pattern = Pattern.compile(regex);
+  }
+
+  /**
+   * Whether a shared instance of the expression exists, i.e. it is used by a rule
+   * or has not been garbage collected yet.
+   */
+  static boolean isShared(String regex) {
+    synchronized (sharedRegexes) {
+      SharedReference ref = sharedRegexes.get(regex);
+      return ref != null && ref.get() != null;
+    }
+  }
+
+  private static void removeCollectedEntries() {
+    Reference<? extends TokenRegex> ref;
+    while ((ref = collectedRegexes.poll()) != null) {
+      SharedReference sharedRef = (SharedReference) ref;
+      sharedRegexes.remove(sharedRef.regex, sharedRef);
+    }
+  }
+
+  boolean matches(String s) {
+    return pattern.matcher(s).matches();
+  }
+
+  private static final class SharedReference extends WeakReference<TokenRegex> {
+    private final String regex;
+    private SharedReference(String regex, TokenRegex tokenRegex) {
+      super(tokenRegex, collectedRegexes);
+      this.regex = regex;
+    }
+  }
+
+}
@@ -0,0 +1,108 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * An immutable set of words stored as a sorted array, which needs much less memory
+ * than a {@code HashSet}. Words can be looked up in lowercase and without their last
+ * characters without creating new strings.
+ * @since 3.2
+ */
+final class CompactWordSet {
+
+  static final CompactWordSet EMPTY = new CompactWordSet(Collections.emptySet(), Locale.ENGLISH);
+
+  private final String[] words;
+  private final Locale locale;
+  // whether String.toLowerCase(locale) is the same as Character.toLowerCase() for each character:
+  private final boolean lowerCaseByChar;
+
+  CompactWordSet(Collection<String> words, Locale locale) {
+    this.words = new TreeSet<>(words).toArray(new String[0]);
+    this.locale = locale;
+    String lang = locale.getLanguage();
+    this.lowerCaseByChar = !lang.equals("tr") && !lang.equals("az") && !lang.equals("lt");
+  }
+
+  boolean contains(String word) {
+    return contains(word, word.length(), false);
+  }
+
+  /**
+   * Whether the first {@code length} characters of {@code word} are in the set.
+   * @param toLowerCase whether to look up these characters converted to lowercase
+   */
+  boolean contains(String word, int length, boolean toLowerCase) {
+    if (toLowerCase && !canConvertByChar(word, length)) {
+      String lowerCaseWord = word.substring(0, length).toLowerCase(locale);
+      return contains(lowerCaseWord, lowerCaseWord.length(), false);
+    }
+    int low = 0;
+    int high = words.length - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = compare(words[mid], word, length, toLowerCase);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  int size() {
+    return words.length;
+  }
+
+  // same order as String.compareTo(), which is used for sorting the words:
+  private static int compare(String entry, String word, int length, boolean toLowerCase) {
+    int max = Math.min(entry.length(), length);
+    for (int i = 0; i < max; i++) {
+      char c1 = entry.charAt(i);
+      char c2 = toLowerCase ? Character.toLowerCase(word.charAt(i)) : word.charAt(i);
+      if (c1 != c2) {
+        return c1 - c2;
+      }
+    }
+    return entry.length() - length;
+  }
+
+  private boolean canConvertByChar(String word, int length) {
+    if (!lowerCaseByChar) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      char c = word.charAt(i);
+      // the lowercase form of these depends on the context or has a different length:
+      if (c == 'İ' || c == 'Σ' || Character.isSurrogate(c)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
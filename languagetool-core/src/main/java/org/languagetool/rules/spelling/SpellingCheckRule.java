@@ -21,6 +21,8 @@ package org.languagetool.rules.spelling;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.languagetool.AnalyzedSentence;
 import org.languagetool.AnalyzedTokenReadings;
@@ -30,6 +32,7 @@ import org.languagetool.rules.ITSIssueType;
 import org.languagetool.rules.Rule;
 import org.languagetool.rules.RuleMatch;
 import org.languagetool.tokenizers.WordTokenizer;
+import org.languagetool.tools.LruCache;
 
 /**
  * An abstract rule for spellchecking rules.
@@ -55,8 +58,17 @@ public abstract class SpellingCheckRule extends Rule {
   private static final String SPELLING_FILE = "/hunspell/spelling.txt";
   private static final String SPELLING_PROHIBIT_FILE = "/hunspell/prohibit.txt";
 
-  private final Set<String> wordsToBeIgnored = new HashSet<>();
-  private final Set<String> wordsToBeProhibited = new HashSet<>();
+  private static final int SUGGESTION_CACHE_SIZE = 10_000;
+  // suggestion caches shared by all rule instances with the same configuration, see getSuggestionCacheKey():
+  private static final Map<String, LruCache<String, List<String>>> suggestionCaches = new ConcurrentHashMap<>();
+
+  // ignore and prohibit lists shared by all rule instances that load the same files, see init():
+  private static final Map<String, CompactWordSet> wordSets = new ConcurrentHashMap<>();
+
+  private CompactWordSet wordsToBeIgnored = CompactWordSet.EMPTY;
+  private CompactWordSet wordsToBeProhibited = CompactWordSet.EMPTY;
+  // words added with addIgnoreTokens(), these only apply to this rule instance:
+  private final Set<String> ignoreTokens = new HashSet<>();
 
   private boolean considerIgnoreWords = true;
   private boolean convertsCase = false;
@@ -89,7 +101,7 @@ public abstract class SpellingCheckRule extends Rule {
    * Add the given words to the list of words to be ignored during spell check.
    */
   public void addIgnoreTokens(List<String> tokens) {
-    wordsToBeIgnored.addAll(tokens);
+    ignoreTokens.addAll(tokens);
   }
 
   /**
@@ -103,7 +115,7 @@ public abstract class SpellingCheckRule extends Rule {
    * Get additional suggestions added before other suggestions (note the rule may choose to
    * re-order the suggestions anyway).
    */
-  protected List<String> getAdditionalTopSuggestions(List<String> suggestions, String word) throws IOException {
+  protected List<String> getAdditionalTopSuggestions(List<String> suggestions, String word) {
     List<String> moreSuggestions = new ArrayList<>();
     if ("Languagetool".equals(word) && !suggestions.contains(LANGUAGETOOL)) {
       moreSuggestions.add(LANGUAGETOOL);
@@ -119,6 +131,47 @@ public abstract class SpellingCheckRule extends Rule {
     return Collections.emptyList();
   }
 
+  /**
+   * Get the suggestions for a misspelled word from a cache that is shared by all instances
+   * of this rule with the same {@link #getSuggestionCacheKey()}, so the expensive search for
+   * similar words only happens once for misspellings that occur again, even across
+   * {@link JLanguageTool} instances.
+   * @param suggestionFunction computes the suggestions on a cache miss
+   * @return an unmodifiable list of suggestions
+   * @since 3.2
+   */
+  protected List<String> getCachedSuggestions(String word, Function<String, List<String>> suggestionFunction) {
+    LruCache<String, List<String>> cache = getSuggestionCache();
+    List<String> suggestions = cache.get(word);
+    if (suggestions == null) {
+      suggestions = Collections.unmodifiableList(new ArrayList<>(suggestionFunction.apply(word)));
+      cache.put(word, suggestions);
+    }
+    return suggestions;
+  }
+
+  /**
+   * The key that identifies the suggestion cache used by {@link #getCachedSuggestions(String, Function)}.
+   * Rules that share a key must create the same suggestions for the same word, so subclasses
+   * that have settings affecting the suggestions need to add them to the key.
+   * @since 3.2
+   */
+  protected String getSuggestionCacheKey() {
+    return getClass().getName() + "/" + getId() + "/" + language.getShortNameWithCountryAndVariant() + "/" + convertsCase;
+  }
+
+  /**
+   * @return the share of suggestion lookups answered from the suggestion cache of this rule
+   * @since 3.2
+   */
+  public double getSuggestionCacheHitRate() {
+    return getSuggestionCache().getHitRate();
+  }
+
+  private LruCache<String, List<String>> getSuggestionCache() {
+    return suggestionCaches.computeIfAbsent(getSuggestionCacheKey(), k -> new LruCache<>(SUGGESTION_CACHE_SIZE));
+  }
+
   /**
    * Returns true iff the token at the given position should be ignored by the spell checker.
    */
@@ -138,15 +191,25 @@ public abstract class SpellingCheckRule extends Rule {
     if (!considerIgnoreWords) {
       return false;
     }
-    if (word.endsWith(".") && !wordsToBeIgnored.contains(word)) {
-      return isIgnoredNoCase(word.substring(0, word.length()-1));  // e.g. word at end of sentence
+    if (word.endsWith(".") && !isIgnored(word, word.length(), false)) {
+      return isIgnoredNoCase(word, word.length()-1);  // e.g. word at end of sentence
     }
-    return isIgnoredNoCase(word);
+    return isIgnoredNoCase(word, word.length());
   }
 
-  private boolean isIgnoredNoCase(String word) {
-    return wordsToBeIgnored.contains(word) ||
-           (convertsCase && wordsToBeIgnored.contains(word.toLowerCase(language.getLocale())));
+  private boolean isIgnoredNoCase(String word, int length) {
+    return isIgnored(word, length, false) || (convertsCase && isIgnored(word, length, true));
+  }
+
+  private boolean isIgnored(String word, int length, boolean toLowerCase) {
+    if (wordsToBeIgnored.contains(word, length, toLowerCase)) {
+      return true;
+    }
+    if (ignoreTokens.isEmpty()) {
+      return false;
+    }
+    String token = word.substring(0, length);
+    return ignoreTokens.contains(toLowerCase ? token.toLowerCase(language.getLocale()) : token);
   }
 
   /**
@@ -183,10 +246,32 @@ public abstract class SpellingCheckRule extends Rule {
     return WordTokenizer.isUrl(token);
   }
   
+  /**
+   * Loads the words to be ignored and prohibited. These are shared by all instances of the same
+   * class for the same language, so {@link #addIgnoreWords(String, Set)} and {@link #expandLine(String)}
+   * must not depend on other settings of an instance.
+   */
   protected void init() throws IOException {
-    loadWordsToBeIgnored(getIgnoreFileName());
-    loadWordsToBeIgnored(getSpellingFileName());
-    loadWordsToBeProhibited(getProhibitFileName());
+    String keyPrefix = getClass().getName() + "/" + language.getShortNameWithCountryAndVariant() + "/";
+    String ignoreKey = keyPrefix + getIgnoreFileName() + "+" + getSpellingFileName();
+    CompactWordSet ignoreSet = wordSets.get(ignoreKey);
+    if (ignoreSet == null) {
+      Set<String> words = new HashSet<>();
+      loadWordsToBeIgnored(getIgnoreFileName(), words);
+      loadWordsToBeIgnored(getSpellingFileName(), words);
+      ignoreSet = new CompactWordSet(words, language.getLocale());
+      wordSets.putIfAbsent(ignoreKey, ignoreSet);
+    }
+    String prohibitKey = keyPrefix + getProhibitFileName();
+    CompactWordSet prohibitSet = wordSets.get(prohibitKey);
+    if (prohibitSet == null) {
+      Set<String> words = new HashSet<>();
+      loadWordsToBeProhibited(getProhibitFileName(), words);
+      prohibitSet = new CompactWordSet(words, language.getLocale());
+      wordSets.putIfAbsent(prohibitKey, prohibitSet);
+    }
+    wordsToBeIgnored = ignoreSet;
+    wordsToBeProhibited = prohibitSet;
   }
 
   /**
@@ -239,7 +324,7 @@ public abstract class SpellingCheckRule extends Rule {
     }
   }
 
-  private void loadWordsToBeIgnored(String ignoreFile) throws IOException {
+  private void loadWordsToBeIgnored(String ignoreFile, Set<String> wordsToBeIgnored) throws IOException {
     if (!JLanguageTool.getDataBroker().resourceExists(ignoreFile)) {
       return;
     }
@@ -274,7 +359,7 @@ public abstract class SpellingCheckRule extends Rule {
     return Collections.singletonList(line);
   }
 
-  private void loadWordsToBeProhibited(String prohibitFile) throws IOException {
+  private void loadWordsToBeProhibited(String prohibitFile, Set<String> wordsToBeProhibited) throws IOException {
     if (!JLanguageTool.getDataBroker().resourceExists(prohibitFile)) {
       return;
     }
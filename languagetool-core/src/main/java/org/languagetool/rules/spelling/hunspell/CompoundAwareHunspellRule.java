@@ -23,7 +23,6 @@ import org.languagetool.rules.spelling.morfologik.MorfologikMultiSpeller;
 import org.languagetool.tokenizers.CompoundWordTokenizer;
 import org.languagetool.tools.StringTools;
 
-import java.io.IOException;
 import java.util.*;
 
 /**
@@ -53,10 +52,7 @@ public abstract class CompoundAwareHunspellRule extends HunspellRule {
    * supports compounds).
    */
   @Override
-  public List<String> getSuggestions(String word) throws IOException {
-    if (needsInit) {
-      init();
-    }
+  protected List<String> findSuggestions(String word) {
     final List<String> candidates = getCandidates(word);
     final List<String> suggestions = getCorrectWords(candidates);
 
@@ -0,0 +1,587 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling.hunspell;
+
+import morfologik.fsa.CFSA2Serializer;
+import morfologik.fsa.FSA;
+import morfologik.fsa.FSABuilder;
+import morfologik.fsa.FSATraversal;
+import morfologik.fsa.MatchResult;
+import morfologik.speller.Speller;
+import morfologik.stemming.Dictionary;
+import org.jetbrains.annotations.Nullable;
+import org.languagetool.tools.StringTools;
+
+import java.io.*;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * A pure Java alternative to the native {@link Hunspell} library. It reads the same {@code .dic}
+ * and {@code .aff} files, expands all words with their affixes and stores the resulting word forms
+ * in a finite state automaton. The automaton is cached on disk, so the expansion is only
+ * needed the first time a dictionary is used. Cache files that other users could have
+ * written are ignored.
+ *
+ * <p>Compounding is not supported, so this is not a replacement for languages that rely on it,
+ * like German. Suggestions are based on edit distance and differ from those of Hunspell.
+ * See {@link HunspellAffixes} for the supported affix file features.
+ * @since 3.2
+ */
+public final class FsaHunspellDictionary implements HunspellDictionary {
+
+  private static final int MAGIC = 0x4C544853;  // "LTHS"
+  private static final int FORMAT_VERSION = 2;
+  private static final int SORT_CHUNK_SIZE = 500_000;
+  private static final int MIN_LENGTH_FOR_DISTANCE_2 = 5;
+  private static final int MAX_BREAK_DEPTH = 10;
+  private static final Pattern NUMBER = Pattern.compile("\\d+([.,-]\\d+)*");
+  private static final String DICTIONARY_INFO =
+          "fsa.dict.separator=+\n" +
+          "fsa.dict.encoding=utf-8\n" +
+          "fsa.dict.speller.convert-case=false\n" +
+          "fsa.dict.speller.runon-words=true\n";
+
+  private static final Map<String,FsaHunspellDictionary> instances = new HashMap<>();
+
+  private final FSATraversal traversal;
+  // Speller is not thread-safe, so each thread gets its own (they share the dictionary):
+  private final ThreadLocal<Speller> speller1;
+  private final ThreadLocal<Speller> speller2;
+  private final Set<String> forbidden;
+  private final Set<String> keepCase;
+  private final Set<String> noSuggest;
+  private final Set<String> addedWords = ConcurrentHashMap.newKeySet();
+  private final Map<String,String> inputConversions;
+  private final Map<String,String> outputConversions;
+  private final List<String> breakPatterns;
+  private final String wordChars;
+
+  private enum CaseType { NO_CAP, INIT_CAP, ALL_CAP, MIXED }
+
+  /**
+   * Gets an instance of the dictionary, loading it only once per process. The word forms
+   * are cached in a {@code .languagetool/hunspell-cache} directory in the user's home directory.
+   *
+   * @param baseFileName the base name of the dictionary,
+   * passing /dict/da_DK means that the files /dict/da_DK.dic
+   * and /dict/da_DK.aff get loaded
+   */
+  public static FsaHunspellDictionary getInstance(String baseFileName) throws IOException {
+    synchronized (instances) {
+      FsaHunspellDictionary dictionary = instances.get(baseFileName);
+      if (dictionary == null) {
+        dictionary = new FsaHunspellDictionary(baseFileName, getDefaultCacheDir());
+        instances.put(baseFileName, dictionary);
+      }
+      return dictionary;
+    }
+  }
+
+  static File getDefaultCacheDir() {
+    // not in java.io.tmpdir, where other users could put their own files:
+    return new File(new File(System.getProperty("user.home"), ".languagetool"), "hunspell-cache");
+  }
+
+  /**
+   * @param baseFileName the base name of the dictionary, see {@link #getInstance(String)}
+   * @param cacheDir directory to keep the word forms in, so they don't need to be created again;
+   *                 on POSIX file systems, it's created readable and writable only by the current user
+   */
+  public FsaHunspellDictionary(String baseFileName, File cacheDir) throws IOException {
+    File dic = new File(baseFileName + ".dic");
+    File aff = new File(baseFileName + ".aff");
+    if (!dic.canRead() || !aff.canRead()) {
+      throw new FileNotFoundException("The dictionary files " + baseFileName + "(.aff|.dic) could not be read");
+    }
+    HunspellAffixes affixes = new HunspellAffixes(aff);
+    wordChars = affixes.getWordChars();
+    inputConversions = affixes.getInputConversions();
+    outputConversions = affixes.getOutputConversions();
+    breakPatterns = affixes.getBreakPatterns();
+    long checksum = getChecksum(aff, dic);
+    File cacheFile = new File(cacheDir, new File(baseFileName).getName() + "-" + Long.toHexString(checksum) + ".lths");
+    WordForms forms = cacheFile.exists() && isPrivate(cacheFile) ? WordForms.readOrNull(cacheFile, checksum) : null;
+    if (forms == null) {
+      forms = WordForms.create(affixes, dic);
+      forms.writeIfPossible(cacheFile, checksum);
+    }
+    forbidden = forms.forbidden;
+    keepCase = forms.keepCase;
+    noSuggest = forms.noSuggest;
+    Dictionary dictionary = Dictionary.readAndClose(new ByteArrayInputStream(forms.automaton),
+            new ByteArrayInputStream(DICTIONARY_INFO.getBytes(StandardCharsets.UTF_8)));
+    traversal = new FSATraversal(dictionary.fsa);
+    speller1 = ThreadLocal.withInitial(() -> new Speller(dictionary, 1));
+    speller2 = ThreadLocal.withInitial(() -> new Speller(dictionary, 2));
+  }
+
+  @Override
+  public boolean misspelled(String word) {
+    String converted = convert(word, inputConversions);
+    if (converted.isEmpty()) {
+      return false;
+    }
+    // trailing dots, like for abbreviations:
+    int end = converted.length();
+    while (end > 0 && converted.charAt(end - 1) == '.') {
+      end--;
+    }
+    if (end == 0) {
+      return false;
+    }
+    String withoutDots = converted.substring(0, end);
+    if (isCorrect(withoutDots, 0)) {
+      return false;
+    }
+    return end == converted.length() || !isCorrect(withoutDots + ".", 0);
+  }
+
+  @Override
+  public List<String> suggest(String word) {
+    String converted = convert(word, inputConversions);
+    List<String> candidates = new ArrayList<>();
+    addSuggestions(converted, candidates);
+    CaseType caseType = getCaseType(converted);
+    if (caseType == CaseType.INIT_CAP || caseType == CaseType.ALL_CAP) {
+      List<String> lowercaseCandidates = new ArrayList<>();
+      addSuggestions(converted.toLowerCase(Locale.ROOT), lowercaseCandidates);
+      for (String candidate : lowercaseCandidates) {
+        String cased = caseType == CaseType.ALL_CAP ? candidate.toUpperCase(Locale.ROOT) : StringTools.uppercaseFirstChar(candidate);
+        if (!candidates.contains(cased)) {
+          candidates.add(cased);
+        }
+      }
+    }
+    List<String> result = new ArrayList<>();
+    for (String candidate : candidates) {
+      if (!candidate.equals(converted) && !forbidden.contains(candidate) && !noSuggest.contains(candidate)) {
+        result.add(convert(candidate, outputConversions));
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public void addWord(String word) {
+    addedWords.add(word);
+  }
+
+  @Override
+  public String getWordChars() {
+    return wordChars;
+  }
+
+  /**
+   * Does nothing, the memory is managed by the JVM.
+   */
+  @Override
+  public void destroy() {
+  }
+
+  private boolean isCorrect(String word, int depth) {
+    if (isCorrectIgnoringBreaks(word)) {
+      return true;
+    }
+    if (depth >= MAX_BREAK_DEPTH) {
+      return false;
+    }
+    for (String pattern : breakPatterns) {
+      if (pattern.length() > 1 && pattern.startsWith("^")) {
+        String start = pattern.substring(1);
+        if (word.length() > start.length() && word.startsWith(start) && isCorrect(word.substring(start.length()), depth + 1)) {
+          return true;
+        }
+      } else if (pattern.length() > 1 && pattern.endsWith("$")) {
+        String end = pattern.substring(0, pattern.length() - 1);
+        if (word.length() > end.length() && word.endsWith(end) && isCorrect(word.substring(0, word.length() - end.length()), depth + 1)) {
+          return true;
+        }
+      } else {
+        int pos = word.indexOf(pattern);
+        if (pos > 0 && pos + pattern.length() < word.length() &&
+            isCorrect(word.substring(0, pos), depth + 1) && isCorrect(word.substring(pos + pattern.length()), depth + 1)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private boolean isCorrectIgnoringBreaks(String word) {
+    if (forbidden.contains(word)) {
+      return false;
+    }
+    if (isKnown(word) || NUMBER.matcher(word).matches()) {
+      return true;
+    }
+    switch (getCaseType(word)) {
+      case INIT_CAP:
+        return isKnownInOtherCase(word.toLowerCase(Locale.ROOT));
+      case ALL_CAP:
+        String lowercase = word.toLowerCase(Locale.ROOT);
+        if (isKnownInOtherCase(lowercase) || isKnownInOtherCase(StringTools.uppercaseFirstChar(lowercase))) {
+          return true;
+        }
+        // like hunspell: "L'HOMME" -> "l'Homme"
+        int apostrophePos = lowercase.indexOf('\'') + 1;
+        return apostrophePos > 0 && apostrophePos < lowercase.length() &&
+               isKnownInOtherCase(lowercase.substring(0, apostrophePos) + StringTools.uppercaseFirstChar(lowercase.substring(apostrophePos)));
+      default:
+        return false;
+    }
+  }
+
+  private boolean isKnown(String word) {
+    return keepCase.contains(word) || isKnownInOtherCase(word);
+  }
+
+  // words with the KEEPCASE flag are not in the automaton:
+  private boolean isKnownInOtherCase(String word) {
+    if (addedWords.contains(word)) {
+      return true;
+    }
+    byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+    return traversal.match(bytes).kind == MatchResult.EXACT_MATCH && !forbidden.contains(word);
+  }
+
+  private void addSuggestions(String word, List<String> result) {
+    Speller speller = speller1.get();
+    List<String> suggestions;
+    try {
+      suggestions = new ArrayList<>(speller.findReplacements(word));
+      if (suggestions.isEmpty() && word.length() >= MIN_LENGTH_FOR_DISTANCE_2) {
+        suggestions.addAll(speller2.get().findReplacements(word));
+      }
+    } catch (CharacterCodingException e) {
+      // not valid UTF-8 (e.g. an unpaired surrogate), so there's nothing to suggest, like in Hunspell.Dictionary
+      return;
+    }
+    suggestions.addAll(speller.replaceRunOnWords(word));
+    for (String suggestion : suggestions) {
+      if (!result.contains(suggestion)) {
+        result.add(suggestion);
+      }
+    }
+  }
+
+  private static CaseType getCaseType(String word) {
+    int upperCase = 0;
+    int lowerCase = 0;
+    for (int i = 0; i < word.length(); i++) {
+      char c = word.charAt(i);
+      if (Character.isUpperCase(c)) {
+        upperCase++;
+      } else if (Character.isLowerCase(c)) {
+        lowerCase++;
+      }
+    }
+    if (upperCase == 0) {
+      return CaseType.NO_CAP;
+    } else if (upperCase == 1 && Character.isUpperCase(word.charAt(0))) {
+      return CaseType.INIT_CAP;
+    } else if (lowerCase == 0) {
+      return CaseType.ALL_CAP;
+    }
+    return CaseType.MIXED;
+  }
+
+  // like ICONV and OCONV in hunspell, the longest match wins:
+  private static String convert(String word, Map<String,String> conversions) {
+    if (conversions.isEmpty()) {
+      return word;
+    }
+    StringBuilder sb = null;
+    for (int i = 0; i < word.length(); i++) {
+      String from = null;
+      for (String key : conversions.keySet()) {
+        if ((from == null || key.length() > from.length()) && word.startsWith(key, i)) {
+          from = key;
+        }
+      }
+      if (from != null) {
+        if (sb == null) {
+          sb = new StringBuilder(word.length());
+          sb.append(word, 0, i);
+        }
+        sb.append(conversions.get(from));
+        i += from.length() - 1;
+      } else if (sb != null) {
+        sb.append(word.charAt(i));
+      }
+    }
+    return sb == null ? word : sb.toString();
+  }
+
+  /**
+   * Whether only the owner may write the file and its directory. The checksum in the cache file
+   * only detects outdated files, so a file that someone else could have written must not be used.
+   */
+  private static boolean isPrivate(File cacheFile) {
+    for (Path path : Arrays.asList(cacheFile.toPath(), cacheFile.getParentFile().toPath())) {
+      PosixFileAttributeView view = Files.getFileAttributeView(path, PosixFileAttributeView.class);
+      if (view == null) {
+        continue;  // e.g. Windows, where the user's home directory is private by default
+      }
+      try {
+        Set<PosixFilePermission> permissions = view.readAttributes().permissions();
+        if (permissions.contains(PosixFilePermission.GROUP_WRITE) || permissions.contains(PosixFilePermission.OTHERS_WRITE)) {
+          return false;
+        }
+      } catch (IOException e) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long getChecksum(File aff, File dic) throws IOException {
+    CRC32 crc = new CRC32();
+    crc.update(FORMAT_VERSION);
+    crc.update(Files.readAllBytes(aff.toPath()));
+    crc.update(Files.readAllBytes(dic.toPath()));
+    return crc.getValue();
+  }
+
+  /**
+   * All word forms of a dictionary: the automaton with the correct forms
+   * and the forms with special flags.
+   */
+  private static final class WordForms {
+
+    private final byte[] automaton;  // serialized FSA
+    private final Set<String> forbidden;
+    private final Set<String> keepCase;
+    private final Set<String> noSuggest;
+
+    private WordForms(byte[] automaton, Set<String> forbidden, Set<String> keepCase, Set<String> noSuggest) {
+      this.automaton = automaton;
+      this.forbidden = forbidden;
+      this.keepCase = keepCase;
+      this.noSuggest = noSuggest;
+    }
+
+    static WordForms create(HunspellAffixes affixes, File dic) throws IOException {
+      Set<String> forbidden = new HashSet<>();
+      Set<String> keepCase = new HashSet<>();
+      Set<String> noSuggest = new HashSet<>();
+      List<byte[]> chunk = new ArrayList<>();
+      List<File> chunkFiles = new ArrayList<>();
+      try {
+        // There can be tens of millions of forms (e.g. for Galician), so we sort them in chunks on disk:
+        affixes.expandAll(dic, (form, isForbidden, isKeepCase, isNoSuggest) -> {
+          if (isForbidden) {
+            forbidden.add(form);
+            return;
+          }
+          if (isKeepCase) {
+            // not in the automaton, so that homonyms without the flag can still be found there:
+            keepCase.add(form);
+            return;
+          }
+          if (isNoSuggest) {
+            noSuggest.add(form);
+          }
+          chunk.add(form.getBytes(StandardCharsets.UTF_8));
+          if (chunk.size() == SORT_CHUNK_SIZE) {
+            chunkFiles.add(writeSortedChunk(chunk));
+            chunk.clear();
+          }
+        });
+        FSA fsa;
+        if (chunkFiles.isEmpty()) {
+          Collections.sort(chunk, FSABuilder.LEXICAL_ORDERING);
+          fsa = buildAutomaton(chunk.iterator());
+        } else {
+          chunkFiles.add(writeSortedChunk(chunk));
+          chunk.clear();
+          fsa = buildAutomaton(new ChunkMerger(chunkFiles));
+        }
+        byte[] automaton = new CFSA2Serializer().serialize(fsa, new ByteArrayOutputStream()).toByteArray();
+        return new WordForms(automaton, forbidden, keepCase, noSuggest);
+      } finally {
+        for (File chunkFile : chunkFiles) {
+          chunkFile.delete();
+        }
+      }
+    }
+
+    private static FSA buildAutomaton(Iterator<byte[]> sortedForms) {
+      FSABuilder builder = new FSABuilder();
+      byte[] previous = null;
+      while (sortedForms.hasNext()) {
+        byte[] form = sortedForms.next();
+        if (!Arrays.equals(form, previous)) {
+          builder.add(form, 0, form.length);
+          previous = form;
+        }
+      }
+      return builder.complete();
+    }
+
+    private static File writeSortedChunk(List<byte[]> forms) throws IOException {
+      Collections.sort(forms, FSABuilder.LEXICAL_ORDERING);
+      File file = File.createTempFile("languagetool-hunspell", ".tmp");
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+        out.writeInt(forms.size());
+        for (byte[] form : forms) {
+          out.writeShort(form.length);
+          out.write(form);
+        }
+      }
+      return file;
+    }
+
+    @Nullable
+    static WordForms readOrNull(File file, long checksum) {
+      try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || in.readLong() != checksum) {
+          return null;
+        }
+        Set<String> forbidden = readSet(in);
+        Set<String> keepCase = readSet(in);
+        Set<String> noSuggest = readSet(in);
+        byte[] automaton = new byte[in.readInt()];
+        in.readFully(automaton);
+        return new WordForms(automaton, forbidden, keepCase, noSuggest);
+      } catch (IOException e) {
+        return null;  // broken file, will be created again
+      }
+    }
+
+    void writeIfPossible(File file, long checksum) {
+      try {
+        Path dir = file.getParentFile().toPath();
+        if (!Files.isDirectory(dir)) {
+          if (Files.getFileAttributeView(dir.getRoot(), PosixFileAttributeView.class) != null) {
+            Files.createDirectories(dir, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+          } else {
+            Files.createDirectories(dir);
+          }
+        }
+        // on POSIX file systems, only the owner can read and write the new file:
+        File tempFile = Files.createTempFile(dir, file.getName(), ".tmp").toFile();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+          out.writeInt(MAGIC);
+          out.writeInt(FORMAT_VERSION);
+          out.writeLong(checksum);
+          writeSet(out, forbidden);
+          writeSet(out, keepCase);
+          writeSet(out, noSuggest);
+          out.writeInt(automaton.length);
+          out.write(automaton);
+        }
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      } catch (IOException e) {
+        // the cache is optional, we'll just need to create the word forms again next time
+      }
+    }
+
+    private static Set<String> readSet(DataInputStream in) throws IOException {
+      int size = in.readInt();
+      Set<String> set = new HashSet<>(size * 2);
+      for (int i = 0; i < size; i++) {
+        set.add(in.readUTF());
+      }
+      return set;
+    }
+
+    private static void writeSet(DataOutputStream out, Set<String> set) throws IOException {
+      out.writeInt(set.size());
+      for (String s : set) {
+        out.writeUTF(s);
+      }
+    }
+  }
+
+  /**
+   * Merges sorted chunk files into one sorted sequence.
+   */
+  private static final class ChunkMerger implements Iterator<byte[]> {
+
+    private final PriorityQueue<ChunkReader> queue = new PriorityQueue<>(
+            (r1, r2) -> FSABuilder.LEXICAL_ORDERING.compare(r1.current, r2.current));
+
+    ChunkMerger(List<File> chunkFiles) throws IOException {
+      for (File chunkFile : chunkFiles) {
+        ChunkReader reader = new ChunkReader(chunkFile);
+        if (reader.current != null) {
+          queue.add(reader);
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !queue.isEmpty();
+    }
+
+    @Override
+    public byte[] next() {
+      ChunkReader reader = queue.poll();
+      if (reader == null) {
+        throw new NoSuchElementException();
+      }
+      byte[] result = reader.current;
+      reader.advance();
+      if (reader.current != null) {
+        queue.add(reader);
+      }
+      return result;
+    }
+  }
+
+  private static final class ChunkReader {
+
+    private final DataInputStream in;
+    private int remaining;
+    private byte[] current;
+
+    ChunkReader(File file) throws IOException {
+      in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+      remaining = in.readInt();
+      advance();
+    }
+
+    void advance() {
+      try {
+        if (remaining-- > 0) {
+          current = new byte[in.readUnsignedShort()];
+          in.readFully(current);
+        } else {
+          current = null;
+          in.close();
+        }
+      } catch (IOException e) {
+        throw new RuntimeException("Could not read temporary file", e);
+      }
+    }
+  }
+
+}
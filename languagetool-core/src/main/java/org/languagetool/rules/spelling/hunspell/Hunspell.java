@@ -7,13 +7,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.CharBuffer;
-import java.nio.charset.CharacterCodingException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Scanner;
 
+import com.sun.jna.Memory;
 import com.sun.jna.Native;
 import com.sun.jna.Pointer;
 import com.sun.jna.ptr.PointerByReference;
@@ -240,10 +240,12 @@ public class Hunspell {
         }
     }
 
+    private static final int KNOWN_WORDS_CACHE_SIZE = 16384;
+
     /**
      * Class representing a single dictionary.
      */
-    public class Dictionary {
+    public class Dictionary implements HunspellDictionary {
         /**
          * The pointer to the hunspell object as returned by the hunspell
          * constructor.
@@ -260,6 +262,12 @@ public class Hunspell {
          */
         private final String wordChars;
 
+        /**
+         * Frequent correct words, so they don't need a native call.
+         * Words never become incorrect (see {@link #addWord(String)}), so this never needs to be cleared.
+         */
+        private final KnownWordCache knownWords = new KnownWordCache(KNOWN_WORDS_CACHE_SIZE);
+
         /**
          * Creates an instance of the dictionary.
          * @param baseFileName the base name of the dictionary, 
@@ -290,6 +298,7 @@ public class Hunspell {
         /**
          * Deallocate the dictionary.
          */
+        @Override
         public void destroy() {
             if (hsl != null && hunspellDict != null) {
                 hsl.Hunspell_destroy(hunspellDict);
@@ -302,6 +311,7 @@ public class Hunspell {
          * @return A string composed of characters that are parts of words,
          * even if they are not alphabetic.
          */
+        @Override
         public String getWordChars() {
             return wordChars;
         }
@@ -311,18 +321,64 @@ public class Hunspell {
          *
          * @param word The word to check.
          */
+        @Override
         public boolean misspelled(String word) {
+            if (knownWords.contains(word)) {
+                return false;
+            }
             try {
                 final byte[] wordAsBytes = stringToBytes(word);
                 if (wordAsBytes.length == 0 && word.length() > 0) {
                     return true;
                 }
-                return (hsl.Hunspell_spell(hunspellDict, wordAsBytes) == 0);
+                boolean misspelled = hsl.Hunspell_spell(hunspellDict, wordAsBytes) == 0;
+                if (!misspelled) {
+                    knownWords.add(word);
+                }
+                return misspelled;
             } catch (UnsupportedEncodingException e) {
                 return true;
             }
         }
 
+        /**
+         * Check several words, e.g. all words of a sentence. This is faster than
+         * calling {@link #misspelled(String)} for each word, as it re-uses one native
+         * buffer for all the words.
+         *
+         * @param words The words to check.
+         * @return for each word, whether it is misspelled
+         * @since 3.2
+         */
+        @Override
+        public boolean[] misspelled(List<String> words) {
+            boolean[] result = new boolean[words.size()];
+            Memory buffer = null;
+            for (int i = 0; i < result.length; i++) {
+                String word = words.get(i);
+                if (knownWords.contains(word)) {
+                    continue;
+                }
+                byte[] wordAsBytes;
+                try {
+                    wordAsBytes = word.getBytes(encoding);
+                } catch (UnsupportedEncodingException e) {
+                    result[i] = true;
+                    continue;
+                }
+                if (buffer == null || buffer.size() <= wordAsBytes.length) {
+                    buffer = new Memory(Math.max(64, wordAsBytes.length + 1));
+                }
+                buffer.write(0, wordAsBytes, 0, wordAsBytes.length);
+                buffer.setByte(wordAsBytes.length, (byte) 0);
+                result[i] = hsl.Hunspell_spell(hunspellDict, buffer) == 0;
+                if (!result[i]) {
+                    knownWords.add(word);
+                }
+            }
+            return result;
+        }
+
         /**
          * Convert a Java string to a zero terminated byte array, in the
          * encoding of the dictionary, as expected by the hunspell functions.
@@ -339,7 +395,8 @@ public class Hunspell {
          *
          * @param word The word to check and offer suggestions for
          */
-        public List<String> suggest(String word) throws CharacterCodingException {
+        @Override
+        public List<String> suggest(String word) {
             List<String> res = new ArrayList<>();
             try {		
                 int suggestionsCount = 0;
@@ -393,6 +450,7 @@ public class Hunspell {
          * Adds a word to the runtime dictionary.
          * @param word Word to be added.
          */
+        @Override
         public void addWord(final String word) throws UnsupportedEncodingException {
             hsl.Hunspell_add(hunspellDict, stringToBytes(word));
         }
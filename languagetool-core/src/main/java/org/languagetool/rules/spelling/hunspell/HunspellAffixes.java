@@ -0,0 +1,494 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling.hunspell;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+/**
+ * The parts of a Hunspell {@code .aff} file that are needed to expand the entries of a
+ * {@code .dic} file to all their word forms: prefixes and suffixes (with cross products,
+ * continuation classes and flag aliases) and the flags {@code NEEDAFFIX}, {@code FORBIDDENWORD},
+ * {@code KEEPCASE}, {@code NOSUGGEST}, {@code ONLYINCOMPOUND} and {@code CIRCUMFIX}.
+ * Compounding is not supported, words that may only appear in compounds are skipped.
+ * @since 3.2
+ */
+final class HunspellAffixes {
+
+  /** Receives the word forms created by {@link #expand(String, FormConsumer)}. */
+  interface FormConsumer {
+    void accept(String form, boolean forbidden, boolean keepCase, boolean noSuggest) throws IOException;
+  }
+
+  private static final int[] NO_FLAGS = new int[0];
+
+  private final Map<Integer,List<Affix>> prefixes = new HashMap<>();
+  private final Map<Integer,List<Affix>> suffixes = new HashMap<>();
+  private final List<int[]> flagAliases = new ArrayList<>();
+  private final Map<String,String> inputConversions = new HashMap<>();
+  private final Map<String,String> outputConversions = new HashMap<>();
+  private final List<String> breakPatterns = new ArrayList<>();
+  private final Charset charset;
+
+  private FlagType flagType = FlagType.CHAR;
+  private int needAffix = -1;
+  private int forbiddenWord = -1;
+  private int keepCase = -1;
+  private int noSuggest = -1;
+  private int onlyInCompound = -1;
+  private int circumfix = -1;
+  private boolean fullStrip;
+  private String wordChars = "";
+
+  private enum FlagType { CHAR, LONG, NUM, UTF8 }
+
+  HunspellAffixes(File affFile) throws IOException {
+    byte[] content = Files.readAllBytes(affFile.toPath());
+    charset = getCharset(content);
+    boolean breakSeen = false;
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(content), charset))) {
+      String line;
+      Affix header = null;  // the header of the current prefix or suffix block
+      int remainingEntries = 0;
+      boolean aliasHeaderSeen = false;
+      while ((line = reader.readLine()) != null) {
+        line = line.replace("\uFEFF", "").trim();  // byte order mark
+        if (line.isEmpty() || line.startsWith("#")) {
+          continue;
+        }
+        String[] parts = line.split("\\s+");
+        switch (parts[0]) {
+          case "FLAG":
+            flagType = parts[1].equals("long") ? FlagType.LONG : parts[1].equals("num") ? FlagType.NUM :
+                       parts[1].equals("UTF-8") ? FlagType.UTF8 : FlagType.CHAR;
+            break;
+          case "AF":
+            if (aliasHeaderSeen) {
+              flagAliases.add(parseFlags(parts[1]));
+            }
+            aliasHeaderSeen = true;
+            break;
+          case "PFX":
+          case "SFX":
+            boolean isPrefix = parts[0].equals("PFX");
+            if (remainingEntries == 0) {
+              header = new Affix(parseFlag(parts[1]), isPrefix, parts[2].equals("Y"), "", "", NO_FLAGS, null);
+              remainingEntries = Integer.parseInt(parts[3]);
+            } else {
+              remainingEntries--;
+              add(isPrefix ? prefixes : suffixes, parseAffix(parts, header));
+            }
+            break;
+          case "NEEDAFFIX":
+          case "PSEUDOROOT":
+            needAffix = parseFlag(parts[1]);
+            break;
+          case "FORBIDDENWORD":
+            forbiddenWord = parseFlag(parts[1]);
+            break;
+          case "KEEPCASE":
+            keepCase = parseFlag(parts[1]);
+            break;
+          case "NOSUGGEST":
+            noSuggest = parseFlag(parts[1]);
+            break;
+          case "ONLYINCOMPOUND":
+            onlyInCompound = parseFlag(parts[1]);
+            break;
+          case "CIRCUMFIX":
+            circumfix = parseFlag(parts[1]);
+            break;
+          case "FULLSTRIP":
+            fullStrip = true;
+            break;
+          case "WORDCHARS":
+            wordChars = parts[1];
+            break;
+          case "ICONV":
+          case "OCONV":
+            if (parts.length >= 3) {
+              (parts[0].equals("ICONV") ? inputConversions : outputConversions).put(parts[1], parts[2]);
+            }
+            break;
+          case "BREAK":
+            if (breakSeen) {
+              breakPatterns.add(parts[1]);
+            }
+            breakSeen = true;
+            break;
+          default:
+            // not relevant for expanding words
+        }
+      }
+    }
+    if (!breakSeen) {
+      breakPatterns.addAll(Arrays.asList("-", "^-", "-$"));
+    }
+  }
+
+  String getWordChars() {
+    return wordChars;
+  }
+
+  Map<String,String> getInputConversions() {
+    return Collections.unmodifiableMap(inputConversions);
+  }
+
+  Map<String,String> getOutputConversions() {
+    return Collections.unmodifiableMap(outputConversions);
+  }
+
+  /**
+   * The {@code BREAK} patterns, defaulting to {@code -}, {@code ^-} and {@code -$}.
+   */
+  List<String> getBreakPatterns() {
+    return Collections.unmodifiableList(breakPatterns);
+  }
+
+  /**
+   * Read the {@code .dic} file that belongs to this affix file and expand all its entries.
+   */
+  void expandAll(File dicFile, FormConsumer consumer) throws IOException {
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(dicFile), charset))) {
+      String line = reader.readLine();  // number of entries
+      while ((line = reader.readLine()) != null) {
+        if (!line.isEmpty() && !line.startsWith("\t") && !line.startsWith("#")) {
+          expand(line, consumer);
+        }
+      }
+    }
+  }
+
+  /**
+   * Expand one line of a {@code .dic} file, like {@code word/flags}, to all its word forms.
+   */
+  void expand(String dicLine, FormConsumer consumer) throws IOException {
+    String entry = removeMorphology(dicLine);
+    int slashPos = getFlagSeparatorPos(entry);
+    String word = (slashPos == -1 ? entry : entry.substring(0, slashPos)).replace("\\/", "/");
+    int[] flags = slashPos == -1 ? NO_FLAGS : parseFlagsOrAlias(entry.substring(slashPos + 1));
+    if (word.isEmpty() || contains(flags, onlyInCompound)) {
+      return;
+    }
+    List<Affix> noAffixes = Collections.emptyList();
+    emit(word, flags, noAffixes, consumer);
+    for (int flag : flags) {
+      for (Affix prefix : getAffixes(prefixes, flag)) {
+        if (prefix.matches(word, fullStrip)) {
+          emit(prefix.apply(word), flags, Collections.singletonList(prefix), consumer);
+          // suffixes allowed by the prefix's continuation classes:
+          for (int contFlag : prefix.contFlags) {
+            for (Affix suffix : getAffixes(suffixes, contFlag)) {
+              if (!contains(flags, contFlag) && prefix.crossProduct && suffix.crossProduct && suffix.matches(word, fullStrip)) {
+                String suffixed = suffix.apply(word);
+                if (prefix.matches(suffixed, fullStrip)) {
+                  emit(prefix.apply(suffixed), flags, Arrays.asList(suffix, prefix), consumer);
+                }
+              }
+            }
+          }
+        }
+      }
+      for (Affix suffix : getAffixes(suffixes, flag)) {
+        if (suffix.matches(word, fullStrip)) {
+          String suffixed = suffix.apply(word);
+          expandSuffixed(suffixed, flags, Collections.singletonList(suffix), consumer);
+          // twofold suffixes:
+          for (int contFlag : suffix.contFlags) {
+            for (Affix suffix2 : getAffixes(suffixes, contFlag)) {
+              if (suffix2.matches(suffixed, fullStrip)) {
+                expandSuffixed(suffix2.apply(suffixed), flags, Arrays.asList(suffix, suffix2), consumer);
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+
+  // emit the suffixed form and its combinations with prefixes:
+  private void expandSuffixed(String suffixed, int[] flags, List<Affix> usedSuffixes, FormConsumer consumer) throws IOException {
+    emit(suffixed, flags, usedSuffixes, consumer);
+    Affix firstSuffix = usedSuffixes.get(0);
+    if (!firstSuffix.crossProduct) {
+      return;
+    }
+    for (int flag : flags) {
+      addPrefixes(suffixed, flags, usedSuffixes, flag, consumer);
+    }
+    for (Affix suffix : usedSuffixes) {
+      for (int contFlag : suffix.contFlags) {
+        if (!contains(flags, contFlag)) {
+          addPrefixes(suffixed, flags, usedSuffixes, contFlag, consumer);
+        }
+      }
+    }
+  }
+
+  private void addPrefixes(String suffixed, int[] flags, List<Affix> usedSuffixes, int prefixFlag, FormConsumer consumer) throws IOException {
+    for (Affix prefix : getAffixes(prefixes, prefixFlag)) {
+      if (prefix.crossProduct && prefix.matches(suffixed, fullStrip)) {
+        List<Affix> affixes = new ArrayList<>(usedSuffixes);
+        affixes.add(prefix);
+        emit(prefix.apply(suffixed), flags, affixes, consumer);
+      }
+    }
+  }
+
+  private void emit(String form, int[] rootFlags, List<Affix> affixes, FormConsumer consumer) throws IOException {
+    if (affixes.isEmpty() && contains(rootFlags, needAffix)) {
+      return;
+    }
+    boolean allNeedAffix = !affixes.isEmpty();
+    boolean prefixCircumfix = false;
+    boolean suffixCircumfix = false;
+    boolean forbidden = contains(rootFlags, forbiddenWord);
+    boolean isKeepCase = contains(rootFlags, keepCase);
+    boolean isNoSuggest = contains(rootFlags, noSuggest);
+    for (Affix affix : affixes) {
+      if (contains(affix.contFlags, onlyInCompound)) {
+        return;
+      }
+      allNeedAffix &= contains(affix.contFlags, needAffix);
+      if (contains(affix.contFlags, circumfix)) {
+        if (affix.isPrefix) {
+          prefixCircumfix = true;
+        } else {
+          suffixCircumfix = true;
+        }
+      }
+      forbidden |= contains(affix.contFlags, forbiddenWord);
+      isKeepCase |= contains(affix.contFlags, keepCase);
+      isNoSuggest |= contains(affix.contFlags, noSuggest);
+    }
+    if (allNeedAffix || prefixCircumfix != suffixCircumfix) {
+      return;
+    }
+    consumer.accept(form, forbidden, isKeepCase, isNoSuggest);
+  }
+
+  private Affix parseAffix(String[] parts, Affix header) {
+    String strip = parts[2].equals("0") ? "" : parts[2];
+    String append = parts[3];
+    int[] contFlags = NO_FLAGS;
+    int slashPos = getFlagSeparatorPos(append);
+    if (slashPos != -1) {
+      contFlags = parseFlagsOrAlias(append.substring(slashPos + 1));
+      append = append.substring(0, slashPos);
+    }
+    if (append.equals("0")) {
+      append = "";
+    }
+    String condition = parts.length > 4 ? parts[4] : ".";
+    return new Affix(header.flag, header.isPrefix, header.crossProduct, strip, append, contFlags,
+                     Condition.parse(condition, header.isPrefix));
+  }
+
+  private int[] parseFlagsOrAlias(String flags) {
+    if (!flagAliases.isEmpty() && flags.matches("\\d+")) {
+      int index = Integer.parseInt(flags);
+      return index > 0 && index <= flagAliases.size() ? flagAliases.get(index - 1) : NO_FLAGS;
+    }
+    return parseFlags(flags);
+  }
+
+  private int[] parseFlags(String flags) {
+    switch (flagType) {
+      case LONG:
+        int[] result = new int[flags.length() / 2];
+        for (int i = 0; i < result.length; i++) {
+          result[i] = flags.charAt(i * 2) << 16 | flags.charAt(i * 2 + 1);
+        }
+        return result;
+      case NUM:
+        return Arrays.stream(flags.split(",")).filter(s -> !s.isEmpty()).mapToInt(Integer::parseInt).toArray();
+      case UTF8:
+        return flags.codePoints().toArray();
+      default:
+        return flags.chars().toArray();
+    }
+  }
+
+  private int parseFlag(String flag) {
+    int[] flags = parseFlags(flag);
+    return flags.length > 0 ? flags[0] : -1;
+  }
+
+  private static Charset getCharset(byte[] affContent) throws IOException {
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(affContent), StandardCharsets.ISO_8859_1))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        line = line.replace("\u00EF\u00BB\u00BF", "").trim();  // UTF-8 byte order mark
+        if (line.startsWith("SET ")) {
+          String name = line.substring("SET ".length()).trim();
+          // hunspell uses non-standard names of charsets:
+          if (name.startsWith("ISO8859-")) {
+            name = "ISO-8859-" + name.substring("ISO8859-".length());
+          } else if (name.equals("microsoft-cp1251")) {
+            name = "windows-1251";
+          }
+          return Charset.forName(name);
+        }
+      }
+    }
+    return StandardCharsets.ISO_8859_1;
+  }
+
+  private static String removeMorphology(String dicLine) {
+    int tabPos = dicLine.indexOf('\t');
+    String entry = tabPos == -1 ? dicLine : dicLine.substring(0, tabPos);
+    int spacePos = entry.indexOf(' ');
+    return spacePos == -1 ? entry : entry.substring(0, spacePos);
+  }
+
+  // the position of the first slash that's not escaped and not at the start:
+  private static int getFlagSeparatorPos(String entry) {
+    for (int i = 1; i < entry.length(); i++) {
+      if (entry.charAt(i) == '/' && entry.charAt(i - 1) != '\\') {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean contains(int[] flags, int flag) {
+    if (flag == -1) {
+      return false;
+    }
+    for (int f : flags) {
+      if (f == flag) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static List<Affix> getAffixes(Map<Integer,List<Affix>> affixes, int flag) {
+    List<Affix> result = affixes.get(flag);
+    return result != null ? result : Collections.emptyList();
+  }
+
+  private static void add(Map<Integer,List<Affix>> affixes, Affix affix) {
+    affixes.computeIfAbsent(affix.flag, k -> new ArrayList<>()).add(affix);
+  }
+
+  private static final class Affix {
+    private final int flag;
+    private final boolean isPrefix;
+    private final boolean crossProduct;
+    private final String strip;
+    private final String append;
+    private final int[] contFlags;
+    private final Condition condition;
+
+    private Affix(int flag, boolean isPrefix, boolean crossProduct, String strip, String append, int[] contFlags, Condition condition) {
+      this.flag = flag;
+      this.isPrefix = isPrefix;
+      this.crossProduct = crossProduct;
+      this.strip = strip;
+      this.append = append;
+      this.contFlags = contFlags;
+      this.condition = condition;
+    }
+
+    private boolean matches(String word, boolean fullStrip) {
+      if (word.length() < strip.length() || (!fullStrip && word.length() == strip.length())) {
+        return false;
+      }
+      if (isPrefix ? !word.startsWith(strip) : !word.endsWith(strip)) {
+        return false;
+      }
+      return condition.matches(word);
+    }
+
+    private String apply(String word) {
+      if (isPrefix) {
+        return append + word.substring(strip.length());
+      }
+      return word.substring(0, word.length() - strip.length()) + append;
+    }
+  }
+
+  /**
+   * An affix condition like {@code [^aeiou]y}, which is a sequence of characters,
+   * character classes and dots.
+   */
+  private static final class Condition {
+    private static final Condition ANY = new Condition(new String[0], new boolean[0], true);
+
+    private final String[] chars;  // characters allowed (or not allowed) at each position, null for any
+    private final boolean[] negated;
+    private final boolean isPrefix;
+
+    private Condition(String[] chars, boolean[] negated, boolean isPrefix) {
+      this.chars = chars;
+      this.negated = negated;
+      this.isPrefix = isPrefix;
+    }
+
+    static Condition parse(String condition, boolean isPrefix) {
+      if (condition.equals(".")) {
+        return ANY;
+      }
+      List<String> chars = new ArrayList<>();
+      List<Boolean> negated = new ArrayList<>();
+      for (int i = 0; i < condition.length(); i++) {
+        char c = condition.charAt(i);
+        if (c == '[') {
+          int end = condition.indexOf(']', i);
+          if (end == -1) {
+            end = condition.length();
+          }
+          boolean isNegated = i + 1 < end && condition.charAt(i + 1) == '^';
+          chars.add(condition.substring(isNegated ? i + 2 : i + 1, end));
+          negated.add(isNegated);
+          i = end;
+        } else if (c == '.') {
+          chars.add(null);
+          negated.add(false);
+        } else {
+          chars.add(String.valueOf(c));
+          negated.add(false);
+        }
+      }
+      boolean[] negatedArray = new boolean[negated.size()];
+      for (int i = 0; i < negatedArray.length; i++) {
+        negatedArray[i] = negated.get(i);
+      }
+      return new Condition(chars.toArray(new String[chars.size()]), negatedArray, isPrefix);
+    }
+
+    boolean matches(String word) {
+      if (word.length() < chars.length) {
+        return false;
+      }
+      int offset = isPrefix ? 0 : word.length() - chars.length;
+      for (int i = 0; i < chars.length; i++) {
+        if (chars[i] != null && chars[i].indexOf(word.charAt(offset + i)) != -1 == negated[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+}
@@ -0,0 +1,74 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling.hunspell;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A spelling dictionary in Hunspell format ({@code .dic} and {@code .aff} files),
+ * as used by {@link HunspellRule}.
+ * @since 3.2
+ */
+public interface HunspellDictionary {
+
+  /**
+   * Check if a word is spelled correctly
+   * @param word The word to check.
+   */
+  boolean misspelled(String word);
+
+  /**
+   * Check several words, e.g. all words of a sentence.
+   * @param words The words to check.
+   * @return for each word, whether it is misspelled
+   */
+  default boolean[] misspelled(List<String> words) {
+    boolean[] result = new boolean[words.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = misspelled(words.get(i));
+    }
+    return result;
+  }
+
+  /**
+   * Returns a list of suggestions
+   * @param word The word to check and offer suggestions for
+   */
+  List<String> suggest(String word);
+
+  /**
+   * Adds a word to the runtime dictionary.
+   * @param word Word to be added.
+   */
+  void addWord(String word) throws IOException;
+
+  /**
+   * Used to query what are word-characters
+   * @return A string composed of characters that are parts of words,
+   * even if they are not alphabetic.
+   */
+  String getWordChars();
+
+  /**
+   * Deallocate the dictionary.
+   */
+  void destroy();
+
+}
@@ -18,7 +18,6 @@
  */
 package org.languagetool.rules.spelling.hunspell;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
@@ -48,7 +47,7 @@ public class HunspellNoSuggestionRule extends HunspellRule {
   }
 
   @Override
-  public List<String> getSuggestions(String word) throws IOException {
+  protected List<String> findSuggestions(String word) {
     return new ArrayList<>();
   }
   
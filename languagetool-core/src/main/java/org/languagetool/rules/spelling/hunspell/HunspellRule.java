@@ -27,7 +27,6 @@ import java.io.OutputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.ResourceBundle;
 import java.util.regex.Pattern;
@@ -54,12 +53,21 @@ public class HunspellRule extends SpellingCheckRule {
 
   public static final String RULE_ID = "HUNSPELL_RULE";
 
+  /**
+   * System property to select the spell checking engine: {@code native} (the default) uses the
+   * Hunspell library, {@code java} uses {@link FsaHunspellDictionary}, which doesn't need native
+   * libraries but doesn't support compound words.
+   * @since 3.2
+   */
+  public static final String ENGINE_PROPERTY = "org.languagetool.hunspell_engine";
+
   protected boolean needsInit = true;
-  protected Hunspell.Dictionary hunspellDict = null;
+  protected HunspellDictionary hunspellDict = null;
 
   private static final String NON_ALPHABETIC = "[^\\p{L}]";
 
   private Pattern nonWordPattern;
+  private String wordChars = "";
 
   public HunspellRule(final ResourceBundle messages, final Language language) {
     super(messages, language);
@@ -86,42 +94,52 @@ public class HunspellRule extends SpellingCheckRule {
       // some languages might not have a dictionary, be silent about it
       return toRuleMatchArray(ruleMatches);
     }
-    final String[] tokens = tokenizeText(getSentenceTextWithoutUrlsAndImmunizedTokens(sentence));
+    final AnalyzedTokenReadings[] sentenceTokens = sentence.getTokens();
+    final int[] startPositions = new int[getMaxWordCount(sentenceTokens)];
+    final List<String> words = getWords(sentenceTokens, startPositions);
 
-    // starting with the first token to skip the zero-length START_SENT
-    int len = sentence.getTokens()[1].getStartPos();
-    for (int i = 0; i < tokens.length; i++) {
-      String word = tokens[i];
-      if (ignoreWord(Arrays.asList(tokens), i) || ignoreWord(word)) {
-        len += word.length() + 1;
+    // check all words of the sentence with one call, that's faster than checking them one by one:
+    final boolean[] ignored = new boolean[words.size()];
+    final List<String> wordsToCheck = new ArrayList<>(words.size());
+    for (int i = 0; i < words.size(); i++) {
+      final String word = words.get(i);
+      ignored[i] = ignoreWord(words, i) || ignoreWord(word);
+      if (!ignored[i] && needsDictionaryCheck(word)) {
+        wordsToCheck.add(word);
+      }
+    }
+    final boolean[] misspelled = hunspellDict.misspelled(wordsToCheck);
+
+    int checkedIdx = 0;
+    for (int i = 0; i < words.size(); i++) {
+      if (ignored[i]) {
         continue;
       }
-      if (isMisspelled(word)) {
+      final String word = words.get(i);
+      boolean isMisspelled = needsDictionaryCheck(word) && misspelled[checkedIdx++];
+      if (isMisspelled || isProhibited(removeTrailingDot(word))) {
         final RuleMatch ruleMatch = new RuleMatch(this,
-            len, len + word.length(),
+            startPositions[i], startPositions[i] + word.length(),
             messages.getString("spelling"),
             messages.getString("desc_spelling_short"));
-        final List<String> suggestions = getSuggestions(word);
-        suggestions.addAll(0, getAdditionalTopSuggestions(suggestions, word));
-        suggestions.addAll(getAdditionalSuggestions(suggestions, word));
-        if (!suggestions.isEmpty()) {
-          filterSuggestions(suggestions);
-          ruleMatch.setSuggestedReplacements(suggestions);
-        }
+        // computing suggestions is expensive, so only do it when they are actually needed:
+        ruleMatch.setLazySuggestedReplacements(() -> getCachedSuggestions(word, this::getSuggestionsForMatch));
         ruleMatches.add(ruleMatch);
       }
-      len += word.length() + 1;
     }
 
     return toRuleMatchArray(ruleMatches);
   }
 
   boolean isMisspelled(String word) {
-    boolean isAlphabetic = true;
+    return (needsDictionaryCheck(word) && hunspellDict.misspelled(word)) || isProhibited(removeTrailingDot(word));
+  }
+
+  private boolean needsDictionaryCheck(String word) {
     if (word.length() == 1) { // hunspell dictionaries usually do not contain punctuation
-      isAlphabetic = Character.isAlphabetic(word.charAt(0));
+      return Character.isAlphabetic(word.charAt(0));
     }
-    return (isAlphabetic && !word.equals("--") && hunspellDict.misspelled(word)) || isProhibited(removeTrailingDot(word));
+    return !word.equals("--");
   }
 
   private String removeTrailingDot(String word) {
@@ -131,10 +149,31 @@ public class HunspellRule extends SpellingCheckRule {
     return word;
   }
 
+  private List<String> getSuggestionsForMatch(String word) {
+    // match() has already called init(), so the suggestions can be computed without I/O:
+    final List<String> suggestions = findSuggestions(word);
+    suggestions.addAll(0, getAdditionalTopSuggestions(suggestions, word));
+    suggestions.addAll(getAdditionalSuggestions(suggestions, word));
+    if (!suggestions.isEmpty()) {
+      filterSuggestions(suggestions);
+    }
+    return suggestions;
+  }
+
   public List<String> getSuggestions(String word) throws IOException {
     if (needsInit) {
       init();
     }
+    return findSuggestions(word);
+  }
+
+  /**
+   * Get the suggestions for a misspelled word, called only after {@link #init()}.
+   * Override this instead of {@link #getSuggestions(String)} to change the suggestions.
+   * @return a modifiable list of suggestions
+   * @since 3.2
+   */
+  protected List<String> findSuggestions(String word) {
     return hunspellDict.suggest(word);
   }
 
@@ -142,20 +181,86 @@ public class HunspellRule extends SpellingCheckRule {
     return nonWordPattern.split(sentence);
   }
 
-  private String getSentenceTextWithoutUrlsAndImmunizedTokens(final AnalyzedSentence sentence) {
-    final StringBuilder sb = new StringBuilder();
-    final AnalyzedTokenReadings[] sentenceTokens = sentence.getTokens();
+  /**
+   * Splits the sentence into the words to be checked, the same way {@link #tokenizeText(String)}
+   * splits the sentence text, but without empty strings between adjacent separators. URLs and
+   * immunized tokens act as separators. Walks the tokens directly, so no copy of the sentence text
+   * is needed and only the words themselves are allocated.
+   * @param startPositions filled with the start position of each word in the sentence, must have
+   *                       at least {@link #getMaxWordCount(AnalyzedTokenReadings[])} elements
+   */
+  List<String> getWords(AnalyzedTokenReadings[] sentenceTokens, int[] startPositions) {
+    final List<String> words = new ArrayList<>();
+    // starting with the first token to skip the zero-length START_SENT
+    int pos = sentenceTokens.length > 1 ? sentenceTokens[1].getStartPos() : 0;
+    int wordToken = -1;
+    int wordChar = 0;
     for (int i = 1; i < sentenceTokens.length; i++) {
       final String token = sentenceTokens[i].getToken();
-      if (isUrl(token) || sentenceTokens[i].isImmunized() || sentenceTokens[i].isIgnoredBySpeller()) {
-        // replace URLs and immunized tokens with whitespace to ignore them for spell checking:
-        for (int j = 0; j < token.length(); j++) {
-          sb.append(' ');
+      if (isIgnoredToken(sentenceTokens[i])) {
+        if (wordToken != -1) {
+          words.add(getText(sentenceTokens, wordToken, wordChar, i - 1, sentenceTokens[i - 1].getToken().length()));
+          wordToken = -1;
         }
-      } else {
-        sb.append(token);
+        pos += token.length();
+        continue;
       }
+      int j = 0;
+      while (j < token.length()) {
+        final int codePoint = token.codePointAt(j);
+        if (isWordChar(codePoint)) {
+          if (wordToken == -1) {
+            startPositions[words.size()] = pos + j;
+            wordToken = i;
+            wordChar = j;
+          }
+        } else if (wordToken != -1) {
+          words.add(getText(sentenceTokens, wordToken, wordChar, i, j));
+          wordToken = -1;
+        }
+        j += Character.charCount(codePoint);
+      }
+      pos += token.length();
+    }
+    if (wordToken != -1) {
+      final int last = sentenceTokens.length - 1;
+      words.add(getText(sentenceTokens, wordToken, wordChar, last, sentenceTokens[last].getToken().length()));
+    }
+    return words;
+  }
+
+  /**
+   * The maximum number of words {@link #getWords(AnalyzedTokenReadings[], int[])} can find,
+   * as words are separated by at least one character.
+   */
+  static int getMaxWordCount(AnalyzedTokenReadings[] sentenceTokens) {
+    int length = 0;
+    for (int i = 1; i < sentenceTokens.length; i++) {
+      length += sentenceTokens[i].getToken().length();
     }
+    return (length + 1) / 2;
+  }
+
+  private boolean isIgnoredToken(AnalyzedTokenReadings token) {
+    return token.isImmunized() || token.isIgnoredBySpeller() || isUrl(token.getToken());
+  }
+
+  private boolean isWordChar(int codePoint) {
+    return Character.isLetter(codePoint) || wordChars.indexOf(codePoint) != -1;
+  }
+
+  // a word usually is a single token, but word characters like '-' can join tokens, e.g. "Stil-":
+  private static String getText(AnalyzedTokenReadings[] tokens, int fromToken, int fromChar, int toToken, int toChar) {
+    if (fromToken == toToken) {
+      return tokens[fromToken].getToken().substring(fromChar, toChar);
+    }
+    final String first = tokens[fromToken].getToken();
+    final StringBuilder sb = new StringBuilder();
+    sb.append(first, fromChar, first.length());
+    for (int i = fromToken + 1; i < toToken; i++) {
+      sb.append(tokens[i].getToken());
+    }
+    sb.append(tokens[toToken].getToken(), 0, toChar);
     return sb.toString();
   }
 
@@ -173,26 +278,34 @@ public class HunspellRule extends SpellingCheckRule {
         + "/hunspell/"
         + langCountry
         + ".dic";
-    String wordChars = "";
+    String wordCharsRegex = "";
     // set dictionary only if there are dictionary files:
     if (JLanguageTool.getDataBroker().resourceExists(shortDicPath)) {
       final String path = getDictionaryPath(langCountry, shortDicPath);
       if ("".equals(path)) {
         hunspellDict = null;
       } else {
-        hunspellDict = Hunspell.getInstance().getDictionary(path);
+        hunspellDict = getDictionary(path);
 
-        if (!"".equals(hunspellDict.getWordChars())) {
-          wordChars = "(?![" + hunspellDict.getWordChars().replace("-", "\\-") + "])";
+        wordChars = hunspellDict.getWordChars();
+        if (!"".equals(wordChars)) {
+          wordCharsRegex = "(?![" + wordChars.replace("-", "\\-") + "])";
         }
 
         addIgnoreWords();
       }
     }
-    nonWordPattern = Pattern.compile(wordChars + NON_ALPHABETIC);
+    nonWordPattern = Pattern.compile(wordCharsRegex + NON_ALPHABETIC);
     needsInit = false;
   }
 
+  private static HunspellDictionary getDictionary(String path) throws IOException {
+    if ("java".equals(System.getProperty(ENGINE_PROPERTY))) {
+      return FsaHunspellDictionary.getInstance(path);
+    }
+    return Hunspell.getInstance().getDictionary(path);
+  }
+
   private void addIgnoreWords() throws IOException {
     hunspellDict.addWord(SpellingCheckRule.LANGUAGETOOL);
     hunspellDict.addWord(SpellingCheckRule.LANGUAGETOOL_FX);
@@ -0,0 +1,148 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling.hunspell;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded set of words known to be spelled correctly, so that frequent words don't need
+ * a call into native Hunspell. Words are only admitted once they have been seen a few times,
+ * and they can only replace words that have been seen less often, so rare words don't push
+ * out frequent ones. Lookups count as a use of the word, so words that are found often
+ * keep a high count even after the counts have been halved for aging. Lookups and updates
+ * don't lock; the frequency counters are only approximate, lost updates are acceptable.
+ * @since 3.2
+ */
+final class KnownWordCache {
+
+  private static final int ADMISSION_THRESHOLD = 2;
+  private static final int MAX_COUNT = 15;
+
+  private final AtomicReferenceArray<String> slots;  // 2-way set associative
+  private final byte[] counters;
+  private final int slotMask;
+  private final int counterShift;
+  private final int agingPeriod;
+  private final AtomicInteger increments = new AtomicInteger();
+
+  /**
+   * @param maxSize maximum number of words, will be rounded up to a power of two
+   */
+  KnownWordCache(int maxSize) {
+    if (maxSize < 2) {
+      throw new IllegalArgumentException("maxSize must be >= 2: " + maxSize);
+    }
+    int size = Integer.highestOneBit(maxSize - 1) << 1;
+    slots = new AtomicReferenceArray<>(size);
+    slotMask = size - 1;
+    counters = new byte[size * 4];
+    counterShift = Integer.numberOfLeadingZeros(counters.length) + 1;
+    agingPeriod = counters.length * 4;
+  }
+
+  /**
+   * Whether {@code word} is in the cache. If it is, this counts as a use of the word.
+   */
+  boolean contains(String word) {
+    int hash = spread(word.hashCode());
+    int slot = hash & slotMask;
+    if (word.equals(slots.get(slot)) || word.equals(slots.get(slot ^ 1))) {
+      int idx = counterIndex(hash);
+      if (counters[idx] < MAX_COUNT) {  // no write for words that are already at the maximum
+        counters[idx]++;
+      }
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Record that {@code word} is spelled correctly. The word will be added once it has
+   * been seen often enough.
+   */
+  void add(String word) {
+    int hash = spread(word.hashCode());
+    int count = increment(hash);
+    if (count < ADMISSION_THRESHOLD) {
+      return;
+    }
+    int slot1 = hash & slotMask;
+    int slot2 = slot1 ^ 1;
+    String word1 = slots.get(slot1);
+    String word2 = slots.get(slot2);
+    if (word.equals(word1) || word.equals(word2)) {
+      return;
+    }
+    if (word1 == null) {
+      slots.compareAndSet(slot1, null, word);
+    } else if (word2 == null) {
+      slots.compareAndSet(slot2, null, word);
+    } else {
+      int count1 = getCount(spread(word1.hashCode()));
+      int count2 = getCount(spread(word2.hashCode()));
+      if (count1 <= count2 && count > count1) {
+        slots.compareAndSet(slot1, word1, word);
+      } else if (count2 < count1 && count > count2) {
+        slots.compareAndSet(slot2, word2, word);
+      }
+    }
+  }
+
+  int size() {
+    int size = 0;
+    for (int i = 0; i < slots.length(); i++) {
+      if (slots.get(i) != null) {
+        size++;
+      }
+    }
+    return size;
+  }
+
+  private int increment(int hash) {
+    int idx = counterIndex(hash);
+    int count = counters[idx];
+    if (count < MAX_COUNT) {
+      counters[idx] = (byte) ++count;
+    }
+    if (increments.incrementAndGet() % agingPeriod == 0) {
+      // halve all counts so that words that used to be frequent can be replaced:
+      for (int i = 0; i < counters.length; i++) {
+        counters[i] = (byte) (counters[i] >> 1);
+      }
+      // compare like with like, other words' counts have just been halved:
+      count >>= 1;
+    }
+    return count;
+  }
+
+  private int getCount(int hash) {
+    return counters[counterIndex(hash)];
+  }
+
+  // use other bits of the hash than for the slots, so that words in the same slots use different counters:
+  private int counterIndex(int hash) {
+    return (hash * 0x9E3779B9) >>> counterShift;
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+}
@@ -27,15 +27,21 @@ import org.languagetool.JLanguageTool;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Morfologik speller that merges results from binary (.dict) and plain text (.txt) dictionaries.
+ * Instances are immutable and thread-safe.
  *
  * @since 2.9
  */
 public class MorfologikMultiSpeller {
 
-  private static final Map<String,Dictionary> dicPathToDict = new HashMap<>();
+  // Dictionaries built from plain text files, shared by all spellers independent of their edit distance.
+  // Key: binary dictionary path (it provides the .info file) and plain text path or content hash:
+  private static final Map<String,Dictionary> plainTextDicts = new ConcurrentHashMap<>();
+  // Key: binary dictionary path, plain text path and edit distance:
+  private static final Map<String,MorfologikMultiSpeller> instances = new ConcurrentHashMap<>();
 
   private final List<MorfologikSpeller> spellers;
   private final boolean convertsCase;
@@ -46,12 +52,25 @@ public class MorfologikMultiSpeller {
    * @param maxEditDistance maximum edit distance for accepting suggestions
    */
   public MorfologikMultiSpeller(String binaryDictPath, String plainTextPath, int maxEditDistance) throws IOException {
-    this(binaryDictPath,
-         new BufferedReader(new InputStreamReader(JLanguageTool.getDataBroker().getFromResourceDirAsStream(plainTextPath), "utf-8")),
-         maxEditDistance);
     if (!plainTextPath.endsWith(".txt")) {
       throw new RuntimeException("Unsupported dictionary, plain text file needs to have suffix .txt: " + plainTextPath);
     }
+    MorfologikSpeller speller = getBinaryDict(binaryDictPath, maxEditDistance);
+    List<MorfologikSpeller> spellers = new ArrayList<>();
+    spellers.add(speller);
+    convertsCase = speller.convertsCase();
+    String key = binaryDictPath + "|" + plainTextPath;
+    Dictionary plainTextDict = plainTextDicts.get(key);
+    if (plainTextDict == null) {
+      try (BufferedReader br = new BufferedReader(
+              new InputStreamReader(JLanguageTool.getDataBroker().getFromResourceDirAsStream(plainTextPath), "utf-8"))) {
+        plainTextDict = getDictionaryOrNull(getLines(br), binaryDictPath, key);
+      }
+    }
+    if (plainTextDict != null) {
+      spellers.add(new MorfologikSpeller(plainTextDict, maxEditDistance));
+    }
+    this.spellers = Collections.unmodifiableList(spellers);
   }
 
   /**
@@ -65,13 +84,35 @@ public class MorfologikMultiSpeller {
     List<MorfologikSpeller> spellers = new ArrayList<>();
     spellers.add(speller);
     convertsCase = speller.convertsCase();
-    MorfologikSpeller plainTextSpeller = getPlainTextDictSpellerOrNull(plainTextReader, binaryDictPath, maxEditDistance);
-    if (plainTextSpeller != null) {
-      spellers.add(plainTextSpeller);
+    List<byte[]> lines = getLines(plainTextReader);
+    Dictionary plainTextDict = getDictionaryOrNull(lines, binaryDictPath, binaryDictPath + "|" + getContentHash(lines));
+    if (plainTextDict != null) {
+      spellers.add(new MorfologikSpeller(plainTextDict, maxEditDistance));
     }
     this.spellers = Collections.unmodifiableList(spellers);
   }
 
+  /**
+   * Get a speller for the given files and edit distance. Spellers are cached, so that all
+   * rules and language variants using the same files share one instance.
+   * @param binaryDictPath path in classpath to a {@code .dict} binary Morfologik file
+   * @param plainTextPath path in classpath to a plain text {@code .txt} file (like spelling.txt)
+   * @param maxEditDistance maximum edit distance for accepting suggestions
+   * @since 3.2
+   */
+  public static MorfologikMultiSpeller getInstance(String binaryDictPath, String plainTextPath, int maxEditDistance) throws IOException {
+    String key = binaryDictPath + "|" + plainTextPath + "|" + maxEditDistance;
+    MorfologikMultiSpeller speller = instances.get(key);
+    if (speller == null) {
+      speller = new MorfologikMultiSpeller(binaryDictPath, plainTextPath, maxEditDistance);
+      MorfologikMultiSpeller existing = instances.putIfAbsent(key, speller);
+      if (existing != null) {
+        speller = existing;
+      }
+    }
+    return speller;
+  }
+
   private MorfologikSpeller getBinaryDict(String binaryDictPath, int maxEditDistance) throws IOException {
     if (binaryDictPath.endsWith(".dict")) {
       return new MorfologikSpeller(binaryDictPath, maxEditDistance);
@@ -80,17 +121,7 @@ public class MorfologikMultiSpeller {
     }
   }
 
-  @Nullable
-  private MorfologikSpeller getPlainTextDictSpellerOrNull(BufferedReader plainTextReader, String dictPath, int maxEditDistance) throws IOException {
-    List<byte[]> lines = getLines(plainTextReader);
-    if (lines.size() == 0) {
-      return null;
-    }
-    Dictionary dictionary = getDictionary(lines, dictPath);
-    return new MorfologikSpeller(dictionary, maxEditDistance);
-  }
-
-  private List<byte[]> getLines(BufferedReader br) throws IOException {
+  private static List<byte[]> getLines(BufferedReader br) throws IOException {
     List<byte[]> lines = new ArrayList<>();
     String line;
     while ((line = br.readLine()) != null) {
@@ -101,8 +132,20 @@ public class MorfologikMultiSpeller {
     return lines;
   }
 
-  private Dictionary getDictionary(List<byte[]> lines, String dictPath) throws IOException {
-    Dictionary dictFromCache = dicPathToDict.get(dictPath);
+  private static int getContentHash(List<byte[]> lines) {
+    int hash = 1;
+    for (byte[] line : lines) {
+      hash = 31 * hash + Arrays.hashCode(line);
+    }
+    return hash;
+  }
+
+  @Nullable
+  private static Dictionary getDictionaryOrNull(List<byte[]> lines, String dictPath, String key) throws IOException {
+    if (lines.size() == 0) {
+      return null;
+    }
+    Dictionary dictFromCache = plainTextDicts.get(key);
     if (dictFromCache != null) {
       return dictFromCache;
     } else {
@@ -115,8 +158,8 @@ public class MorfologikMultiSpeller {
       ByteArrayInputStream fsaInStream = new ByteArrayInputStream(fsaOutStream.toByteArray());
       String infoFile = dictPath.replace(".dict", ".info");
       Dictionary dict = Dictionary.readAndClose(fsaInStream, JLanguageTool.getDataBroker().getFromResourceDirAsStream(infoFile));
-      dicPathToDict.put(dictPath, dict);
-      return dict;
+      Dictionary existing = plainTextDicts.putIfAbsent(key, dict);
+      return existing != null ? existing : dict;
     }
   }
 
@@ -28,21 +28,29 @@ import java.io.IOException;
 import java.nio.charset.CharacterCodingException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Morfologik-based spell checker.
  */
 public class MorfologikSpeller {
 
+  private static final Map<String,SymmetricDeleteIndex> indexCache = new ConcurrentHashMap<>();
+
   private final Dictionary dictionary;
-  private final Speller speller;
+  // Speller is not thread-safe, so each thread gets its own (they share the dictionary):
+  private final ThreadLocal<Speller> speller;
+  private final int maxEditDistance;
+  private final SymmetricDeleteIndex index;  // may be null
 
   /**
    * Creates a speller with the given maximum edit distance.
    * @param fileInClassPath path in classpath to morfologik dictionary
    */
   public MorfologikSpeller(String fileInClassPath, int maxEditDistance) throws IOException {
-    this(Dictionary.read(JLanguageTool.getDataBroker().getFromResourceDirAsUrl(fileInClassPath)), maxEditDistance);
+    this(JLanguageTool.getDataBroker().getDictionaryFromResourceDir(fileInClassPath), maxEditDistance,
+         getIndexOrNull(fileInClassPath, maxEditDistance));
   }
 
   /**
@@ -55,24 +63,70 @@ public class MorfologikSpeller {
 
   /** @since 2.9 */
   MorfologikSpeller(Dictionary dictionary, int maxEditDistance) {
+    this(dictionary, maxEditDistance, null);
+  }
+
+  /** @since 3.2 */
+  MorfologikSpeller(Dictionary dictionary, int maxEditDistance, SymmetricDeleteIndex index) {
     if (maxEditDistance <= 0) {
       throw new RuntimeException("maxEditDistance must be > 0: " + maxEditDistance);
     }
     this.dictionary = dictionary;
-    speller = new Speller(dictionary, maxEditDistance);
+    this.maxEditDistance = maxEditDistance;
+    this.index = index;
+    speller = ThreadLocal.withInitial(() -> new Speller(dictionary, maxEditDistance));
+    speller.get();  // fail early on an unusable dictionary
   }
 
   public boolean isMisspelled(String word) {
     return word.length() > 0 
             && !SpellingCheckRule.LANGUAGETOOL.equals(word)
             && !SpellingCheckRule.LANGUAGETOOL_FX.equals(word)
-            && speller.isMisspelled(word);
+            && speller.get().isMisspelled(word);
+  }
+
+  // Searching the automaton is slow for an edit distance of 2 or more, so we use a precomputed index if there is one:
+  private static SymmetricDeleteIndex getIndexOrNull(String fileInClassPath, int maxEditDistance) {
+    if (maxEditDistance < 2 || !fileInClassPath.endsWith(".dict")) {
+      return null;
+    }
+    String indexPath = fileInClassPath.substring(0, fileInClassPath.length() - ".dict".length()) + SymmetricDeleteIndex.FILE_SUFFIX;
+    // spellers for the same dictionary are often created by several threads at once, the index is only loaded once:
+    SymmetricDeleteIndex index = indexCache.computeIfAbsent(indexPath, MorfologikSpeller::loadIndexOrNull);
+    return index != null && index.getMaxDistance() >= maxEditDistance ? index : null;
+  }
+
+  // returning null means there's no index, nothing gets cached then:
+  private static SymmetricDeleteIndex loadIndexOrNull(String indexPath) {
+    if (!JLanguageTool.getDataBroker().resourceExists(indexPath)) {
+      return null;
+    }
+    try {
+      return SymmetricDeleteIndex.fromResource(indexPath);
+    } catch (IOException e) {
+      throw new RuntimeException("Could not load spelling index " + indexPath, e);
+    }
   }
 
   public List<String> getSuggestions(String word) {
     final List<String> suggestions = new ArrayList<>();
+    Speller speller = this.speller.get();
     try {
-      suggestions.addAll(speller.findReplacements(word));
+      if (index != null) {
+        String lowercaseWord = word.toLowerCase(dictionary.metadata.getLocale());
+        if (dictionary.metadata.isConvertingCase() && !word.equals(lowercaseWord)) {
+          // like Speller.findReplacements(), search for the lowercase word first, so the case of a
+          // capitalized or uppercase word doesn't count as an edit; the suggestions are re-cased below:
+          suggestions.addAll(index.getSuggestions(lowercaseWord, maxEditDistance));
+        }
+        for (String suggestion : index.getSuggestions(word, maxEditDistance)) {
+          if (!suggestions.contains(suggestion)) {
+            suggestions.add(suggestion);
+          }
+        }
+      } else {
+        suggestions.addAll(speller.findReplacements(word));
+      }
       suggestions.addAll(speller.replaceRunOnWords(word));
     } catch (CharacterCodingException e) {
       throw new RuntimeException(e);
@@ -103,7 +157,7 @@ public class MorfologikSpeller {
    * @since 2.5
    */
   public boolean convertsCase() {
-    return speller.convertsCase();
+    return speller.get().convertsCase();
   }
 
 }
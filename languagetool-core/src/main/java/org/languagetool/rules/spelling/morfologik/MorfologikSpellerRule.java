@@ -130,8 +130,9 @@ public abstract class MorfologikSpellerRule extends SpellingCheckRule {
       plainTextDict = getSpellingFileName();
     }
     if (plainTextDict != null) {
-      speller1 = new MorfologikMultiSpeller(binaryDict, plainTextDict, 1);
-      speller2 = new MorfologikMultiSpeller(binaryDict, plainTextDict, 2);
+      // shared with all other rules using the same files, so the data is loaded only once:
+      speller1 = MorfologikMultiSpeller.getInstance(binaryDict, plainTextDict, 1);
+      speller2 = MorfologikMultiSpeller.getInstance(binaryDict, plainTextDict, 2);
       setConvertsCase(speller1.convertsCase());
     } else {
       throw new RuntimeException("Could not find ignore spell file in path: " + getSpellingFileName());
@@ -178,22 +179,33 @@ public abstract class MorfologikSpellerRule extends SpellingCheckRule {
       final RuleMatch ruleMatch = new RuleMatch(this, startPos, startPos
           + word.length(), messages.getString("spelling"),
           messages.getString("desc_spelling_short"));
-      List<String> suggestions = speller1.getSuggestions(word);
-      if (suggestions.size() == 0 && word.length() >= 5) {
-        // speller1 uses a maximum edit distance of 1, it won't find suggestion for "garentee", "greatful" ezc.
-        suggestions.addAll(speller2.getSuggestions(word));
-      }
-      suggestions.addAll(0, getAdditionalTopSuggestions(suggestions, word));
-      suggestions.addAll(getAdditionalSuggestions(suggestions, word));
-      if (!suggestions.isEmpty()) {
-        filterSuggestions(suggestions);
-        ruleMatch.setSuggestedReplacements(orderSuggestions(suggestions, word));
-      }
+      // computing suggestions is expensive, so only do it when they are actually needed:
+      ruleMatch.setLazySuggestedReplacements(() -> getCachedSuggestions(word, this::getSuggestionsForMatch));
       ruleMatches.add(ruleMatch);
     }
     return ruleMatches;
   }
 
+  private List<String> getSuggestionsForMatch(String word) {
+    List<String> suggestions = speller1.getSuggestions(word);
+    if (suggestions.size() == 0 && word.length() >= 5) {
+      // speller1 uses a maximum edit distance of 1, it won't find suggestion for "garentee", "greatful" ezc.
+      suggestions.addAll(speller2.getSuggestions(word));
+    }
+    suggestions.addAll(0, getAdditionalTopSuggestions(suggestions, word));
+    suggestions.addAll(getAdditionalSuggestions(suggestions, word));
+    if (suggestions.isEmpty()) {
+      return suggestions;
+    }
+    filterSuggestions(suggestions);
+    return orderSuggestions(suggestions, word);
+  }
+
+  @Override
+  protected String getSuggestionCacheKey() {
+    return super.getSuggestionCacheKey() + "/" + getFileName() + "/" + conversionLocale;
+  }
+
   /**
    * Get the regular expression pattern used to tokenize
    * the words as in the source dictionary. For example,
@@ -0,0 +1,367 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling.morfologik;
+
+import java.io.*;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import morfologik.stemming.Dictionary;
+import org.languagetool.JLanguageTool;
+
+/**
+ * A precomputed index for finding dictionary words within a small edit distance of a
+ * misspelled word, using the symmetric delete approach (as in SymSpell): for each
+ * dictionary word, all strings that can be created by deleting up to {@code maxDistance}
+ * characters from the word's prefix are stored. At lookup time, the same deletes are created for
+ * the misspelled word, and all words sharing a delete are candidates. The candidates are then
+ * verified with the real edit distance (counting transpositions as one edit) and ranked by
+ * distance and word frequency. This is much faster than searching the dictionary automaton
+ * with an edit distance of 2.
+ *
+ * <p>The index is built with {@link #write(List, char, int, int, OutputStream)} (see
+ * {@code SpellDictionaryBuilder} in languagetool-tools) and stored next to the {@code .dict}
+ * file with the suffix {@link #FILE_SUFFIX}. Delete strings are only stored as hash codes,
+ * so the file stays compact; collisions just produce more candidates that fail verification.
+ * If the index is a plain file, it is memory-mapped.
+ * @since 3.2
+ */
+public class SymmetricDeleteIndex {
+
+  public static final String FILE_SUFFIX = ".sdi";
+
+  private static final int MAGIC = 0x4C545344;  // "LTSD"
+  private static final int VERSION = 1;
+  private static final int HEADER_INTS = 8;
+
+  private final int maxDistance;
+  private final int prefixLength;
+  private final int wordCount;
+  private final IntBuffer wordOffsets;
+  private final ByteBuffer wordBytes;
+  private final ByteBuffer frequencies;
+  private final IntBuffer keys;
+  private final IntBuffer postingOffsets;
+  private final IntBuffer postings;
+
+  /**
+   * @param buffer the index data as written by {@link #write(List, char, int, int, OutputStream)}
+   */
+  public SymmetricDeleteIndex(ByteBuffer buffer) {
+    ByteBuffer buf = buffer.duplicate();
+    if (buf.getInt() != MAGIC) {
+      throw new RuntimeException("Not a symmetric delete index");
+    }
+    int version = buf.getInt();
+    if (version != VERSION) {
+      throw new RuntimeException("Unsupported symmetric delete index version " + version + ", expected " + VERSION);
+    }
+    maxDistance = buf.getInt();
+    prefixLength = buf.getInt();
+    wordCount = buf.getInt();
+    int keyCount = buf.getInt();
+    int postingCount = buf.getInt();
+    int wordByteCount = buf.getInt();
+    wordOffsets = slice(buf, (wordCount + 1) * 4).asIntBuffer();
+    wordBytes = slice(buf, wordByteCount);
+    frequencies = slice(buf, wordCount);
+    keys = slice(buf, keyCount * 4).asIntBuffer();
+    postingOffsets = slice(buf, (keyCount + 1) * 4).asIntBuffer();
+    postings = slice(buf, postingCount * 4).asIntBuffer();
+  }
+
+  /**
+   * Load an index from the resource directory. A file in the file system is memory-mapped,
+   * other resources (e.g. inside a JAR) are read into memory.
+   * @param path path in the resource directory, e.g. {@code /en/hunspell/en_US.sdi}
+   */
+  public static SymmetricDeleteIndex fromResource(String path) throws IOException {
+    URL url = JLanguageTool.getDataBroker().getFromResourceDirAsUrl(path);
+    if ("file".equals(url.getProtocol())) {
+      try (FileChannel channel = FileChannel.open(Paths.get(url.toURI()), StandardOpenOption.READ)) {
+        return new SymmetricDeleteIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+      } catch (URISyntaxException e) {
+        throw new RuntimeException("Could not load symmetric delete index " + url, e);
+      }
+    }
+    try (InputStream in = JLanguageTool.getDataBroker().getFromResourceDirAsStream(path)) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buf = new byte[8192];
+      int len;
+      while ((len = in.read(buf)) > 0) {
+        out.write(buf, 0, len);
+      }
+      return new SymmetricDeleteIndex(ByteBuffer.wrap(out.toByteArray()));
+    }
+  }
+
+  /**
+   * Write an index for the given words.
+   * @param words the dictionary words, each optionally followed by {@code separator} and a frequency
+   *              class {@code A} (rare) to {@code Z} (frequent), e.g. {@code house+R}, as in the
+   *              input of the spelling dictionary
+   * @param separator the separator between word and frequency class, usually {@code +}
+   * @param maxDistance the maximum edit distance the index supports, usually 2
+   * @param prefixLength only deletes of the first {@code prefixLength} characters of each word are indexed,
+   *                     which keeps the index small at the cost of some missed candidates for errors
+   *                     at the end of long words (7 is a good compromise)
+   */
+  public static void write(List<String> words, char separator, int maxDistance, int prefixLength, OutputStream out) throws IOException {
+    if (maxDistance < 1 || prefixLength <= maxDistance) {
+      throw new IllegalArgumentException("Invalid maxDistance " + maxDistance + " or prefixLength " + prefixLength);
+    }
+    List<String> plainWords = new ArrayList<>(words.size());
+    byte[] frequencies = new byte[words.size()];
+    for (String word : words) {
+      int sepPos = word.lastIndexOf(separator);
+      if (sepPos > 0 && sepPos == word.length() - 2 && word.charAt(sepPos + 1) >= 'A' && word.charAt(sepPos + 1) <= 'Z') {
+        frequencies[plainWords.size()] = (byte) (word.charAt(sepPos + 1) - 'A' + 1);
+        plainWords.add(word.substring(0, sepPos));
+      } else {
+        plainWords.add(word);
+      }
+    }
+    // map from hash of delete to ids of the words that create it:
+    SortedMap<Integer, List<Integer>> deleteToWords = new TreeMap<>();
+    int postingCount = 0;
+    for (int id = 0; id < plainWords.size(); id++) {
+      String word = plainWords.get(id);
+      for (String delete : getDeletes(word, maxDistance, prefixLength)) {
+        deleteToWords.computeIfAbsent(delete.hashCode(), k -> new ArrayList<>()).add(id);
+        postingCount++;
+      }
+    }
+    ByteArrayOutputStream wordData = new ByteArrayOutputStream();
+    int[] wordOffsets = new int[plainWords.size() + 1];
+    for (int id = 0; id < plainWords.size(); id++) {
+      wordOffsets[id] = wordData.size();
+      byte[] bytes = plainWords.get(id).getBytes(StandardCharsets.UTF_8);
+      wordData.write(bytes, 0, bytes.length);
+    }
+    wordOffsets[plainWords.size()] = wordData.size();
+
+    DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(out));
+    dataOut.writeInt(MAGIC);
+    dataOut.writeInt(VERSION);
+    dataOut.writeInt(maxDistance);
+    dataOut.writeInt(prefixLength);
+    dataOut.writeInt(plainWords.size());
+    dataOut.writeInt(deleteToWords.size());
+    dataOut.writeInt(postingCount);
+    dataOut.writeInt(wordData.size());
+    for (int offset : wordOffsets) {
+      dataOut.writeInt(offset);
+    }
+    wordData.writeTo(dataOut);
+    dataOut.write(frequencies);
+    for (int key : deleteToWords.keySet()) {
+      dataOut.writeInt(key);
+    }
+    int postingOffset = 0;
+    for (List<Integer> ids : deleteToWords.values()) {
+      dataOut.writeInt(postingOffset);
+      postingOffset += ids.size();
+    }
+    dataOut.writeInt(postingOffset);
+    for (List<Integer> ids : deleteToWords.values()) {
+      for (int id : ids) {
+        dataOut.writeInt(id);
+      }
+    }
+    dataOut.flush();
+  }
+
+  /**
+   * Write an index for all words of a Morfologik spelling dictionary.
+   * @see #write(List, char, int, int, OutputStream)
+   */
+  public static void write(Dictionary dictionary, int maxDistance, int prefixLength, OutputStream out) throws IOException {
+    Charset charset = Charset.forName(dictionary.metadata.getEncoding());
+    List<String> words = new ArrayList<>();
+    for (ByteBuffer sequence : dictionary.fsa) {
+      words.add(new String(sequence.array(), sequence.arrayOffset() + sequence.position(), sequence.remaining(), charset));
+    }
+    write(words, dictionary.metadata.getSeparatorAsChar(), maxDistance, prefixLength, out);
+  }
+
+  /**
+   * The maximum edit distance this index was built for.
+   */
+  public int getMaxDistance() {
+    return maxDistance;
+  }
+
+  /**
+   * Get the dictionary words within {@code maxDistance} edits of {@code word}, the closest
+   * and, for the same distance, most frequent words first. The word itself is not included.
+   * @param maxDistance must not be larger than {@link #getMaxDistance()}
+   */
+  public List<String> getSuggestions(String word, int maxDistance) {
+    if (maxDistance > this.maxDistance) {
+      throw new IllegalArgumentException("Index only supports a distance of " + this.maxDistance + ": " + maxDistance);
+    }
+    Set<Integer> candidateIds = new HashSet<>();
+    for (String delete : getDeletes(word, maxDistance, prefixLength)) {
+      int keyIdx = findKey(delete.hashCode());
+      if (keyIdx >= 0) {
+        for (int i = postingOffsets.get(keyIdx); i < postingOffsets.get(keyIdx + 1); i++) {
+          candidateIds.add(postings.get(i));
+        }
+      }
+    }
+    List<Candidate> candidates = new ArrayList<>();
+    for (int id : candidateIds) {
+      String candidate = getWord(id);
+      if (Math.abs(candidate.length() - word.length()) > maxDistance || candidate.equals(word)) {
+        continue;
+      }
+      int distance = getDistance(word, candidate, maxDistance);
+      if (distance <= maxDistance) {
+        candidates.add(new Candidate(candidate, distance, frequencies.get(id)));
+      }
+    }
+    Collections.sort(candidates);
+    List<String> result = new ArrayList<>(candidates.size());
+    for (Candidate candidate : candidates) {
+      result.add(candidate.word);
+    }
+    return result;
+  }
+
+  private int findKey(int hash) {
+    int low = 0;
+    int high = keys.limit() - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int midKey = keys.get(mid);
+      if (midKey < hash) {
+        low = mid + 1;
+      } else if (midKey > hash) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  private String getWord(int id) {
+    int start = wordOffsets.get(id);
+    byte[] bytes = new byte[wordOffsets.get(id + 1) - start];
+    ByteBuffer buf = wordBytes.duplicate();
+    buf.position(start);
+    buf.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  // all strings created by deleting up to maxDistance characters from the word's prefix, including the prefix itself:
+  static Set<String> getDeletes(String word, int maxDistance, int prefixLength) {
+    String prefix = word.length() > prefixLength ? word.substring(0, prefixLength) : word;
+    Set<String> deletes = new HashSet<>();
+    deletes.add(prefix);
+    addDeletes(prefix, maxDistance, deletes);
+    return deletes;
+  }
+
+  private static void addDeletes(String s, int remaining, Set<String> deletes) {
+    if (remaining == 0 || s.length() <= 1) {
+      return;
+    }
+    for (int i = 0; i < s.length(); i++) {
+      String delete = s.substring(0, i) + s.substring(i + 1);
+      if (deletes.add(delete)) {
+        addDeletes(delete, remaining - 1, deletes);
+      }
+    }
+  }
+
+  /**
+   * Edit distance with insertions, deletions, substitutions and transpositions of adjacent
+   * characters (optimal string alignment). Returns {@code maxDistance + 1} as soon as it's
+   * clear the distance is larger than {@code maxDistance}.
+   */
+  static int getDistance(String s1, String s2, int maxDistance) {
+    int len1 = s1.length();
+    int len2 = s2.length();
+    int[] prevPrev = new int[len2 + 1];
+    int[] prev = new int[len2 + 1];
+    int[] current = new int[len2 + 1];
+    for (int j = 0; j <= len2; j++) {
+      prev[j] = j;
+    }
+    for (int i = 1; i <= len1; i++) {
+      current[0] = i;
+      int rowMin = current[0];
+      for (int j = 1; j <= len2; j++) {
+        int cost = s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1;
+        int value = Math.min(Math.min(prev[j] + 1, current[j - 1] + 1), prev[j - 1] + cost);
+        if (i > 1 && j > 1 && s1.charAt(i - 1) == s2.charAt(j - 2) && s1.charAt(i - 2) == s2.charAt(j - 1)) {
+          value = Math.min(value, prevPrev[j - 2] + 1);
+        }
+        current[j] = value;
+        rowMin = Math.min(rowMin, value);
+      }
+      if (rowMin > maxDistance) {
+        return maxDistance + 1;
+      }
+      int[] tmp = prevPrev;
+      prevPrev = prev;
+      prev = current;
+      current = tmp;
+    }
+    return prev[len2];
+  }
+
+  private static ByteBuffer slice(ByteBuffer buf, int length) {
+    ByteBuffer slice = buf.slice();
+    slice.limit(length);
+    buf.position(buf.position() + length);
+    return slice;
+  }
+
+  private static class Candidate implements Comparable<Candidate> {
+    private final String word;
+    private final int distance;
+    private final int frequency;
+    Candidate(String word, int distance, int frequency) {
+      this.word = word;
+      this.distance = distance;
+      this.frequency = frequency;
+    }
+    @Override
+    public int compareTo(Candidate other) {
+      if (distance != other.distance) {
+        return Integer.compare(distance, other.distance);
+      }
+      if (frequency != other.frequency) {
+        return Integer.compare(other.frequency, frequency);
+      }
+      return word.compareTo(other.word);
+    }
+  }
+
+}
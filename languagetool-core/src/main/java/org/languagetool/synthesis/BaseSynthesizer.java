@@ -20,10 +20,7 @@ package org.languagetool.synthesis;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.URL;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Matcher;
+import java.util.*;
 import java.util.regex.Pattern;
 
 import morfologik.stemming.Dictionary;
@@ -33,16 +30,21 @@ import morfologik.stemming.WordData;
 
 import org.languagetool.AnalyzedToken;
 import org.languagetool.JLanguageTool;
+import org.languagetool.tools.LruCache;
 
 public class BaseSynthesizer implements Synthesizer {
 
+  private static final int TAG_CACHE_SIZE = 2000;
+
   protected volatile List<String> possibleTags;
 
   private final String tagFileName;
   private final String resourceFileName;
-  private final IStemmer stemmer;
+  // the stemmers are not thread-safe, so each thread gets its own (they share the dictionary):
+  private final ThreadLocal<IStemmer> stemmer = ThreadLocal.withInitial(this::createStemmer);
 
   private volatile Dictionary dictionary;
+  private volatile TagIndex tagIndex;
 
   /**
    * @param resourceFileName The dictionary file name.
@@ -51,7 +53,6 @@ public class BaseSynthesizer implements Synthesizer {
   public BaseSynthesizer(final String resourceFileName, final String tagFileName) {
     this.resourceFileName = resourceFileName;
     this.tagFileName = tagFileName;
-    this.stemmer = createStemmer();
   }
 
   /**
@@ -65,8 +66,7 @@ public class BaseSynthesizer implements Synthesizer {
       synchronized (this) {
         dict = this.dictionary;
         if (dict == null) {
-          final URL url = JLanguageTool.getDataBroker().getFromResourceDirAsUrl(resourceFileName);
-          this.dictionary = dict = Dictionary.read(url);
+          this.dictionary = dict = JLanguageTool.getDataBroker().getDictionaryFromResourceDir(resourceFileName);
         }
       }
     }
@@ -75,7 +75,8 @@ public class BaseSynthesizer implements Synthesizer {
 
   /**
    * Creates a new {@link IStemmer} based on the configured {@link #getDictionary() dictionary}.
-   * The result must not be shared among threads.
+   * The result must not be shared among threads. Usually you want {@link #getStemmer()} instead,
+   * which calls this once per thread.
    * @since 2.3
    */
   protected IStemmer createStemmer() {
@@ -93,11 +94,9 @@ public class BaseSynthesizer implements Synthesizer {
    * @param results the list to collect the inflected forms.
    */
   protected void lookup(String lemma, String posTag, List<String> results) {
-    synchronized (this) { // the stemmer is not thread-safe
-      final List<WordData> wordForms = stemmer.lookup(lemma + "|" + posTag);
-      for (WordData wd : wordForms) {
-        results.add(wd.getStem().toString());
-      }
+    final List<WordData> wordForms = getStemmer().lookup(lemma + "|" + posTag);
+    for (WordData wd : wordForms) {
+      results.add(wd.getStem().toString());
     }
   }
 
@@ -119,15 +118,9 @@ public class BaseSynthesizer implements Synthesizer {
   public String[] synthesize(final AnalyzedToken token, final String posTag,
       final boolean posTagRegExp) throws IOException {
     if (posTagRegExp) {
-      initPossibleTags();
-      final Pattern p = Pattern.compile(posTag);
       final List<String> results = new ArrayList<>();
-
-      for (final String tag : possibleTags) {
-        final Matcher m = p.matcher(tag);
-        if (m.matches()) {
-          lookup(token.getLemma(), tag, results);
-        }
+      for (final String tag : getMatchingTags(posTag)) {
+        lookup(token.getLemma(), tag, results);
       }
       return results.toArray(new String[results.size()]);
     }
@@ -141,10 +134,32 @@ public class BaseSynthesizer implements Synthesizer {
 
   /**
    * @since 2.5
-   * @return the stemmer interface to be used.
+   * @return the stemmer interface to be used by the current thread - it must not be
+   * passed to other threads, and the result of a lookup is only valid until its next lookup
    */
   public IStemmer getStemmer() {
-    return stemmer;
+    return stemmer.get();
+  }
+
+  /**
+   * Get the tags from {@link #possibleTags} that match the given regular expression, in
+   * the order of {@link #possibleTags}. The result is cached per regular expression, and
+   * tags are looked up by the literal prefix of the expression (if it has one) instead
+   * of matching the expression against every tag.
+   * @param posTagRegExp regular expression that needs to match the complete tag
+   * @return an unmodifiable list of matching tags
+   * @since 3.2
+   */
+  protected List<String> getMatchingTags(String posTagRegExp) throws IOException {
+    initPossibleTags();
+    TagIndex index = tagIndex;
+    List<String> tags = possibleTags;
+    if (index == null || !index.isFor(tags)) {
+      // subclasses may add tags in initPossibleTags(), so rebuild the index if the list has changed:
+      index = new TagIndex(tags);
+      tagIndex = index;
+    }
+    return index.getMatchingTags(posTagRegExp);
   }
 
   protected void initPossibleTags() throws IOException {
@@ -161,4 +176,107 @@ public class BaseSynthesizer implements Synthesizer {
     }
   }
 
+  /**
+   * An immutable snapshot of the possible tags, sorted so that all tags with a given
+   * prefix can be found by binary search.
+   */
+  static class TagIndex {
+
+    private final List<String> source;
+    private final int sourceSize;
+    private final String[] sortedTags;
+    private final int[] positions;  // position of sortedTags[i] in source
+    private final LruCache<String,List<String>> matchCache = new LruCache<>(TAG_CACHE_SIZE);
+
+    TagIndex(List<String> tags) {
+      source = tags;
+      sourceSize = tags.size();
+      Integer[] order = new Integer[sourceSize];
+      for (int i = 0; i < order.length; i++) {
+        order[i] = i;
+      }
+      Arrays.sort(order, (i1, i2) -> tags.get(i1).compareTo(tags.get(i2)));
+      sortedTags = new String[sourceSize];
+      positions = new int[sourceSize];
+      for (int i = 0; i < order.length; i++) {
+        sortedTags[i] = tags.get(order[i]);
+        positions[i] = order[i];
+      }
+    }
+
+    boolean isFor(List<String> tags) {
+      return tags == source && tags.size() == sourceSize;
+    }
+
+    List<String> getMatchingTags(String posTagRegExp) {
+      List<String> result = matchCache.get(posTagRegExp);
+      if (result == null) {
+        result = findMatchingTags(posTagRegExp);
+        matchCache.put(posTagRegExp, result);
+      }
+      return result;
+    }
+
+    private List<String> findMatchingTags(String posTagRegExp) {
+      Pattern pattern = Pattern.compile(posTagRegExp);
+      String prefix = getLiteralPrefix(posTagRegExp);
+      int from = Arrays.binarySearch(sortedTags, prefix);
+      if (from < 0) {
+        from = -from - 1;
+      }
+      List<Integer> matchPositions = new ArrayList<>();
+      for (int i = from; i < sortedTags.length && sortedTags[i].startsWith(prefix); i++) {
+        if (pattern.matcher(sortedTags[i]).matches()) {
+          matchPositions.add(positions[i]);
+        }
+      }
+      Collections.sort(matchPositions);
+      List<String> result = new ArrayList<>(matchPositions.size());
+      for (int position : matchPositions) {
+        result.add(source.get(position));
+      }
+      return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * The part at the start of the regular expression that every matching string
+     * must start with, e.g. {@code NN} for {@code NN(S|P)?}.
+     */
+    static String getLiteralPrefix(String regExp) {
+      if (hasTopLevelAlternatives(regExp)) {
+        return "";
+      }
+      int i = 0;
+      while (i < regExp.length() && "\\[](){}.*+?^$|".indexOf(regExp.charAt(i)) == -1) {
+        i++;
+      }
+      if (i < regExp.length() && "?*{".indexOf(regExp.charAt(i)) >= 0) {
+        i--;  // the last literal character is optional or may be repeated zero times
+      }
+      return regExp.substring(0, Math.max(i, 0));
+    }
+
+    private static boolean hasTopLevelAlternatives(String regExp) {
+      int depth = 0;
+      boolean inCharClass = false;
+      for (int i = 0; i < regExp.length(); i++) {
+        char c = regExp.charAt(i);
+        if (c == '\\') {
+          i++;
+        } else if (inCharClass) {
+          inCharClass = c != ']';
+        } else if (c == '[') {
+          inCharClass = true;
+        } else if (c == '(') {
+          depth++;
+        } else if (c == ')') {
+          depth--;
+        } else if (c == '|' && depth == 0) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
 }
@@ -20,8 +20,8 @@ package org.languagetool.tagging;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 
@@ -32,6 +32,7 @@ import org.jetbrains.annotations.Nullable;
 import org.languagetool.AnalyzedToken;
 import org.languagetool.AnalyzedTokenReadings;
 import org.languagetool.JLanguageTool;
+import org.languagetool.tools.LruCache;
 import org.languagetool.tools.StringTools;
 
 /**
@@ -41,12 +42,16 @@ import org.languagetool.tools.StringTools;
  */
 public abstract class BaseTagger implements Tagger {
 
+  private static final int DEFAULT_ANALYSIS_CACHE_SIZE =
+          Integer.parseInt(System.getProperty("org.languagetool.tagger_cache_size", "20000"));
+
   protected final WordTagger wordTagger;
   protected final Locale conversionLocale;
 
   private final boolean tagLowercaseWithUppercase;
   private final String dictionaryPath;
   private final Dictionary dictionary;
+  private final LruCache<String,List<AnalyzedToken>> analysisCache;  // null if caching is disabled
 
   /**
    * Get the filename for manual additions, e.g., {@code /en/added.txt}, or {@code null}.
@@ -79,13 +84,28 @@ public abstract class BaseTagger implements Tagger {
     this.dictionaryPath = filename;
     this.conversionLocale = locale;
     this.tagLowercaseWithUppercase = tagLowercaseWithUppercase;
-    this.wordTagger = initWordTagger(filename);
-    try {
-      URL url = JLanguageTool.getDataBroker().getFromResourceDirAsUrl(filename);
-      this.dictionary = Dictionary.read(url);
-    } catch (IOException e) {
-      throw new RuntimeException("Could not load dictionary from " + filename, e);
-    }
+    this.dictionary = JLanguageTool.getDataBroker().getDictionaryFromResourceDir(filename);
+    this.wordTagger = initWordTagger();
+    int cacheSize = getAnalysisCacheSize();
+    this.analysisCache = cacheSize > 0 ? new LruCache<>(cacheSize) : null;
+  }
+
+  /**
+   * Maximum number of words whose analysis is cached by {@link #getAnalyzedTokens(String)}, {@code 0}
+   * to disable the cache. Defaults to the value of the system property {@code org.languagetool.tagger_cache_size}
+   * or 20000. Note that this is called from the constructor.
+   * @since 3.2
+   */
+  protected int getAnalysisCacheSize() {
+    return DEFAULT_ANALYSIS_CACHE_SIZE;
+  }
+
+  /**
+   * Ratio of words whose analysis was found in the cache, {@code 0} if the cache is disabled.
+   * @since 3.2
+   */
+  public double getAnalysisCacheHitRate() {
+    return analysisCache != null ? analysisCache.getHitRate() : 0;
   }
 
   /**
@@ -108,22 +128,18 @@ public abstract class BaseTagger implements Tagger {
     return wordTagger;
   }
 
-  private WordTagger initWordTagger(String filename) {
-    MorfologikTagger morfologikTagger = new MorfologikTagger(filename);
+  private WordTagger initWordTagger() {
+    MorfologikTagger morfologikTagger = new MorfologikTagger(dictionary);
     try {
       String manualRemovalFileName = getManualRemovalsFileName();
-      ManualTagger removalTagger = null;
+      WordTagger removalTagger = null;
       if (manualRemovalFileName != null) {
-        try (InputStream stream = JLanguageTool.getDataBroker().getFromResourceDirAsStream(manualRemovalFileName)) {
-          removalTagger = new ManualTagger(stream);
-        }
+        removalTagger = getManualTagger(manualRemovalFileName);
       }
       String manualAdditionFileName = getManualAdditionsFileName();
       if (manualAdditionFileName != null) {
-        try (InputStream stream = JLanguageTool.getDataBroker().getFromResourceDirAsStream(manualAdditionFileName)) {
-          ManualTagger manualTagger = new ManualTagger(stream);
-          return new CombiningTagger(morfologikTagger, manualTagger, removalTagger, overwriteWithManualTagger());
-        }
+        WordTagger manualTagger = getManualTagger(manualAdditionFileName);
+        return new CombiningTagger(morfologikTagger, manualTagger, removalTagger, overwriteWithManualTagger());
       } else {
         return morfologikTagger;
       }
@@ -132,6 +148,26 @@ public abstract class BaseTagger implements Tagger {
     }
   }
 
+  /**
+   * Use the binary version of a plain text file like {@code /en/added.txt} if there is one
+   * ({@code /en/added.dict}, built with {@code ManualTaggerDictionaryBuilder}), as that's faster
+   * to load and needs less memory. Otherwise parse the plain text file. The binary version is
+   * not compared to the plain text file here, as that would mean reading the whole plain text file
+   * on every start - {@code ManualTaggerTest} makes sure at build time that it's up-to-date.
+   * Note that the readings of a word come from the binary version sorted by lemma and POS tag,
+   * not in the order of the plain text file.
+   * @see ManualTagger#hasUpToDateBinaryDictionary(String)
+   */
+  private WordTagger getManualTagger(String fileName) throws IOException {
+    String binaryFileName = ManualTagger.getBinaryFileName(fileName);
+    if (binaryFileName != null && JLanguageTool.getDataBroker().resourceExists(binaryFileName)) {
+      return new MorfologikTagger(binaryFileName);  // loads the dictionary on first use
+    }
+    try (InputStream stream = JLanguageTool.getDataBroker().getFromResourceDirAsStream(fileName)) {
+      return new ManualTagger(stream);
+    }
+  }
+
   protected Dictionary getDictionary() {
     return dictionary;
   }
@@ -156,7 +192,32 @@ public abstract class BaseTagger implements Tagger {
     return tokenReadings;
   }
 
+  /**
+   * Get the readings of {@code word}. Results are cached, so this must only depend on
+   * {@code word}. The list and its tokens are new objects for each call, as callers
+   * (and the disambiguator later on) may modify them.
+   */
   protected List<AnalyzedToken> getAnalyzedTokens(String word) {
+    if (analysisCache == null) {
+      return analyzeWord(word);
+    }
+    List<AnalyzedToken> cachedTokens = analysisCache.get(word);
+    if (cachedTokens == null) {
+      // these tokens are never handed out, only copies of them:
+      cachedTokens = Collections.unmodifiableList(analyzeWord(word));
+      analysisCache.put(word, cachedTokens);
+    }
+    List<AnalyzedToken> result = new ArrayList<>(cachedTokens.size());
+    for (AnalyzedToken token : cachedTokens) {
+      AnalyzedToken copy = new AnalyzedToken(token.getToken(), token.getPOSTag(), token.getLemma());
+      copy.setWhitespaceBefore(token.isWhitespaceBefore());
+      copy.setNoPOSTag(token.hasNoTag());
+      result.add(copy);
+    }
+    return result;
+  }
+
+  private List<AnalyzedToken> analyzeWord(String word) {
     final List<AnalyzedToken> result = new ArrayList<>();
     final String lowerWord = word.toLowerCase(conversionLocale);
     final boolean isLowercase = word.equals(lowerWord);
@@ -22,8 +22,13 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.zip.CRC32;
 
+import org.jetbrains.annotations.Nullable;
+import org.languagetool.JLanguageTool;
+import org.languagetool.databroker.ResourceDataBroker;
 import org.languagetool.synthesis.ManualSynthesizer;
 import org.languagetool.tools.StringTools;
 
@@ -39,12 +44,83 @@ import org.languagetool.tools.StringTools;
  */
 public class ManualTagger implements WordTagger {
 
+  /**
+   * Start of the line in the {@code .info} file of a binary dictionary built from a plain text
+   * file that is followed by the checksum of that file, see {@link #getChecksum(InputStream)}.
+   * It's a comment, as Morfologik doesn't accept unknown properties.
+   * @since 3.2
+   */
+  public static final String SOURCE_CHECKSUM_PREFIX = "#source-crc32=";
+
   private final Map<String, List<TaggedWord>> mapping;
 
   public ManualTagger(final InputStream inputStream) throws IOException {
     mapping = loadMapping(inputStream, "utf8");
   }
 
+  /**
+   * The name of the binary dictionary for a plain text file, e.g. {@code /en/added.dict}
+   * for {@code /en/added.txt}, or {@code null} if the file name doesn't end with {@code .txt}.
+   * @since 3.2
+   */
+  @Nullable
+  public static String getBinaryFileName(String fileName) {
+    return fileName.endsWith(".txt") ? fileName.substring(0, fileName.length() - ".txt".length()) + ".dict" : null;
+  }
+
+  /**
+   * Whether there's a binary dictionary for the plain text file {@code fileName} from the
+   * resource directory that was built from the current content of that file. This compares
+   * checksums instead of modification times, so it also works for resources inside a JAR.
+   * As it reads the whole plain text file, it's meant for checks at build time - taggers
+   * use the binary dictionary without calling this.
+   * @since 3.2
+   */
+  public static boolean hasUpToDateBinaryDictionary(String fileName) throws IOException {
+    ResourceDataBroker dataBroker = JLanguageTool.getDataBroker();
+    String binaryFileName = getBinaryFileName(fileName);
+    if (binaryFileName == null || !dataBroker.resourceExists(binaryFileName)) {
+      return false;
+    }
+    String infoFileName = binaryFileName.replaceFirst("\\.dict$", ".info");
+    if (!dataBroker.resourceExists(infoFileName)) {
+      return false;
+    }
+    String checksum = null;
+    try (BufferedReader br = new BufferedReader(new InputStreamReader(
+            dataBroker.getFromResourceDirAsStream(infoFileName), StandardCharsets.ISO_8859_1))) {
+      String line;
+      while ((line = br.readLine()) != null) {
+        if (line.startsWith(SOURCE_CHECKSUM_PREFIX)) {
+          checksum = line.substring(SOURCE_CHECKSUM_PREFIX.length()).trim();
+        }
+      }
+    }
+    if (checksum == null) {
+      return false;
+    }
+    try (InputStream stream = dataBroker.getFromResourceDirAsStream(fileName)) {
+      return checksum.equals(getChecksum(stream));
+    }
+  }
+
+  /**
+   * The checksum of a plain text file as stored in the {@code .info} file of the binary
+   * dictionary built from it, see {@link #SOURCE_CHECKSUM_PREFIX}. Closes the stream.
+   * @since 3.2
+   */
+  public static String getChecksum(InputStream stream) throws IOException {
+    CRC32 crc = new CRC32();
+    try (InputStream in = stream) {
+      byte[] buffer = new byte[8192];
+      int len;
+      while ((len = in.read(buffer)) != -1) {
+        crc.update(buffer, 0, len);
+      }
+    }
+    return Long.toHexString(crc.getValue());
+  }
+
   private Map<String, List<TaggedWord>> loadMapping(final InputStream inputStream, final String encoding) throws IOException {
     final Map<String, List<TaggedWord>> map = new HashMap<>();
     try (
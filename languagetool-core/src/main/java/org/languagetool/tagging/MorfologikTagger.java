@@ -23,8 +23,8 @@ import morfologik.stemming.DictionaryLookup;
 import morfologik.stemming.IStemmer;
 import morfologik.stemming.WordData;
 import org.languagetool.JLanguageTool;
+import org.languagetool.databroker.DictionaryRegistry;
 
-import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
@@ -37,8 +37,10 @@ import java.util.Objects;
 public class MorfologikTagger implements WordTagger {
 
   private final URL dictUrl;
+  // DictionaryLookup is not thread-safe but cheap compared to the dictionary it uses, so each thread gets its own:
+  private final ThreadLocal<IStemmer> dictLookup = ThreadLocal.withInitial(() -> new DictionaryLookup(getDictionary()));
 
-  private Dictionary dictionary;
+  private volatile Dictionary dictionary;
 
   public MorfologikTagger(String dictPath) {
     dictUrl = JLanguageTool.getDataBroker().getFromResourceDirAsUrl(Objects.requireNonNull(dictPath));
@@ -48,32 +50,43 @@ public class MorfologikTagger implements WordTagger {
     this.dictUrl = Objects.requireNonNull(dictUrl);
   }
 
-  private synchronized Dictionary getDictionary() throws IOException {
-    if (dictionary == null) {
-      dictionary = Dictionary.read(dictUrl);
+  /**
+   * @param dictionary an already loaded dictionary, e.g. from {@link org.languagetool.databroker.ResourceDataBroker#getDictionaryFromResourceDir(String)}
+   * @since 3.2
+   */
+  public MorfologikTagger(Dictionary dictionary) {
+    this.dictUrl = null;
+    this.dictionary = Objects.requireNonNull(dictionary);
+  }
+
+  private Dictionary getDictionary() {
+    Dictionary dict = dictionary;
+    if (dict == null) {
+      synchronized (this) {
+        dict = dictionary;
+        if (dict == null) {
+          dictionary = dict = DictionaryRegistry.get(dictUrl);
+        }
+      }
     }
-    return dictionary;
+    return dict;
   }
 
   @Override
   public List<TaggedWord> tag(String word) {
-    List<TaggedWord> result = new ArrayList<>();
-    try {
-      IStemmer dictLookup = new DictionaryLookup(getDictionary());
-      List<WordData> lookup = dictLookup.lookup(word);
-      for (WordData wordData : lookup) {
-        String tag = wordData.getTag() == null ? null : wordData.getTag().toString();
-        // Remove frequency data from tags (if exists)
-        // The frequency data is in the last byte after a separator
-        if (dictionary.metadata.isFrequencyIncluded() && tag != null && tag.length() > 2) {
-          tag = tag.substring(0, tag.length() - 2);
-        }
-        String stem = wordData.getStem() == null ? null : wordData.getStem().toString();
-        TaggedWord taggedWord = new TaggedWord(stem, tag);
-        result.add(taggedWord);
+    List<WordData> lookup = dictLookup.get().lookup(word);
+    boolean frequencyIncluded = getDictionary().metadata.isFrequencyIncluded();
+    List<TaggedWord> result = new ArrayList<>(lookup.size());
+    for (WordData wordData : lookup) {
+      String tag = wordData.getTag() == null ? null : wordData.getTag().toString();
+      // Remove frequency data from tags (if exists)
+      // The frequency data is in the last byte after a separator
+      if (frequencyIncluded && tag != null && tag.length() > 2) {
+        tag = tag.substring(0, tag.length() - 2);
       }
-    } catch (IOException e) {
-      throw new RuntimeException("Could not tag word '" + word + "'", e);
+      String stem = wordData.getStem() == null ? null : wordData.getStem().toString();
+      TaggedWord taggedWord = new TaggedWord(stem, tag);
+      result.add(taggedWord);
     }
     return result;
   }
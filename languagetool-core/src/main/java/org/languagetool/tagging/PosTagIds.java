@@ -0,0 +1,102 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tagging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Assigns a small integer ID to each distinct part-of-speech tag of a language, so that
+ * information about a tag can be stored in arrays and bitsets instead of maps. Each language
+ * has its own table (see {@link org.languagetool.Language#getPosTagIds()}), so the IDs stay
+ * dense. To limit memory use with taggers that create tags dynamically, only the first
+ * {@link #MAX_SIZE} tags get an ID.
+ * @since 3.2
+ */
+public final class PosTagIds {
+
+  static final int MAX_SIZE = 1 << 16;
+
+  private final Map<String, Id> ids = new ConcurrentHashMap<>();
+
+  /**
+   * @return the ID of the tag, or {@code null} if the tag is {@code null} or too many distinct tags have been seen
+   */
+  @Nullable
+  public Id getId(String posTag) {
+    if (posTag == null) {
+      return null;
+    }
+    Id id = ids.get(posTag);
+    if (id != null) {
+      return id;
+    }
+    synchronized (ids) {
+      id = ids.get(posTag);
+      if (id == null) {
+        if (ids.size() >= MAX_SIZE) {
+          return null;
+        }
+        id = new Id(this, ids.size());
+        ids.put(posTag, id);
+      }
+      return id;
+    }
+  }
+
+  /**
+   * @return the number of tags that have an ID
+   */
+  public int size() {
+    return ids.size();
+  }
+
+  /**
+   * The ID of a part-of-speech tag in one {@link PosTagIds} table. There's only one object per
+   * tag and table, so it can be stored with a token without allocating anything.
+   */
+  public static final class Id {
+
+    private final PosTagIds table;
+    private final int index;
+
+    private Id(PosTagIds table, int index) {
+      this.table = table;
+      this.index = index;
+    }
+
+    /** The table that assigned this ID. */
+    public PosTagIds getTable() {
+      return table;
+    }
+
+    /** The ID, between {@code 0} and the size of the table. */
+    public int getIndex() {
+      return index;
+    }
+
+    @Override
+    public String toString() {
+      return String.valueOf(index);
+    }
+  }
+
+}
@@ -30,6 +30,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Multiword tagger-chunker.
@@ -38,12 +39,13 @@ import java.util.*;
  */
 public class MultiWordChunker implements Disambiguator {
 
+  // the multiwords of a file, shared by all chunkers (and thus all languages and variants) using that file:
+  private static final Map<String, Node> multiwordTries = new ConcurrentHashMap<>();
+
   private final String filename;
   private final boolean allowFirstCapitalized;
 
-  private Map<String, Integer> mStartSpace;
-  private Map<String, Integer> mStartNoSpace;
-  private Map<String, String> mFull;
+  private volatile Node multiwords;
 
   /**
    * @param filename file text with multiwords and tags
@@ -64,16 +66,17 @@ public class MultiWordChunker implements Disambiguator {
   /*
    * Lazy init, thanks to Artur Trzewik
    */
-  private void lazyInit() {
-
-    if (mStartSpace != null) {
-      return;
+  private Node lazyInit() {
+    Node trie = multiwords;
+    if (trie == null) {
+      String key = JLanguageTool.getDataBroker().getResourceDir() + filename;
+      multiwords = trie = multiwordTries.computeIfAbsent(key, k -> loadMultiwords());
     }
+    return trie;
+  }
 
-    Map<String, Integer> mStartSpace = new HashMap<>();
-    Map<String, Integer> mStartNoSpace = new HashMap<>();
-    Map<String, String> mFull = new HashMap<>();
-
+  private Node loadMultiwords() {
+    final Node root = new Node();
     try (InputStream stream = JLanguageTool.getDataBroker().getFromResourceDirAsStream(filename)) {
       final List<String> posTokens = loadWords(stream);
       for (String posToken : posTokens) {
@@ -81,43 +84,13 @@ public class MultiWordChunker implements Disambiguator {
         if (tokenAndTag.length != 2) {
           throw new RuntimeException("Invalid format in " + filename + ": '" + posToken + "', expected two tab-separated parts");
         }
-        final boolean containsSpace = tokenAndTag[0].indexOf(' ') > 0;
-        String firstToken;
-        final String[] firstTokens;
-        if (!containsSpace) {
-          firstTokens = new String[tokenAndTag[0].length()];
-          firstToken = tokenAndTag[0].substring(0, 1);
-          for (int i = 1; i < tokenAndTag[0].length(); i++) {
-            firstTokens[i] = tokenAndTag[0].substring(i - 1, i);
-          }
-          if (mStartNoSpace.containsKey(firstToken)) {
-            if (mStartNoSpace.get(firstToken) < firstTokens.length) {
-              mStartNoSpace.put(firstToken, firstTokens.length);
-            }
-          } else {
-            mStartNoSpace.put(firstToken, firstTokens.length);
-          }
-        } else {
-          firstTokens = tokenAndTag[0].split(" ");
-          firstToken = firstTokens[0];
-
-          if (mStartSpace.containsKey(firstToken)) {
-            if (mStartSpace.get(firstToken) < firstTokens.length) {
-              mStartSpace.put(firstToken, firstTokens.length);
-            }
-          } else {
-            mStartSpace.put(firstToken, firstTokens.length);
-          }
-        }
-        mFull.put(tokenAndTag[0], tokenAndTag[1]);
+        root.add(tokenAndTag[0], tokenAndTag[1]);
       }
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
-
-    this.mStartSpace = mStartSpace;
-    this.mStartNoSpace = mStartNoSpace;
-    this.mFull = mFull;
+    root.compact();
+    return root;
   }
 
   /**
@@ -130,96 +103,58 @@ public class MultiWordChunker implements Disambiguator {
   @Override
   public final AnalyzedSentence disambiguate(final AnalyzedSentence input) {
 
-    lazyInit();
+    final Node root = lazyInit();
 
-    final AnalyzedTokenReadings[] anTokens = input.getTokens();
-    final AnalyzedTokenReadings[] output = anTokens;
+    final AnalyzedTokenReadings[] output = input.getTokens();
 
-    for (int i = 0; i < anTokens.length; i++) {
-      String tok = output[i].getToken();
-      if (tok.length()<1) {
+    for (int i = 0; i < output.length; i++) {
+      if (output[i].getToken().isEmpty() || output[i].isWhitespace()) {
         continue;
       }
-      // If the second token is not whitespace, concatenate it
-      if (i + 1 < anTokens.length && !anTokens[i+1].isWhitespace()) {
-        tok = tok + output[i + 1].getToken();
+      match(root, output, i, false);
+      // If it is a capitalized word, try again with the lowercase word:
+      if (allowFirstCapitalized && isCapitalized(output, i)) {
+        match(root, output, i, true);
       }
-      // If it is a capitalized word, the second time try with lowercase word.
-      int myCount = 0;
-      while (myCount < 2) {
-        final StringBuilder tokens = new StringBuilder();
-        int finalLen = 0;
-        if (mStartSpace.containsKey(tok)) {
-          final int len = mStartSpace.get(tok);
-          int j = i;
-          int lenCounter = 0;
-          while (j < anTokens.length) {
-            if (!anTokens[j].isWhitespace()) {
-              if (j == i && myCount == 1) {
-                tokens.append(anTokens[j].getToken().toLowerCase());
-              } else {
-                tokens.append(anTokens[j].getToken());
-              }
-              final String toks = tokens.toString();
-              if (mFull.containsKey(toks)) {
-                output[i] = prepareNewReading(toks, output[i].getToken(), output[i], false);
-                output[finalLen] = prepareNewReading(toks,
-                    anTokens[finalLen].getToken(), output[finalLen], true);
-              }
-            } else {
-              if (j > 1 && !anTokens[j-1].isWhitespace()) { //avoid multiple whitespaces
-                tokens.append(' ');
-                lenCounter++;
-              }
-              if (lenCounter == len) {
-                break;
-              }
-            }
-            j++;
-            finalLen = j;
-          } 
-        }
+    }
+    return new AnalyzedSentence(output);
+  }
 
-        if (mStartNoSpace.containsKey(tok.substring(0, 1))) {
-          int j = i;
-          while (j < anTokens.length && !anTokens[j].isWhitespace()) {
-            if (j == i && myCount == 1) {
-              tokens.append(anTokens[j].getToken().toLowerCase());
-            } else {
-              tokens.append(anTokens[j].getToken());
-            }
-            final String toks = tokens.toString();
-            if (mFull.containsKey(toks)) {
-              output[i] = prepareNewReading(toks, anTokens[i].getToken(),
-                  output[i], false);
-              output[j] = prepareNewReading(toks, anTokens[j].getToken(),
-                  output[j], true);
-            }
-            j++;
-          }
-        }
-        // If it is a capitalized word, try with lowercase word.
-        myCount++;
-        if (allowFirstCapitalized && StringTools.isCapitalizedWord(tok)
-            && myCount == 1) {
-            tok = tok.toLowerCase();
-        } else {
-          myCount = 2;
+  /**
+   * Walks the multiwords along the tokens starting at {@code start}, with whitespace
+   * between tokens matching a single space, and marks every multiword found.
+   */
+  private void match(final Node root, final AnalyzedTokenReadings[] output, final int start, final boolean lowercaseFirst) {
+    Node node = root;
+    for (int j = start; j < output.length && node != null; j++) {
+      if (output[j].isWhitespace()) {
+        if (!output[j - 1].isWhitespace()) {  //avoid multiple whitespaces
+          node = node.getChild(' ');
         }
+        continue;
+      }
+      final String token = j == start && lowercaseFirst ? output[j].getToken().toLowerCase() : output[j].getToken();
+      for (int k = 0; k < token.length() && node != null; k++) {
+        node = node.getChild(token.charAt(k));
+      }
+      if (node != null && node.multiword != null) {
+        output[start] = prepareNewReading(node, output[start].getToken(), output[start], false);
+        output[j] = prepareNewReading(node, output[j].getToken(), output[j], true);
       }
     }
-    return new AnalyzedSentence(output);
   }
 
-  private AnalyzedTokenReadings prepareNewReading(final String tokens, final String tok, final AnalyzedTokenReadings token, final boolean isLast) {
-    final StringBuilder sb = new StringBuilder();
-    sb.append('<');
-    if (isLast) {
-      sb.append('/');
+  // whether the token, together with the next one if it's not separated by whitespace, is a capitalized word
+  private boolean isCapitalized(final AnalyzedTokenReadings[] tokens, final int i) {
+    if (!StringTools.isCapitalizedWord(tokens[i].getToken())) {
+      return false;
     }
-    sb.append(mFull.get(tokens));
-    sb.append('>');
-    final AnalyzedToken tokenStart = new AnalyzedToken(tok, sb.toString(), tokens);
+    return i + 1 >= tokens.length || tokens[i + 1].isWhitespace() || !StringTools.isNotAllLowercase(tokens[i + 1].getToken());
+  }
+
+  private AnalyzedTokenReadings prepareNewReading(final Node multiword, final String tok, final AnalyzedTokenReadings token, final boolean isLast) {
+    final String posTag = isLast ? multiword.endTag : multiword.startTag;
+    final AnalyzedToken tokenStart = new AnalyzedToken(tok, posTag, multiword.multiword);
     return setAndAnnotate(token, tokenStart);
   }
 
@@ -257,4 +192,52 @@ public class MultiWordChunker implements Disambiguator {
     return lines;
   }
 
-}
\ No newline at end of file
+  /**
+   * A node of a character trie of multiwords. The trie is immutable after {@link #compact()}.
+   */
+  private static final class Node {
+
+    private static final char[] NO_CHARS = new char[0];
+    private static final Node[] NO_NODES = new Node[0];
+
+    private Map<Character, Node> childMap = new TreeMap<>();  // only used while loading
+    private char[] chars = NO_CHARS;  // sorted
+    private Node[] children = NO_NODES;
+    private String multiword;  // the multiword that ends at this node, if any
+    private String startTag;
+    private String endTag;
+
+    void add(String multiword, String tag) {
+      Node node = this;
+      for (int i = 0; i < multiword.length(); i++) {
+        node = node.childMap.computeIfAbsent(multiword.charAt(i), k -> new Node());
+      }
+      node.multiword = multiword;
+      node.startTag = "<" + tag + ">";
+      node.endTag = "</" + tag + ">";
+    }
+
+    void compact() {
+      if (childMap.isEmpty()) {
+        childMap = null;
+        return;
+      }
+      chars = new char[childMap.size()];
+      children = new Node[childMap.size()];
+      int i = 0;
+      for (Map.Entry<Character, Node> entry : childMap.entrySet()) {
+        chars[i] = entry.getKey();
+        children[i] = entry.getValue();
+        children[i].compact();
+        i++;
+      }
+      childMap = null;
+    }
+
+    Node getChild(char c) {
+      int i = Arrays.binarySearch(chars, c);
+      return i >= 0 ? children[i] : null;
+    }
+  }
+
+}
@@ -20,15 +20,18 @@
 package org.languagetool.tagging.disambiguation.rules;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.languagetool.AnalyzedSentence;
+import org.languagetool.AnalyzedToken;
+import org.languagetool.AnalyzedTokenReadings;
 import org.languagetool.JLanguageTool;
 import org.languagetool.Language;
+import org.languagetool.rules.patterns.PatternToken;
 import org.languagetool.tagging.disambiguation.Disambiguator;
+import org.languagetool.tools.StringTools;
 import org.languagetool.tools.Tools;
 import org.xml.sax.SAXException;
 
@@ -43,6 +46,7 @@ public class XmlRuleDisambiguator implements Disambiguator {
   private static final String DISAMBIGUATION_FILE = "disambiguation.xml";
 
   private final List<DisambiguationPatternRule> disambiguationRules;
+  private final List<RuleRequirements> ruleRequirements = new ArrayList<>();
 
   public XmlRuleDisambiguator(final Language language) {
     Objects.requireNonNull(language);
@@ -53,13 +57,31 @@ public class XmlRuleDisambiguator implements Disambiguator {
     } catch (Exception e) {
       throw new RuntimeException("Problems with loading disambiguation file: " + disambiguationFile, e);
     }
+    for (DisambiguationPatternRule rule : disambiguationRules) {
+      ruleRequirements.add(new RuleRequirements(rule));
+    }
   }
 
   @Override
   public AnalyzedSentence disambiguate(final AnalyzedSentence input) throws IOException {
     AnalyzedSentence sentence = input;
-    for (final DisambiguationPatternRule patternRule : disambiguationRules) {
-      sentence = patternRule.replace(sentence);
+    SentenceFeatures features = null;
+    for (int i = 0; i < disambiguationRules.size(); i++) {
+      final RuleRequirements requirements = ruleRequirements.get(i);
+      if (!requirements.isEmpty()) {
+        if (features == null) {
+          // only needs to be re-created after a rule has changed the sentence:
+          features = new SentenceFeatures(sentence);
+        }
+        if (!requirements.canMatch(features)) {
+          continue;
+        }
+      }
+      final AnalyzedSentence newSentence = disambiguationRules.get(i).replace(sentence);
+      if (newSentence != sentence) {
+        sentence = newSentence;
+        features = null;
+      }
     }
     return sentence;
   }
@@ -75,4 +97,84 @@ public class XmlRuleDisambiguator implements Disambiguator {
     return ruleLoader.getRules(Tools.getStream(filename));
   }
 
+  /**
+   * Fold the case like {@link String#equalsIgnoreCase(String)}, which {@link PatternToken} uses,
+   * does: two strings are equal ignoring case if and only if their folded forms are equal.
+   * Unlike {@link String#toLowerCase()}, this does not depend on the default locale
+   * (e.g. "I" is lowercased to a dotless "ı" in a Turkish locale).
+   */
+  static String foldCase(String str) {
+    StringBuilder sb = new StringBuilder(str.length());
+    for (int i = 0; i < str.length(); i++) {
+      sb.append(Character.toLowerCase(Character.toUpperCase(str.charAt(i))));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Words, lemmas, and POS tags that must all occur in a sentence for a rule to match.
+   * Only pattern tokens whose match cannot be avoided are considered, so that
+   * skipping a rule based on this is never wrong.
+   */
+  static class RuleRequirements {
+
+    private final Set<String> tokens = new HashSet<>();
+    private final Set<String> lemmas = new HashSet<>();
+    private final Set<String> posTags = new HashSet<>();
+
+    RuleRequirements(DisambiguationPatternRule rule) {
+      for (PatternToken patternToken : rule.getPatternTokens()) {
+        if (patternToken.getMinOccurrence() == 0 || patternToken.hasOrGroup()) {
+          continue;
+        }
+        String str = patternToken.getString();
+        if (!StringTools.isEmpty(str) && !patternToken.getNegation() && !patternToken.isRegularExpression()
+                && !patternToken.isReferenceElement()) {
+          if (patternToken.isInflected()) {
+            lemmas.add(foldCase(str));
+          } else {
+            tokens.add(foldCase(str));
+          }
+        }
+        String posTag = patternToken.getPOStag();
+        if (!StringTools.isEmpty(posTag) && !patternToken.getPOSNegation() && !patternToken.isPOStagRegularExpression()
+                && !PatternToken.UNKNOWN_TAG.equals(posTag)) {
+          posTags.add(posTag);
+        }
+      }
+    }
+
+    boolean isEmpty() {
+      return tokens.isEmpty() && lemmas.isEmpty() && posTags.isEmpty();
+    }
+
+    boolean canMatch(SentenceFeatures features) {
+      return features.tokens.containsAll(tokens) && features.lemmas.containsAll(lemmas)
+              && features.posTags.containsAll(posTags);
+    }
+  }
+
+  /**
+   * Words, lemmas, and POS tags of all readings of a sentence.
+   */
+  static class SentenceFeatures {
+
+    private final Set<String> tokens = new HashSet<>();
+    private final Set<String> lemmas = new HashSet<>();
+    private final Set<String> posTags = new HashSet<>();
+
+    SentenceFeatures(AnalyzedSentence sentence) {
+      for (AnalyzedTokenReadings tokenReadings : sentence.getTokensWithoutWhitespace()) {
+        tokens.add(foldCase(tokenReadings.getToken()));
+        for (AnalyzedToken reading : tokenReadings) {
+          tokens.add(foldCase(reading.getToken()));
+          lemmas.add(foldCase(reading.getTokenInflected()));
+          if (reading.getPOSTag() != null) {
+            posTags.add(reading.getPOSTag());
+          }
+        }
+      }
+    }
+  }
+
 }
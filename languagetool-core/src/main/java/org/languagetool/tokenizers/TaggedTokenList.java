@@ -0,0 +1,102 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tokenizers;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+import org.languagetool.AnalyzedToken;
+
+/**
+ * A list of tokens as returned by {@link Tokenizer#tokenize(String)} that also
+ * keeps the analysis a segmenter produced for each token, for languages where
+ * tokenization and tagging happen in one step (e.g. Chinese and Japanese).
+ * A {@link org.languagetool.tagging.Tagger} can take the analysis from
+ * {@link #getAnalyzedToken(int)} instead of parsing the token string again.
+ * If a token is replaced or the list is modified, the analysis of that token
+ * is dropped and the tagger has to fall back to the token string.
+ * @since 3.2
+ */
+public class TaggedTokenList extends AbstractList<String> {
+
+  private final List<String> tokens;
+  private final List<AnalyzedToken> analyzedTokens;
+
+  public TaggedTokenList() {
+    this(10);
+  }
+
+  public TaggedTokenList(int initialCapacity) {
+    tokens = new ArrayList<>(initialCapacity);
+    analyzedTokens = new ArrayList<>(initialCapacity);
+  }
+
+  /**
+   * Add a token together with its analysis.
+   */
+  public void add(String token, AnalyzedToken analyzedToken) {
+    tokens.add(token);
+    analyzedTokens.add(analyzedToken);
+    modCount++;
+  }
+
+  /**
+   * @return the analysis of the token at {@code index}, or {@code null} if there is none
+   */
+  @Nullable
+  public AnalyzedToken getAnalyzedToken(int index) {
+    return analyzedTokens.get(index);
+  }
+
+  @Override
+  public String get(int index) {
+    return tokens.get(index);
+  }
+
+  @Override
+  public int size() {
+    return tokens.size();
+  }
+
+  @Override
+  public String set(int index, String token) {
+    String old = tokens.set(index, token);
+    if (!old.equals(token)) {
+      analyzedTokens.set(index, null);
+    }
+    return old;
+  }
+
+  @Override
+  public void add(int index, String token) {
+    tokens.add(index, token);
+    analyzedTokens.add(index, null);
+    modCount++;
+  }
+
+  @Override
+  public String remove(int index) {
+    analyzedTokens.remove(index);
+    modCount++;
+    return tokens.remove(index);
+  }
+
+}
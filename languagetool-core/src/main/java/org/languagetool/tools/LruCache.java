@@ -0,0 +1,153 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tools;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe cache with a maximum number of entries that evicts the least recently
+ * used entries when full. To keep contention low with many threads, the entries are
+ * spread over several independently locked segments, so eviction is LRU per segment.
+ * Values should be immutable, as they are shared between all callers.
+ * @since 3.2
+ */
+public class LruCache<K,V> {
+
+  private static final int SEGMENTS = 16;
+
+  private final Segment<K,V>[] segments;
+  private final int maxSize;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * @param maxSize maximum number of entries, must be &gt; 0
+   */
+  @SuppressWarnings("unchecked")
+  public LruCache(int maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize must be > 0: " + maxSize);
+    }
+    this.maxSize = maxSize;
+    int segmentCount = Math.min(SEGMENTS, maxSize);
+    segments = new Segment[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      // distribute the remainder so the segment sizes add up to maxSize:
+      segments[i] = new Segment<>(maxSize / segmentCount + (i < maxSize % segmentCount ? 1 : 0));
+    }
+  }
+
+  /**
+   * @return the cached value or {@code null}
+   */
+  @Nullable
+  public V get(K key) {
+    Segment<K,V> segment = getSegment(key);
+    V value;
+    synchronized (segment) {
+      value = segment.get(key);
+    }
+    if (value == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return value;
+  }
+
+  public void put(K key, V value) {
+    Segment<K,V> segment = getSegment(key);
+    synchronized (segment) {
+      segment.put(key, value);
+    }
+  }
+
+  public void clear() {
+    for (Segment<K,V> segment : segments) {
+      synchronized (segment) {
+        segment.clear();
+      }
+    }
+  }
+
+  public int size() {
+    int size = 0;
+    for (Segment<K,V> segment : segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Number of calls to {@link #get(Object)} that found a value.
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Number of calls to {@link #get(Object)} that returned {@code null}.
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Ratio of hits to all calls of {@link #get(Object)}, {@code 0} if there were no calls yet.
+   */
+  public double getHitRate() {
+    long hitCount = hits.sum();
+    long total = hitCount + misses.sum();
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
+  private Segment<K,V> getSegment(K key) {
+    int hash = key.hashCode();
+    hash ^= hash >>> 16;
+    return segments[(hash & Integer.MAX_VALUE) % segments.length];
+  }
+
+  @Override
+  public String toString() {
+    return String.format("size=%d/%d, hits=%d, misses=%d, hitRate=%.2f", size(), maxSize, getHitCount(), getMissCount(), getHitRate());
+  }
+
+  private static class Segment<K,V> extends LinkedHashMap<K,V> {
+    private final int maxSize;
+    Segment(int maxSize) {
+      super(16, 0.75f, true);
+      this.maxSize = maxSize;
+    }
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K,V> eldest) {
+      return size() > maxSize;
+    }
+  }
+
+}
@@ -0,0 +1,73 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.databroker;
+
+import morfologik.stemming.Dictionary;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.net.URL;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+public class DictionaryRegistryTest {
+
+  @Test
+  public void testGet() {
+    URL url = DictionaryRegistryTest.class.getResource("/org/languagetool/tagging/test.dict");
+    Dictionary dict1 = DictionaryRegistry.get(url);
+    Dictionary dict2 = DictionaryRegistry.get(url);
+    assertThat(dict1, is(sameInstance(dict2)));
+    assertThat(DictionaryRegistry.isLoaded(url), is(true));
+    URL otherUrl = DictionaryRegistryTest.class.getResource("/org/languagetool/resource/xx/spelling/test.dict");
+    assertThat(DictionaryRegistry.get(otherUrl), is(not(sameInstance(dict1))));
+  }
+
+  @Test
+  public void testGetMemoryFootprint() {
+    URL url = DictionaryRegistryTest.class.getResource("/org/languagetool/tagging/test.dict");
+    Dictionary dictionary = DictionaryRegistry.get(url);
+    Map<String,Long> footprint = DictionaryRegistry.getMemoryFootprint();
+    assertThat(footprint.get(url.toExternalForm()) > 0, is(true));
+    assertThat(dictionary, is(notNullValue()));  // keep the dictionary reachable until here
+  }
+
+  @Test
+  public void testUnusedDictionaryCanBeCollected() throws InterruptedException {
+    URL url = DictionaryRegistryTest.class.getResource("/org/languagetool/resource/xx/spelling/test.dict");
+    DictionaryRegistry.get(url);
+    for (int i = 0; i < 50 && DictionaryRegistry.isLoaded(url); i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    // System.gc() is only a hint and shared spellers of other tests may still use the dictionary,
+    // so skip instead of failing if it wasn't collected:
+    Assume.assumeFalse(DictionaryRegistry.isLoaded(url));
+    assertThat(DictionaryRegistry.getMemoryFootprint().containsKey(url.toExternalForm()), is(false));
+    assertThat(DictionaryRegistry.get(url), is(notNullValue()));
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testInvalidDictionary() {
+    DictionaryRegistry.get(DictionaryRegistryTest.class.getResource("/org/languagetool/tagging/test.info"));
+  }
+
+}
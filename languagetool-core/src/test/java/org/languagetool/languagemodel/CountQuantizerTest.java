@@ -0,0 +1,84 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.languagemodel;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class CountQuantizerTest {
+
+  @Test
+  public void testQuantize() {
+    CountQuantizer quantizer8 = new CountQuantizer(8, Long.MAX_VALUE);
+    assertThat(quantizer8.quantize(0), is(0L));
+    assertThat(quantizer8.quantize(1), is(1L));
+    assertMaxError(quantizer8, 0.095);
+    CountQuantizer quantizer16 = new CountQuantizer(16, Long.MAX_VALUE);
+    assertThat(quantizer16.quantize(0), is(0L));
+    assertThat(quantizer16.quantize(1), is(1L));
+    assertThat(quantizer16.quantize(2), is(2L));
+    assertMaxError(quantizer16, 0.0005);
+  }
+
+  @Test
+  public void testMaxCount() {
+    CountQuantizer quantizer = new CountQuantizer(8, 1000);
+    assertThat(quantizer.quantize(1000), is(1000L));
+    assertThat(quantizer.quantize(5000), is(1000L));
+    assertThat(quantizer.encode(1000), is(255));
+  }
+
+  @Test
+  public void testSmallerMaxCountIsMorePrecise() {
+    CountQuantizer quantizer = new CountQuantizer(8, 1_000_000);
+    for (long count = 1; count <= 1_000_000; count = count * 3 + 1) {
+      long quantized = quantizer.quantize(count);
+      assertTrue("Error too large for " + count + ": " + quantized, Math.abs((double) quantized - count) / count <= 0.03);
+    }
+  }
+
+  @Test
+  public void testBytes() {
+    CountQuantizer quantizer8 = new CountQuantizer(8, Long.MAX_VALUE);
+    CountQuantizer quantizer16 = new CountQuantizer(16, Long.MAX_VALUE);
+    for (long count : new long[] {0, 1, 7, 300, 1_000_000, 123_456_789_012L, Long.MAX_VALUE}) {
+      assertThat(quantizer8.encodeToBytes(count).length, is(1));
+      assertThat(quantizer8.decodeFromBytes(quantizer8.encodeToBytes(count), 0), is(quantizer8.quantize(count)));
+      assertThat(quantizer16.encodeToBytes(count).length, is(2));
+      assertThat(quantizer16.decodeFromBytes(quantizer16.encodeToBytes(count), 0), is(quantizer16.quantize(count)));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidBits() {
+    new CountQuantizer(12, 1000);
+  }
+
+  private void assertMaxError(CountQuantizer quantizer, double maxRelativeError) {
+    for (long count = 1; count > 0 && count < Long.MAX_VALUE / 3; count = count * 3 + 1) {
+      long quantized = quantizer.quantize(count);
+      double error = Math.abs((double) quantized - count) / count;
+      assertTrue("Error too large for " + count + ": " + quantized, error <= maxRelativeError);
+    }
+  }
+
+}
@@ -18,19 +18,34 @@
  */
 package org.languagetool.languagemodel;
 
+import org.apache.lucene.document.*;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.store.FSDirectory;
 import org.junit.Ignore;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.languagetool.JLanguageTool;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class LuceneLanguageModelTest extends LanguageModelTest {
 
+  @Rule
+  public TemporaryFolder tempDir = new TemporaryFolder();
+
   @Test
   public void testLanguageModel() throws Exception {
     URL ngramUrl = JLanguageTool.getDataBroker().getFromResourceDirAsUrl("/yy/ngram-index");
@@ -43,6 +58,105 @@ public class LuceneLanguageModelTest extends LanguageModelTest {
     }
   }
 
+  @Test
+  public void testQuantizedLanguageModel() throws Exception {
+    File topDir = tempDir.newFolder("lt-quantized-ngrams");
+    createQuantizedIndexes(topDir, 55_000, 3);
+    try (LuceneLanguageModel model = new LuceneLanguageModel(topDir)) {
+      // each order has its own codebook up to its largest count, so the largest count is exact:
+      assertThat(model.getCount("the"), is(55_000L));
+      assertThat(model.getCount(Arrays.asList("the", "nice")), is(3L));
+      assertThat(model.getCount(Arrays.asList("the", "nice", "building")), is(0L));
+      assertThat(model.getCount("not-in-here"), is(0L));
+      assertThat(model.getTotalTokenCount(), is(55_000L));
+    }
+  }
+
+  @Test
+  public void testReload() throws Exception {
+    File v1 = tempDir.newFolder("lt-ngrams-v1");
+    File v2 = tempDir.newFolder("lt-ngrams-v2");
+    createQuantizedIndexes(v1, 55_000, 3);
+    createQuantizedIndexes(v2, 60_000, 7);
+    try (LuceneLanguageModel model = new LuceneLanguageModel(v1)) {
+      assertThat(model.getCount(Arrays.asList("the", "nice")), is(3L));
+      assertThat(model.getPseudoProbability(Arrays.asList("the", "nice")).getCoverage(), is(1.0f));
+      LuceneLanguageModel.LuceneSearcher oldSearcher = model.search(2, searcher -> searcher);
+      assertThat(model.reload(new File(v1, "../" + v1.getName())), is(false));
+      assertThat(model.reload(v2), is(true));
+      assertThat(model.getTopIndexDir(), is(v2));
+      assertThat(model.getCount(Arrays.asList("the", "nice")), is(7L));
+      assertThat(model.getTotalTokenCount(), is(60_000L));
+      assertThat(oldSearcher.getReader().getRefCount(), is(0));  // old index has been closed
+    }
+  }
+
+  @Test
+  public void testReloadWhileSearching() throws Exception {
+    File v1 = tempDir.newFolder("lt-ngrams-v1");
+    File v2 = tempDir.newFolder("lt-ngrams-v2");
+    createQuantizedIndexes(v1, 55_000, 3);
+    createQuantizedIndexes(v2, 60_000, 7);
+    try (LuceneLanguageModel model = new LuceneLanguageModel(v1)) {
+      AtomicBoolean done = new AtomicBoolean(false);
+      AtomicInteger failures = new AtomicInteger();
+      List<Thread> threads = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        Thread thread = new Thread(() -> {
+          while (!done.get()) {
+            try {
+              long count = model.getCount(Arrays.asList("the", "nice"));
+              if (count != 3 && count != 7) {
+                failures.incrementAndGet();
+              }
+            } catch (RuntimeException e) {
+              failures.incrementAndGet();
+            }
+          }
+        });
+        thread.start();
+        threads.add(thread);
+      }
+      for (int i = 0; i < 100; i++) {
+        model.reload(i % 2 == 0 ? v2 : v1);
+      }
+      done.set(true);
+      for (Thread thread : threads) {
+        thread.join();
+      }
+      assertThat(failures.get(), is(0));
+    }
+  }
+
+  private void createQuantizedIndexes(File topDir, long theCount, long theNiceCount) throws IOException {
+    createQuantizedIndex(new File(topDir, "1grams"), new CountQuantizer(8, theCount), "the", theCount);
+    createQuantizedIndex(new File(topDir, "2grams"), new CountQuantizer(8, theNiceCount), "the nice", theNiceCount);
+    createQuantizedIndex(new File(topDir, "3grams"), new CountQuantizer(8, 2), "the nice building", 0);
+  }
+
+  private void createQuantizedIndex(File dir, CountQuantizer quantizer, String ngram, long count) throws IOException {
+    try (FSDirectory directory = FSDirectory.open(dir.toPath());
+         IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(null))) {
+      Document doc = new Document();
+      doc.add(new Field("ngram", ngram, StringField.TYPE_NOT_STORED));
+      doc.add(new StoredField("qcount", quantizer.encodeToBytes(count)));
+      writer.addDocument(doc);
+      FieldType metaType = new FieldType();
+      metaType.setIndexOptions(IndexOptions.DOCS);
+      metaType.setStored(true);
+      metaType.setTokenized(false);
+      Document metaDoc = new Document();
+      metaDoc.add(new Field("quantizationBits", String.valueOf(quantizer.getBits()), metaType));
+      metaDoc.add(new StoredField("quantizationMaxCount", String.valueOf(quantizer.getMaxCount())));
+      writer.addDocument(metaDoc);
+      if (dir.getName().equals("1grams")) {
+        Document totalDoc = new Document();
+        totalDoc.add(new Field("totalTokenCount", String.valueOf(count), metaType));
+        writer.addDocument(totalDoc);
+      }
+    }
+  }
+
   /**
    * Some values for average time per lookup on 2grams on a 3.7GB Lucene 4.8.1 index with 118,941,740 docs:
    * -no data in OS cache, index on external USB disk: 17626µs = 17ms
@@ -0,0 +1,99 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules;
+
+import org.junit.Test;
+import org.languagetool.TestTools;
+import org.languagetool.rules.patterns.PatternRule;
+import org.languagetool.rules.patterns.PatternToken;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class RuleMatchTest {
+
+  private final PatternRule rule = new PatternRule("id1", TestTools.getDemoLanguage(),
+          Collections.<PatternToken>emptyList(), "desc1", "msg1", "shortMsg1");
+
+  @Test
+  public void testLazySuggestions() {
+    AtomicInteger calls = new AtomicInteger();
+    RuleMatch match = new RuleMatch(rule, 0, 5, "message");
+    match.setLazySuggestedReplacements(() -> {
+      calls.incrementAndGet();
+      return new ArrayList<>(Arrays.asList("foo", "bar"));
+    });
+    assertEquals(0, calls.get());
+    assertEquals("[foo, bar]", match.getSuggestedReplacements().toString());
+    assertEquals("[foo, bar]", match.getSuggestedReplacements().toString());
+    assertEquals(1, calls.get());
+    match.setSuggestedReplacement("blah");
+    assertEquals("[blah]", match.getSuggestedReplacements().toString());
+  }
+
+  @Test
+  public void testEagerSuggestionsReplaceLazySuggestions() {
+    RuleMatch match = new RuleMatch(rule, 0, 5, "message");
+    match.setLazySuggestedReplacements(() -> {
+      throw new RuntimeException("must not be called");
+    });
+    match.setSuggestedReplacements(Arrays.asList("foo"));
+    assertEquals("[foo]", match.getSuggestedReplacements().toString());
+  }
+
+  @Test
+  public void testEqualsDoesNotComputeLazySuggestions() {
+    RuleMatch match1 = new RuleMatch(rule, 0, 5, "message");
+    match1.setLazySuggestedReplacements(() -> {
+      throw new RuntimeException("must not be called");
+    });
+    RuleMatch match2 = new RuleMatch(rule, 0, 5, "message");
+    match2.setSuggestedReplacement("foo");
+    assertEquals(match1, match2);
+    assertEquals(match1.hashCode(), match2.hashCode());
+    assertNotEquals(match1, new RuleMatch(rule, 0, 6, "message"));
+  }
+
+  @Test
+  public void testLazySuggestionsWithThreads() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    RuleMatch match = new RuleMatch(rule, 0, 5, "message");
+    match.setLazySuggestedReplacements(() -> {
+      calls.incrementAndGet();
+      return Arrays.asList("foo");
+    });
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Callable<List<String>>> tasks = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        tasks.add(match::getSuggestedReplacements);
+      }
+      for (Future<List<String>> future : executor.invokeAll(tasks)) {
+        assertEquals("[foo]", future.get().toString());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(1, calls.get());
+  }
+
+}
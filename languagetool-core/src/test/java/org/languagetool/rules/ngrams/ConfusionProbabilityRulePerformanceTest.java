@@ -0,0 +1,66 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.ngrams;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.FakeLanguage;
+import org.languagetool.JLanguageTool;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the overhead of {@link ConfusionProbabilityRule} itself (tokenization, building
+ * the ngram contexts), not the time needed for language model lookups, which are faked.
+ */
+public class ConfusionProbabilityRulePerformanceTest {
+
+  private static final int WARMUP_RUNS = 5;
+  private static final int RUNS = 20;
+  private static final int SENTENCES = 10_000;
+
+  @Test
+  @Ignore("Interactive use only")
+  public void testPerformance() throws IOException {
+    ConfusionProbabilityRule rule = new ConfusionProbabilityRule(JLanguageTool.getMessageBundle(),
+            new ConfusionProbabilityRuleTest.FakeLanguageModel(), new FakeLanguage()) {};
+    JLanguageTool lt = new JLanguageTool(new FakeLanguage());
+    List<AnalyzedSentence> sentences = new ArrayList<>();
+    for (int i = 0; i < SENTENCES; i++) {
+      sentences.add(lt.getAnalyzedSentence("Why is there car broken again, and why are their " + i + " new ideas to explore over there?"));
+    }
+    long totalTime = 0;
+    int matchCount = 0;
+    for (int i = 0; i < WARMUP_RUNS + RUNS; i++) {
+      long startTime = System.nanoTime();
+      for (AnalyzedSentence sentence : sentences) {
+        matchCount += rule.match(sentence).length;
+      }
+      long runTime = System.nanoTime() - startTime;
+      if (i >= WARMUP_RUNS) {
+        totalTime += runTime;
+      }
+    }
+    System.out.printf("Avg. time per sentence: %.2fµs (%d matches)\n", (float)totalTime / 1000 / RUNS / SENTENCES, matchCount);
+  }
+
+}
@@ -19,6 +19,7 @@
 package org.languagetool.rules.ngrams;
 
 import org.junit.Test;
+import org.languagetool.AnalyzedSentence;
 import org.languagetool.FakeLanguage;
 import org.languagetool.JLanguageTool;
 import org.languagetool.Language;
@@ -26,14 +27,12 @@ import org.languagetool.languagemodel.LanguageModel;
 import org.languagetool.languagemodel.LuceneLanguageModel;
 import org.languagetool.rules.Rule;
 import org.languagetool.rules.RuleMatch;
+import org.languagetool.rules.TextLevelRule;
 import org.languagetool.tools.StringTools;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
@@ -60,6 +59,29 @@ public class ConfusionProbabilityRuleTest {
     assertGood("Their are new ideas to explore.", ruleWithException);
   }
 
+  @Test
+  public void testDocumentLevelRule() throws IOException {
+    CountingLanguageModel lm = new CountingLanguageModel();
+    TextLevelRule documentRule = new DocumentConfusionProbabilityRule(JLanguageTool.getMessageBundle(), new FakeRule(lm, new FakeLanguage()));
+    String text = "Their are new ideas to explore. Their are new ideas to explore. Why is there car broken again?";
+    RuleMatch[] matches = documentRule.match(lt.analyzeText(text));
+    assertThat(matches.length, is(3));
+    assertThat(matches[0].getRule(), is(documentRule));
+    assertThat(text.substring(matches[0].getFromPos(), matches[0].getToPos()), is("Their"));
+    assertThat(matches[1].getFromPos(), is(32));
+    assertThat(text.substring(matches[1].getFromPos(), matches[1].getToPos()), is("Their"));
+    assertThat(text.substring(matches[2].getFromPos(), matches[2].getToPos()), is("there"));
+    assertThat(matches[2].getSuggestedReplacements().toString(), is("[their]"));
+    // 2 words * 3 contexts for each occurrence, but the first two sentences are identical:
+    assertThat(lm.lookups, is(12));
+    lm.lookups = 0;
+    int sentenceLevelMatches = 0;
+    for (AnalyzedSentence sentence : lt.analyzeText(text)) {
+      sentenceLevelMatches += rule.match(sentence).length;
+    }
+    assertThat(sentenceLevelMatches, is(3));
+  }
+
   @Test
   public void testGetContext() throws IOException {
     List<GoogleToken> tokens = Arrays.asList(
@@ -174,6 +196,15 @@ public class ConfusionProbabilityRuleTest {
     public void close() {}
   }
 
+  private static class CountingLanguageModel extends FakeLanguageModel {
+    int lookups;
+    @Override
+    public Probability getPseudoProbability(List<String> context) {
+      lookups++;
+      return super.getPseudoProbability(context);
+    }
+  }
+
   private static class FakeRule extends ConfusionProbabilityRule {
     private FakeRule(LanguageModel languageModel, Language language) {
       super(JLanguageTool.getMessageBundle(), languageModel, language);
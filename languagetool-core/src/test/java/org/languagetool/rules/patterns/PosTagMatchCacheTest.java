@@ -0,0 +1,73 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.patterns;
+
+import org.junit.Test;
+import org.languagetool.AnalyzedToken;
+import org.languagetool.tagging.PosTagIds;
+
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+public class PosTagMatchCacheTest {
+
+  private final PosTagIds posTagIds = new PosTagIds();
+
+  @Test
+  public void testMatches() {
+    PosTagMatchCache cache = new PosTagMatchCache(Pattern.compile("N.*"));
+    for (int i = 0; i < 3; i++) {
+      assertTrue(cache.matches(token("NN", posTagIds)));
+      assertTrue(cache.matches(token("NNS", posTagIds)));
+      assertFalse(cache.matches(token("VB", posTagIds)));
+      assertFalse(cache.matches(token("xNN", posTagIds)));
+      assertTrue(cache.matches(new AnalyzedToken("foo", "NN", "foo")));  // no ID
+    }
+  }
+
+  @Test
+  public void testManyTags() {
+    PosTagMatchCache cache = new PosTagMatchCache(Pattern.compile(".*:[02468]"));
+    for (int run = 0; run < 2; run++) {
+      for (int i = 0; i < 500; i++) {
+        AnalyzedToken token = token("TAG:" + i, posTagIds);
+        assertEquals(token.getPOSTag(), i % 2 == 0 && i < 10, cache.matches(token));
+      }
+    }
+  }
+
+  @Test
+  public void testOtherTable() {
+    PosTagMatchCache cache = new PosTagMatchCache(Pattern.compile("N.*"));
+    PosTagIds otherPosTagIds = new PosTagIds();
+    for (int i = 0; i < 2; i++) {
+      // both tags have the ID 0, but in different tables:
+      assertTrue(cache.matches(token("NN", posTagIds)));
+      assertFalse(cache.matches(token("VB", otherPosTagIds)));
+    }
+  }
+
+  private AnalyzedToken token(String posTag, PosTagIds posTagIds) {
+    AnalyzedToken token = new AnalyzedToken("foo", posTag, "foo");
+    token.setPOSTagIds(posTagIds);
+    return token;
+  }
+
+}
@@ -0,0 +1,95 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.patterns;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class TokenRegexTest {
+
+  @Test
+  public void testShared() {
+    assertSame(TokenRegex.getShared("TokenRegexTest|foo"), TokenRegex.getShared("TokenRegexTest|foo"));
+    assertNotSame(TokenRegex.getShared("TokenRegexTest|foo"), TokenRegex.getShared("(?iu)TokenRegexTest|foo"));
+    assertNotSame(TokenRegex.getShared("TokenRegexTest|foo"), TokenRegex.create("TokenRegexTest|foo"));
+  }
+
+  @Test
+  public void testUnusedSharedRegexCanBeCollected() throws InterruptedException {
+    String regex = "TokenRegexTest|collected";
+    assertTrue(TokenRegex.getShared(regex).matches("collected"));
+    for (int i = 0; i < 50 && TokenRegex.isShared(regex); i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    // System.gc() is only a hint to the JVM, so don't fail if nothing has been collected:
+    Assume.assumeFalse(TokenRegex.isShared(regex));
+    assertTrue(TokenRegex.getShared(regex).matches("collected"));
+  }
+
+  @Test
+  public void testMatchesWithThreads() throws Exception {
+    TokenRegex regex = TokenRegex.getShared("TokenRegexTest|a+");
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Callable<Boolean>> tasks = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        int taskId = i;
+        tasks.add(() -> {
+          // each task tests other strings with the same shared expression:
+          for (int j = 0; j < 1000; j++) {
+            String s = j % 2 == 0 ? "aaaaaaaaaa".substring(0, (j + taskId) % 10 + 1) : "b" + taskId + "_" + j;
+            if (regex.matches(s) != (j % 2 == 0)) {
+              return false;
+            }
+          }
+          return true;
+        });
+      }
+      for (Future<Boolean> future : executor.invokeAll(tasks)) {
+        assertTrue(future.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testMatches() {
+    for (TokenRegex regex : new TokenRegex[] {TokenRegex.getShared("TokenRegexTest|fo+"), TokenRegex.create("TokenRegexTest|fo+")}) {
+      for (int run = 0; run < 2; run++) {
+        assertTrue(regex.matches("foo"));
+        assertTrue(regex.matches("TokenRegexTest"));
+        assertFalse(regex.matches("bar"));
+        assertFalse(regex.matches("Foo"));
+        assertFalse(regex.matches(""));
+        for (int i = 0; i < 100; i++) {
+          assertEquals(i % 3 == 0, regex.matches(i % 3 == 0 ? "f" + "oooooooooo".substring(0, i % 10 + 1) : "x" + i));
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,68 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+public class CompactWordSetTest {
+
+  @Test
+  public void testContains() {
+    CompactWordSet set = new CompactWordSet(Arrays.asList("foo", "bar", "Baz", "straße", "bar"), Locale.GERMAN);
+    assertEquals(4, set.size());
+    assertTrue(set.contains("foo"));
+    assertTrue(set.contains("Baz"));
+    assertTrue(set.contains("straße"));
+    assertFalse(set.contains("baz"));
+    assertFalse(set.contains("fo"));
+    assertFalse(set.contains("fooo"));
+    assertFalse(set.contains(""));
+    assertFalse(CompactWordSet.EMPTY.contains("foo"));
+  }
+
+  @Test
+  public void testContainsPrefix() {
+    CompactWordSet set = new CompactWordSet(Arrays.asList("foo", "bar"), Locale.ENGLISH);
+    assertTrue(set.contains("foo.", 3, false));
+    assertTrue(set.contains("Foo.", 3, true));
+    assertFalse(set.contains("Foo.", 3, false));
+    assertFalse(set.contains("foo.", 4, false));
+    assertFalse(set.contains("foo.", 2, false));
+  }
+
+  @Test
+  public void testContainsLowerCase() {
+    CompactWordSet set = new CompactWordSet(Arrays.asList("foo", "Bar", "straße", "οδος", "i̇stanbul"), Locale.ENGLISH);
+    assertTrue(set.contains("FOO", 3, true));
+    assertTrue(set.contains("STRAßE", 6, true));
+    assertFalse(set.contains("Bar", 3, true));
+    // these need String.toLowerCase():
+    assertTrue(set.contains("ΟΔΟΣ", 4, true));
+    assertTrue(set.contains("İstanbul", 8, true));
+    CompactWordSet turkishSet = new CompactWordSet(Arrays.asList("istanbul", "ıi"), new Locale("tr"));
+    assertTrue(turkishSet.contains("İstanbul", 8, true));
+    assertTrue(turkishSet.contains("Iİ", 2, true));
+  }
+
+}
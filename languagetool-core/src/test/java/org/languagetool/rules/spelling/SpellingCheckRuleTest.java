@@ -0,0 +1,107 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling;
+
+import org.junit.Test;
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.TestTools;
+import org.languagetool.rules.RuleMatch;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SpellingCheckRuleTest {
+
+  @Test
+  public void testCachedSuggestions() {
+    AtomicInteger calls = new AtomicInteger();
+    FakeSpellingRule rule1 = new FakeSpellingRule(TestTools.getDemoLanguage(), "FAKE_SPELLING_RULE_1");
+    FakeSpellingRule rule2 = new FakeSpellingRule(TestTools.getDemoLanguage(), "FAKE_SPELLING_RULE_1");
+    FakeSpellingRule otherRule = new FakeSpellingRule(TestTools.getDemoLanguage(), "FAKE_SPELLING_RULE_2");
+    List<String> suggestions = rule1.getCachedSuggestions("foo", word -> {
+      calls.incrementAndGet();
+      return Arrays.asList(word + "1", word + "2");
+    });
+    assertEquals("[foo1, foo2]", suggestions.toString());
+    // a rule with the same configuration uses the same cache:
+    assertEquals("[foo1, foo2]", rule2.getCachedSuggestions("foo", word -> {
+      calls.incrementAndGet();
+      return Arrays.asList("wrong");
+    }).toString());
+    assertEquals(1, calls.get());
+    assertEquals(0.5, rule2.getSuggestionCacheHitRate(), 0.001);
+    // a rule with a different configuration does not:
+    assertEquals("[other]", otherRule.getCachedSuggestions("foo", word -> Arrays.asList("other")).toString());
+    try {
+      suggestions.add("bar");
+      fail("cached suggestions must not be modifiable");
+    } catch (UnsupportedOperationException expected) {}
+  }
+
+  @Test
+  public void testIgnoreAndProhibitWords() throws Exception {
+    FakeSpellingRule rule = new FakeSpellingRule(TestTools.getDemoLanguage(), "FAKE_SPELLING_RULE_1");
+    rule.init();
+    assertTrue(rule.ignoreWord("foobar"));
+    assertTrue(rule.ignoreWord("foobar."));
+    assertTrue(rule.ignoreWord("St."));
+    assertFalse(rule.ignoreWord("Foobar"));
+    assertFalse(rule.ignoreWord("foobaz"));
+    rule.setConvertsCase(true);
+    assertTrue(rule.ignoreWord("Foobar"));
+    assertTrue(rule.ignoreWord("FOOBAR."));
+    assertFalse(rule.ignoreWord("foobaz"));
+    assertTrue(rule.isProhibited("badword"));
+    assertFalse(rule.isProhibited("foobar"));
+    // tokens added at runtime only apply to this instance:
+    rule.addIgnoreTokens(Arrays.asList("runtimeword"));
+    assertTrue(rule.ignoreWord("runtimeword."));
+    assertTrue(rule.ignoreWord("RuntimeWord"));
+    FakeSpellingRule otherRule = new FakeSpellingRule(TestTools.getDemoLanguage(), "FAKE_SPELLING_RULE_1");
+    otherRule.init();
+    assertTrue(otherRule.ignoreWord("foobar"));
+    assertFalse(otherRule.ignoreWord("runtimeword"));
+  }
+
+  static class FakeSpellingRule extends SpellingCheckRule {
+    private final String id;
+    FakeSpellingRule(Language language, String id) {
+      super(JLanguageTool.getMessageBundle(), language);
+      this.id = id;
+    }
+    @Override
+    public String getId() {
+      return id;
+    }
+    @Override
+    public String getDescription() {
+      return "fake spelling rule";
+    }
+    @Override
+    public RuleMatch[] match(AnalyzedSentence sentence) {
+      return new RuleMatch[0];
+    }
+  }
+
+}
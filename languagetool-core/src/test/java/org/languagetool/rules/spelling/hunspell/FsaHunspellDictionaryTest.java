@@ -0,0 +1,140 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling.hunspell;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+public class FsaHunspellDictionaryTest {
+
+  @Rule
+  public TemporaryFolder cacheDir = new TemporaryFolder();
+
+  private String baseName;
+  private FsaHunspellDictionary dictionary;
+
+  @Before
+  public void setUp() throws Exception {
+    File dic = new File(FsaHunspellDictionaryTest.class.getResource("/org/languagetool/resource/xx/hunspell/xx_XX.dic").toURI());
+    baseName = dic.getAbsolutePath().replaceFirst("\\.dic$", "");
+    dictionary = new FsaHunspellDictionary(baseName, cacheDir.getRoot());
+  }
+
+  @Test
+  public void testAffixes() {
+    assertCorrect("boy", "boys", "fly", "flies", "unfly", "unflies", "mark", "marked", "markedly", "unmark", "house");
+    assertMisspelled("boies", "flys", "houses", "unmarked", "unmarkedly", "unhouse");
+  }
+
+  @Test
+  public void testFlags() {
+    assertCorrect("NASA", "rooted", "gemacht", "mach", "secret");
+    assertMisspelled("Nasa", "nasa", "wrongword", "Wrongword", "root", "gemach", "macht");
+  }
+
+  @Test
+  public void testCase() {
+    assertCorrect("Boy", "BOYS", "Unflies", "L'homme", "L'HOMME");
+    assertMisspelled("bOy", "BoYs");
+  }
+
+  @Test
+  public void testSpecialWords() throws IOException {
+    assertCorrect("l’homme", "12.5", "1,000", "boy-fly", "boy.", "house...", "");
+    assertMisspelled("boy-flys", "-");
+    assertMisspelled("LanguageTool");
+    dictionary.addWord("LanguageTool");
+    assertCorrect("LanguageTool");
+  }
+
+  @Test
+  public void testSuggest() throws IOException {
+    assertThat(dictionary.suggest("boyz"), hasItem("boys"));
+    assertThat(dictionary.suggest("Boyz"), hasItem("Boys"));
+    assertThat(dictionary.suggest("BOYZ"), hasItem("BOYS"));
+    assertThat(dictionary.suggest("l’homm"), hasItem("l’homme"));
+    assertThat(dictionary.suggest("secrets"), not(hasItem("secret")));
+    assertThat(dictionary.suggest("wrongwords"), not(hasItem("wrongword")));
+  }
+
+  @Test
+  public void testBatchCheck() {
+    boolean[] misspelled = dictionary.misspelled(Arrays.asList("boys", "boies", "house"));
+    assertFalse(misspelled[0]);
+    assertTrue(misspelled[1]);
+    assertFalse(misspelled[2]);
+  }
+
+  @Test
+  public void testCache() throws IOException {
+    File[] cacheFiles = cacheDir.getRoot().listFiles();
+    assertThat(cacheFiles.length, is(1));
+    long lastModified = cacheFiles[0].lastModified();
+    FsaHunspellDictionary cachedDictionary = new FsaHunspellDictionary(baseName, cacheDir.getRoot());
+    assertFalse(cachedDictionary.misspelled("flies"));
+    assertTrue(cachedDictionary.misspelled("flys"));
+    assertTrue(cachedDictionary.misspelled("Nasa"));
+    assertThat(cacheDir.getRoot().listFiles()[0].lastModified(), is(lastModified));
+  }
+
+  @Test
+  public void testCacheWritableByOthersIsIgnored() throws IOException {
+    Path cacheFile = cacheDir.getRoot().listFiles()[0].toPath();
+    Assume.assumeNotNull(Files.getFileAttributeView(cacheFile, PosixFileAttributeView.class));
+    assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(cacheFile)), is("rw-------"));
+    Files.setPosixFilePermissions(cacheFile, PosixFilePermissions.fromString("rw-rw-rw-"));
+    FsaHunspellDictionary cachedDictionary = new FsaHunspellDictionary(baseName, cacheDir.getRoot());
+    assertFalse(cachedDictionary.misspelled("flies"));
+    // the cache file was created again:
+    assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(cacheFile)), is("rw-------"));
+  }
+
+  @Test(expected = FileNotFoundException.class)
+  public void testMissingFiles() throws IOException {
+    new FsaHunspellDictionary(baseName + "-no-such-file", cacheDir.getRoot());
+  }
+
+  private void assertCorrect(String... words) {
+    for (String word : words) {
+      assertFalse("Expected '" + word + "' to be correct", dictionary.misspelled(word));
+    }
+  }
+
+  private void assertMisspelled(String... words) {
+    for (String word : words) {
+      assertTrue("Expected '" + word + "' to be misspelled", dictionary.misspelled(word));
+    }
+  }
+
+}
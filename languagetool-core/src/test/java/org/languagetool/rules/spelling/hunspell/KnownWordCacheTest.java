@@ -0,0 +1,84 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling.hunspell;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+public class KnownWordCacheTest {
+
+  @Test
+  public void testAdmission() {
+    KnownWordCache cache = new KnownWordCache(16);
+    assertFalse(cache.contains("house"));
+    cache.add("house");
+    assertFalse(cache.contains("house"));  // seen only once
+    cache.add("house");
+    assertTrue(cache.contains("house"));
+    assertFalse(cache.contains("mouse"));
+    assertThat(cache.size(), is(1));
+  }
+
+  @Test
+  public void testBounded() {
+    KnownWordCache cache = new KnownWordCache(100);
+    for (int i = 0; i < 10_000; i++) {
+      cache.add("word" + i);
+      cache.add("word" + i);
+    }
+    assertTrue(cache.size() <= 128);
+  }
+
+  @Test
+  public void testFrequentWordsAreKept() {
+    KnownWordCache cache = new KnownWordCache(64);
+    for (int i = 0; i < 10; i++) {
+      cache.add("the");
+    }
+    for (int i = 0; i < 100; i++) {
+      cache.add("rare" + i);
+      cache.add("rare" + i);
+    }
+    assertTrue(cache.contains("the"));
+  }
+
+  @Test
+  public void testFrequentWordsSurviveAging() {
+    KnownWordCache cache = new KnownWordCache(16);
+    // use the cache like Hunspell does: add a word only if it's not found
+    for (int i = 0; i < 10_000; i++) {
+      for (String word : new String[] {"the", "rare" + i, "rare" + i}) {
+        if (!cache.contains(word)) {
+          cache.add(word);
+        }
+      }
+      if (i > 10) {
+        assertTrue("'the' replaced after " + i + " rare words", cache.contains("the"));
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSize() {
+    new KnownWordCache(1);
+  }
+
+}
@@ -61,6 +61,16 @@ public class MorfologikMultiSpellerTest {
     assertThat(speller.getSuggestions("Häusers").toString(), is("[Häuser]"));
   }
 
+  @Test
+  public void testGetInstance() throws IOException {
+    MorfologikMultiSpeller speller1 = MorfologikMultiSpeller.getInstance("/xx/spelling/test.dict", "/xx/spelling/test2.txt", 1);
+    assertSame(speller1, MorfologikMultiSpeller.getInstance("/xx/spelling/test.dict", "/xx/spelling/test2.txt", 1));
+    MorfologikMultiSpeller speller2 = MorfologikMultiSpeller.getInstance("/xx/spelling/test.dict", "/xx/spelling/test2.txt", 2);
+    assertNotSame(speller1, speller2);
+    assertFalse(speller2.isMisspelled("wordthree"));
+    assertThat(speller2.getSuggestions("Abdd").toString(), is("[Abc]"));
+  }
+
   @Test(expected = RuntimeException.class)
   public void testInvalidFileName() throws IOException {
     new MorfologikMultiSpeller("/xx/spelling/test.dict.README", "/xx/spelling/test2.txt", 1);
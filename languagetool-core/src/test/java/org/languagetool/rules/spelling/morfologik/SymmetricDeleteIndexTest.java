@@ -0,0 +1,118 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling.morfologik;
+
+import morfologik.fsa.CFSA2Serializer;
+import morfologik.fsa.FSA;
+import morfologik.fsa.FSABuilder;
+import morfologik.stemming.Dictionary;
+import org.junit.Test;
+import org.languagetool.JLanguageTool;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.*;
+
+public class SymmetricDeleteIndexTest {
+
+  @Test
+  public void testGetSuggestions() throws IOException {
+    List<String> words = Arrays.asList("house+C", "mouse+A", "horse+B", "houses", "hose", "garage+Z", "international");
+    SymmetricDeleteIndex index = createIndex(words, 2, 7);
+    assertThat(index.getMaxDistance(), is(2));
+    // same distance, so ordered by frequency, then alphabetically:
+    assertThat(index.getSuggestions("house", 1).toString(), is("[horse, mouse, hose, houses]"));
+    assertThat(index.getSuggestions("hosue", 1).toString(), is("[house, hose]"));
+    assertThat(index.getSuggestions("hosue", 2).toString(), is("[house, hose, horse, mouse, houses]"));
+    assertThat(index.getSuggestions("garrage", 1).toString(), is("[garage]"));
+    assertThat(index.getSuggestions("gxrrage", 1).toString(), is("[]"));
+    assertThat(index.getSuggestions("internatoinal", 2).toString(), is("[international]"));
+    assertThat(index.getSuggestions("xyz", 2).toString(), is("[]"));
+  }
+
+  @Test
+  public void testSameSuggestionsAsSpeller() throws IOException {
+    Dictionary dictionary = JLanguageTool.getDataBroker().getDictionaryFromResourceDir("/xx/spelling/test.dict");
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    SymmetricDeleteIndex.write(dictionary, 2, 7, out);
+    SymmetricDeleteIndex index = new SymmetricDeleteIndex(ByteBuffer.wrap(out.toByteArray()));
+    MorfologikSpeller speller = new MorfologikSpeller(dictionary, 2);
+    MorfologikSpeller indexSpeller = new MorfologikSpeller(dictionary, 2, index);
+    for (String word : Arrays.asList("wordone", "wordonex", "wordonix", "wordoxix", "Wordonix", "wrodtwo")) {
+      assertThat(word, indexSpeller.getSuggestions(word), is(speller.getSuggestions(word)));
+    }
+  }
+
+  @Test
+  public void testCapitalizedAndUppercaseWords() throws IOException {
+    // "Hou" is closer to "Hous" than "house" if case is not ignored:
+    Dictionary dictionary = createDictionary("house", "Hou");
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    SymmetricDeleteIndex.write(dictionary, 2, 7, out);
+    SymmetricDeleteIndex index = new SymmetricDeleteIndex(ByteBuffer.wrap(out.toByteArray()));
+    MorfologikSpeller indexSpeller = new MorfologikSpeller(dictionary, 2, index);
+    assertThat(indexSpeller.getSuggestions("hous").toString(), is("[house, Hou]"));
+    assertThat(indexSpeller.getSuggestions("Hous").toString(), is("[House, Hou]"));
+    assertThat(indexSpeller.getSuggestions("HOUS").toString(), is("[House, Hou]"));
+  }
+
+  @Test
+  public void testDistance() {
+    assertThat(SymmetricDeleteIndex.getDistance("house", "house", 2), is(0));
+    assertThat(SymmetricDeleteIndex.getDistance("house", "hosue", 2), is(1));
+    assertThat(SymmetricDeleteIndex.getDistance("house", "mouse", 2), is(1));
+    assertThat(SymmetricDeleteIndex.getDistance("house", "hose", 2), is(1));
+    assertThat(SymmetricDeleteIndex.getDistance("house", "houses", 2), is(1));
+    assertThat(SymmetricDeleteIndex.getDistance("house", "mosue", 2), is(2));
+    assertThat(SymmetricDeleteIndex.getDistance("house", "garage", 2), is(3));
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testInvalidData() {
+    new SymmetricDeleteIndex(ByteBuffer.wrap(new byte[64]));
+  }
+
+  private Dictionary createDictionary(String... words) throws IOException {
+    List<byte[]> entries = new ArrayList<>();
+    for (String word : words) {
+      entries.add(word.getBytes(StandardCharsets.UTF_8));
+    }
+    Collections.sort(entries, FSABuilder.LEXICAL_ORDERING);
+    FSA fsa = FSABuilder.build(entries);
+    byte[] automaton = new CFSA2Serializer().serialize(fsa, new ByteArrayOutputStream()).toByteArray();
+    String info = "fsa.dict.separator=+\nfsa.dict.encoding=utf-8\nfsa.dict.speller.locale=en\n";
+    return Dictionary.readAndClose(new ByteArrayInputStream(automaton), new ByteArrayInputStream(info.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private SymmetricDeleteIndex createIndex(List<String> words, int maxDistance, int prefixLength) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    SymmetricDeleteIndex.write(words, '+', maxDistance, prefixLength, out);
+    return new SymmetricDeleteIndex(ByteBuffer.wrap(out.toByteArray()));
+  }
+
+}
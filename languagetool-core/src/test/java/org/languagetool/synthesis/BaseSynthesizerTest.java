@@ -0,0 +1,77 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.synthesis;
+
+import org.junit.Test;
+import org.languagetool.AnalyzedToken;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BaseSynthesizerTest {
+
+  @Test
+  public void testRegExpSynthesis() throws IOException {
+    String data =
+      "Form1\tlemma\tVB:PRS\n" +
+      "Form2\tlemma\tNN:SG\n" +
+      "Form3\tlemma\tVB:PST\n" +
+      "Form4\tlemma\tNN:PL\n" +
+      "Form5\tlemma\tNNP\n";
+    ManualSynthesizer manualSynthesizer = new ManualSynthesizer(new ByteArrayInputStream(data.getBytes("UTF-8")));
+    BaseSynthesizer synthesizer = new ManualSynthesizerAdapter(manualSynthesizer);
+    AnalyzedToken token = new AnalyzedToken("lemma", null, "lemma");
+    assertThat(synth(synthesizer, token, "VB:.*"), is("[Form1, Form3]"));
+    assertThat(synth(synthesizer, token, "NN(:SG|P)"), is("[Form2, Form5]"));
+    assertThat(synth(synthesizer, token, "NN:PL|VB:PRS"), is("[Form1, Form4]"));
+    assertThat(synth(synthesizer, token, "NNP?"), is("[Form5]"));
+    assertThat(synth(synthesizer, token, "XX.*"), is("[]"));
+    // cached:
+    assertThat(synth(synthesizer, token, "VB:.*"), is("[Form1, Form3]"));
+    assertThat(synthesizer.getMatchingTags("VB:.*").size(), is(2));
+  }
+
+  private String synth(BaseSynthesizer synthesizer, AnalyzedToken token, String posTagRegExp) throws IOException {
+    String[] forms = synthesizer.synthesize(token, posTagRegExp, true);
+    Arrays.sort(forms);  // the order of tags in ManualSynthesizer is not defined
+    return Arrays.toString(forms);
+  }
+
+  @Test
+  public void testLiteralPrefix() {
+    assertThat(BaseSynthesizer.TagIndex.getLiteralPrefix("NN"), is("NN"));
+    assertThat(BaseSynthesizer.TagIndex.getLiteralPrefix("NN.*"), is("NN"));
+    assertThat(BaseSynthesizer.TagIndex.getLiteralPrefix("NN(S|P)"), is("NN"));
+    assertThat(BaseSynthesizer.TagIndex.getLiteralPrefix("NNS?"), is("NN"));
+    assertThat(BaseSynthesizer.TagIndex.getLiteralPrefix("NNS*"), is("NN"));
+    assertThat(BaseSynthesizer.TagIndex.getLiteralPrefix("NNS{0,1}"), is("NN"));
+    assertThat(BaseSynthesizer.TagIndex.getLiteralPrefix("NNS+"), is("NNS"));
+    assertThat(BaseSynthesizer.TagIndex.getLiteralPrefix("N?"), is(""));
+    assertThat(BaseSynthesizer.TagIndex.getLiteralPrefix("NN|VB"), is(""));
+    assertThat(BaseSynthesizer.TagIndex.getLiteralPrefix("NN[|]"), is("NN"));
+    assertThat(BaseSynthesizer.TagIndex.getLiteralPrefix("NN\\|VB"), is("NN"));
+    assertThat(BaseSynthesizer.TagIndex.getLiteralPrefix("(?i)nn"), is(""));
+    assertThat(BaseSynthesizer.TagIndex.getLiteralPrefix(".*"), is(""));
+  }
+
+}
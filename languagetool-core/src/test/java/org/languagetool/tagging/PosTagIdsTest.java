@@ -0,0 +1,48 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tagging;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PosTagIdsTest {
+
+  @Test
+  public void testGetId() {
+    PosTagIds ids = new PosTagIds();
+    PosTagIds.Id id = ids.getId("NN");
+    assertEquals(0, id.getIndex());
+    assertSame(ids, id.getTable());
+    assertSame(id, ids.getId(new String("NN")));
+    assertEquals(1, ids.getId("VB").getIndex());
+    assertNull(ids.getId(null));
+    assertEquals(2, ids.size());
+  }
+
+  @Test
+  public void testTablesAreIndependent() {
+    PosTagIds ids1 = new PosTagIds();
+    PosTagIds ids2 = new PosTagIds();
+    ids1.getId("NN");
+    assertEquals(0, ids2.getId("VB").getIndex());
+    assertNotSame(ids1.getId("VB"), ids2.getId("VB"));
+  }
+
+}
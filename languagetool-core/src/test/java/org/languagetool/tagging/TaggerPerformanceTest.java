@@ -0,0 +1,70 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tagging;
+
+import org.languagetool.tokenizers.Tokenizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Measures how tokenizing and tagging text scales with the number of threads,
+ * for languages whose tokenizer and tagger are shared between threads (e.g. Chinese, Japanese).
+ */
+public class TaggerPerformanceTest {
+
+  private static final int WARMUP_RUNS = 3;
+  private static final int RUNS = 5;
+  private static final int SENTENCES_PER_THREAD = 2_000;
+  private static final int[] THREAD_COUNTS = {1, 2, 4, 8};
+
+  protected void testPerformance(Tokenizer tokenizer, Tagger tagger, String... sentences) throws Exception {
+    for (int threads : THREAD_COUNTS) {
+      ExecutorService executor = Executors.newFixedThreadPool(threads);
+      try {
+        long bestTime = Long.MAX_VALUE;
+        for (int run = 0; run < WARMUP_RUNS + RUNS; run++) {
+          List<Callable<Void>> tasks = new ArrayList<>();
+          for (int t = 0; t < threads; t++) {
+            tasks.add(() -> {
+              for (int i = 0; i < SENTENCES_PER_THREAD; i++) {
+                tagger.tag(tokenizer.tokenize(sentences[i % sentences.length]));
+              }
+              return null;
+            });
+          }
+          long startTime = System.nanoTime();
+          for (Future<Void> future : executor.invokeAll(tasks)) {
+            future.get();
+          }
+          long runTime = System.nanoTime() - startTime;
+          if (run >= WARMUP_RUNS) {
+            bestTime = Math.min(bestTime, runTime);
+          }
+        }
+        long sentencesPerSecond = (long) threads * SENTENCES_PER_THREAD * 1_000_000_000L / bestTime;
+        System.out.printf("%d thread(s): %,d sentences/s\n", threads, sentencesPerSecond);
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+  }
+
+}
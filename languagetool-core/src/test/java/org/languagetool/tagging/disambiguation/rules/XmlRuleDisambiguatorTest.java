@@ -0,0 +1,100 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tagging.disambiguation.rules;
+
+import org.junit.Test;
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.AnalyzedToken;
+import org.languagetool.AnalyzedTokenReadings;
+import org.languagetool.language.Demo;
+import org.languagetool.rules.patterns.PatternToken;
+import org.languagetool.rules.patterns.PatternTokenBuilder;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class XmlRuleDisambiguatorTest {
+
+  private final XmlRuleDisambiguator.SentenceFeatures features = new XmlRuleDisambiguator.SentenceFeatures(
+      new AnalyzedSentence(new AnalyzedTokenReadings[] {
+          new AnalyzedTokenReadings(new AnalyzedToken("", "SENT_START", null), 0),
+          new AnalyzedTokenReadings(Arrays.asList(new AnalyzedToken("Houses", "NNS", "house"),
+                                                  new AnalyzedToken("Houses", "VBZ", "house")), 0),
+          new AnalyzedTokenReadings(new AnalyzedToken(" ", null, null), 6),
+          new AnalyzedTokenReadings(new AnalyzedToken("fall", "VBP", "fall"), 7)
+      }));
+
+  @Test
+  public void testRequirements() {
+    assertTrue(canMatch(new PatternTokenBuilder().token("houses").build()));
+    assertTrue(canMatch(new PatternTokenBuilder().token("Houses").build(), new PatternTokenBuilder().token("fall").build()));
+    assertFalse(canMatch(new PatternTokenBuilder().token("Houses").build(), new PatternTokenBuilder().token("falls").build()));
+    assertTrue(canMatch(new PatternTokenBuilder().pos("VBZ").build()));
+    assertFalse(canMatch(new PatternTokenBuilder().pos("NN").build()));
+    assertTrue(canMatch(new PatternTokenBuilder().posRegex("NN").build()));  // regular expressions are not checked
+    assertTrue(canMatch(new PatternTokenBuilder().tokenRegex("xyz").build()));
+    PatternToken inflected = new PatternToken("house", false, false, true);
+    assertTrue(canMatch(inflected));
+    PatternToken inflectedMissing = new PatternToken("tree", false, false, true);
+    assertFalse(canMatch(inflectedMissing));
+    PatternToken optional = new PatternTokenBuilder().token("tree").build();
+    optional.setMinOccurrence(0);
+    assertTrue(canMatch(optional));
+  }
+
+  @Test
+  public void testRequirementsIgnoreDefaultLocale() {
+    Locale defaultLocale = Locale.getDefault();
+    try {
+      Locale.setDefault(new Locale("tr"));
+      XmlRuleDisambiguator.SentenceFeatures turkishFeatures = new XmlRuleDisambiguator.SentenceFeatures(
+          new AnalyzedSentence(new AnalyzedTokenReadings[] {
+              new AnalyzedTokenReadings(new AnalyzedToken("", "SENT_START", null), 0),
+              new AnalyzedTokenReadings(new AnalyzedToken("Istanbul", "NNP", "Istanbul"), 0)
+          }));
+      assertTrue(canMatch(turkishFeatures, new PatternTokenBuilder().token("istanbul").build()));
+      assertTrue(canMatch(turkishFeatures, new PatternTokenBuilder().token("ISTANBUL").build()));
+      assertTrue(canMatch(turkishFeatures, new PatternToken("istanbul", false, false, true)));
+    } finally {
+      Locale.setDefault(defaultLocale);
+    }
+  }
+
+  @Test
+  public void testFoldCase() {
+    assertEquals(XmlRuleDisambiguator.foldCase("istanbul"), XmlRuleDisambiguator.foldCase("Istanbul"));
+    assertEquals(XmlRuleDisambiguator.foldCase("STRASSE"), XmlRuleDisambiguator.foldCase("strasse"));
+    assertFalse(XmlRuleDisambiguator.foldCase("straße").equals(XmlRuleDisambiguator.foldCase("strasse")));
+  }
+
+  private boolean canMatch(PatternToken... patternTokens) {
+    return canMatch(features, patternTokens);
+  }
+
+  private boolean canMatch(XmlRuleDisambiguator.SentenceFeatures features, PatternToken... patternTokens) {
+    DisambiguationPatternRule rule = new DisambiguationPatternRule("ID", "desc", new Demo(), Arrays.asList(patternTokens),
+        null, null, DisambiguationPatternRule.DisambiguatorAction.IMMUNIZE);
+    return new XmlRuleDisambiguator.RuleRequirements(rule).canMatch(features);
+  }
+
+}
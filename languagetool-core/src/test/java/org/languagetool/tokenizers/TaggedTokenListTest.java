@@ -0,0 +1,55 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tokenizers;
+
+import org.junit.Test;
+import org.languagetool.AnalyzedToken;
+
+import static org.junit.Assert.*;
+
+public class TaggedTokenListTest {
+
+  @Test
+  public void testAnalyzedTokens() {
+    TaggedTokenList list = new TaggedTokenList();
+    list.add("foo/n", new AnalyzedToken("foo", "n", null));
+    list.add("bar/v", new AnalyzedToken("bar", "v", null));
+    assertEquals("[foo/n, bar/v]", list.toString());
+    assertEquals("foo", list.getAnalyzedToken(0).getToken());
+    assertEquals("v", list.getAnalyzedToken(1).getPOSTag());
+  }
+
+  @Test
+  public void testModification() {
+    TaggedTokenList list = new TaggedTokenList();
+    list.add("foo/n", new AnalyzedToken("foo", "n", null));
+    list.add("bar/v", new AnalyzedToken("bar", "v", null));
+    list.set(0, "foo/n");
+    assertNotNull(list.getAnalyzedToken(0));
+    list.set(0, "fox/n");
+    assertNull(list.getAnalyzedToken(0));
+    list.add(0, "x/w");
+    assertNull(list.getAnalyzedToken(0));
+    assertEquals("bar", list.getAnalyzedToken(2).getToken());
+    list.remove(0);
+    assertEquals("[fox/n, bar/v]", list.toString());
+    assertEquals("bar", list.getAnalyzedToken(1).getToken());
+  }
+
+}
@@ -0,0 +1,67 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tools;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class LruCacheTest {
+
+  @Test
+  public void testCache() {
+    LruCache<String,String> cache = new LruCache<>(100);
+    assertThat(cache.get("a"), is(nullValue()));
+    cache.put("a", "A");
+    assertThat(cache.get("a"), is("A"));
+    assertThat(cache.getHitCount(), is(1L));
+    assertThat(cache.getMissCount(), is(1L));
+    assertThat(cache.getHitRate(), is(0.5));
+    cache.clear();
+    assertThat(cache.size(), is(0));
+  }
+
+  @Test
+  public void testEviction() {
+    LruCache<Integer,Integer> cache = new LruCache<>(50);
+    for (int i = 0; i < 1000; i++) {
+      cache.put(i, i);
+    }
+    assertThat(cache.size(), is(50));
+    assertThat(cache.get(999), is(999));
+    assertThat(cache.get(0), is(nullValue()));
+  }
+
+  @Test
+  public void testSmallCache() {
+    LruCache<Integer,Integer> cache = new LruCache<>(1);
+    cache.put(1, 1);
+    cache.put(2, 2);
+    assertThat(cache.size(), is(1));
+    assertThat(cache.get(2), is(2));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSize() {
+    new LruCache<String,String>(0);
+  }
+
+}
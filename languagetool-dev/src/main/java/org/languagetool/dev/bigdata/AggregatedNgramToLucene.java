@@ -25,26 +25,65 @@ import org.apache.lucene.index.*;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.languagetool.languagemodel.CountQuantizer;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Indexing the result of {@link CommonCrawlNGramJob} with Lucene.
+ * Indexing the result of {@link CommonCrawlNGramJob} with Lucene. Input files
+ * can be read and indexed by several threads, which share one {@link IndexWriter} per ngram order.
  * @since 3.2
  */
 class AggregatedNgramToLucene implements AutoCloseable {
 
   private final Map<Integer, LuceneIndex> indexes = new HashMap<>();
-  
-  private long totalTokenCount = 0;
-  private long lineCount = 0;
+  private final AtomicLong totalTokenCount = new AtomicLong(0);
+  private final AtomicLong lineCount = new AtomicLong(0);
+  private final long startTime = System.nanoTime();
 
   AggregatedNgramToLucene(File indexTopDir) throws IOException {
-    indexes.put(1, new LuceneIndex(new File(indexTopDir, "1grams")));
-    indexes.put(2, new LuceneIndex(new File(indexTopDir, "2grams")));
-    indexes.put(3, new LuceneIndex(new File(indexTopDir, "3grams")));
+    this(indexTopDir, IndexWriterConfig.DEFAULT_RAM_BUFFER_SIZE_MB, null);
+  }
+
+  /**
+   * @param quantizers if not {@code null}, store quantized counts instead of exact ones, using
+   *                   the quantizer of each ngram order (see {@link #getQuantizers(List, int)})
+   */
+  AggregatedNgramToLucene(File indexTopDir, double ramBufferMB, @Nullable Map<Integer, CountQuantizer> quantizers) throws IOException {
+    for (int order = 1; order <= 3; order++) {
+      CountQuantizer quantizer = quantizers != null ? quantizers.get(order) : null;
+      indexes.put(order, new LuceneIndex(new File(indexTopDir, order + "grams"), ramBufferMB, quantizer));
+    }
+  }
+
+  /**
+   * Read the files to get the largest count of each ngram order and return a quantizer
+   * per order whose codes are spread up to that count.
+   */
+  static Map<Integer, CountQuantizer> getQuantizers(List<File> files, int bits) throws IOException {
+    Map<Integer, Long> maxCounts = new HashMap<>();
+    for (File file : files) {
+      System.out.println("Getting the largest counts of " + file);
+      try (Scanner scanner = new Scanner(file)) {
+        while (scanner.hasNextLine()) {
+          String[] lineParts = scanner.nextLine().split("\t");
+          if (lineParts.length == 2) {
+            int order = lineParts[0].split(" ").length;
+            maxCounts.merge(order, Long.parseLong(lineParts[1]), Math::max);
+          }
+        }
+      }
+    }
+    Map<Integer, CountQuantizer> quantizers = new HashMap<>();
+    for (Map.Entry<Integer, Long> entry : maxCounts.entrySet()) {
+      quantizers.put(entry.getKey(), new CountQuantizer(bits, Math.max(2, entry.getValue())));
+    }
+    return quantizers;
   }
   
   @Override
@@ -54,7 +93,31 @@ class AggregatedNgramToLucene implements AutoCloseable {
     }
   }
 
+  /**
+   * Index the files using {@code threads} threads, each thread reading a different file.
+   */
+  void indexInputFiles(List<File> files, int threads) throws IOException {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (File file : files) {
+        futures.add(executor.submit(() -> {
+          indexInputFile(file);
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException | ExecutionException e) {
+      throw new IOException("Indexing failed", e);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   void indexInputFile(File file) throws IOException {
+    System.out.println("Indexing " + file);
     try (Scanner scanner = new Scanner(file)) {
       while (scanner.hasNextLine()) {
         String line = scanner.nextLine();
@@ -64,8 +127,10 @@ class AggregatedNgramToLucene implements AutoCloseable {
   }
 
   private void indexLine(String line) throws IOException {
-    if (lineCount++ % 100_000 == 0) {
-      System.out.printf(Locale.ENGLISH, "Indexing line %d\n", lineCount);
+    long lines = lineCount.incrementAndGet();
+    if (lines % 100_000 == 0) {
+      float seconds = Math.max(1, System.nanoTime() - startTime) / 1_000_000_000f;
+      System.out.printf(Locale.ENGLISH, "Indexing line %d (%.0f lines/s)\n", lines, lines / seconds);
     }
     String[] lineParts = line.split("\t");
     if (lineParts.length != 2) {
@@ -80,17 +145,21 @@ class AggregatedNgramToLucene implements AutoCloseable {
     }
     long count = Long.parseLong(lineParts[1]);
     if (ngramParts.length == 1) {
-      totalTokenCount += count;
+      totalTokenCount.addAndGet(count);
     }
-    index.indexWriter.addDocument(getDoc(ngram, count));
+    index.indexWriter.addDocument(getDoc(ngram, count, index.quantizer));
   }
 
   @NotNull
-  private Document getDoc(String ngram, long count) {
+  private Document getDoc(String ngram, long count, @Nullable CountQuantizer quantizer) {
     Document doc = new Document();
     //doc.add(new Field("ngram", ngram, StringField.TYPE_NOT_STORED));
     doc.add(new Field("ngram", ngram, StringField.TYPE_STORED));  //TODO
-    doc.add(getCountField(count));
+    if (quantizer != null) {
+      doc.add(new StoredField("qcount", quantizer.encodeToBytes(count)));
+    } else {
+      doc.add(getCountField(count));
+    }
     return doc;
   }
 
@@ -104,6 +173,18 @@ class AggregatedNgramToLucene implements AutoCloseable {
     return new LongField("count", count, fieldType);
   }
 
+  // LuceneLanguageModel uses this to detect that the index contains quantized counts:
+  private void addQuantizationDoc(IndexWriter writer, CountQuantizer quantizer) throws IOException {
+    FieldType fieldType = new FieldType();
+    fieldType.setIndexOptions(IndexOptions.DOCS);
+    fieldType.setStored(true);
+    fieldType.setOmitNorms(true);
+    Document doc = new Document();
+    doc.add(new Field("quantizationBits", String.valueOf(quantizer.getBits()), fieldType));
+    doc.add(new StoredField("quantizationMaxCount", String.valueOf(quantizer.getMaxCount())));
+    writer.addDocument(doc);
+  }
+
   private void addTotalTokenCountDoc(long totalTokenCount, IndexWriter writer) throws IOException {
     FieldType fieldType = new FieldType();
     fieldType.setIndexOptions(IndexOptions.DOCS);
@@ -116,21 +197,32 @@ class AggregatedNgramToLucene implements AutoCloseable {
   }
 
   public static void main(String[] args) throws IOException {
-    if (args.length != 1) {
-      System.out.println("Usage: " + AggregatedNgramToLucene.class + " <inputDir>");
+    if (args.length < 1 || args.length > 4) {
+      System.out.println("Usage: " + AggregatedNgramToLucene.class + " <inputDir> [threads] [ramBufferMB] [quantizationBits]");
       System.out.println(" <inputDir> is a directory with aggregated ngram files from Hadoop, e.g. produced by CommonCrawlNGramJob");
+      System.out.println(" [threads] number of input files to index in parallel, default: 1");
+      System.out.println(" [ramBufferMB] Lucene RAM buffer per index in MB, default: " + IndexWriterConfig.DEFAULT_RAM_BUFFER_SIZE_MB);
+      System.out.println(" [quantizationBits] 8 or 16 to store log-quantized counts instead of exact counts, 0 for exact counts, default: 0.");
+      System.out.println("                    The input files are read twice to find the largest count of each ngram order");
       System.exit(1);
     }
     File inputDir = new File(args[0]);
+    int threads = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+    double ramBufferMB = args.length > 2 ? Double.parseDouble(args[2]) : IndexWriterConfig.DEFAULT_RAM_BUFFER_SIZE_MB;
+    int quantizationBits = args.length > 3 ? Integer.parseInt(args[3]) : 0;
     File outputDir = new File(inputDir, "index");
-    System.out.println("Indexing to " + outputDir);
-    try (AggregatedNgramToLucene prg = new AggregatedNgramToLucene(outputDir)) {
-      for (File file : inputDir.listFiles()) {
-        if (file.isFile()) {
-          prg.indexInputFile(file);
-        }
+    List<File> files = new ArrayList<>();
+    for (File file : inputDir.listFiles()) {
+      if (file.isFile()) {
+        files.add(file);
       }
-      prg.addTotalTokenCountDoc(prg.totalTokenCount, prg.indexes.get(1).indexWriter);
+    }
+    Map<Integer, CountQuantizer> quantizers = quantizationBits > 0 ? getQuantizers(files, quantizationBits) : null;
+    System.out.println("Indexing to " + outputDir + " using " + threads + " thread(s), RAM buffer: " + ramBufferMB + "MB");
+    System.out.println("Count quantization: " + (quantizers != null ? quantizers : "none"));
+    try (AggregatedNgramToLucene prg = new AggregatedNgramToLucene(outputDir, ramBufferMB, quantizers)) {
+      prg.indexInputFiles(files, threads);
+      prg.addTotalTokenCountDoc(prg.totalTokenCount.get(), prg.indexes.get(1).indexWriter);
     }
   }
   
@@ -138,12 +230,18 @@ class AggregatedNgramToLucene implements AutoCloseable {
 
     private final Directory directory;
     private final IndexWriter indexWriter;
+    private final CountQuantizer quantizer;  // null to store exact counts
 
-    LuceneIndex(File dir) throws IOException {
+    LuceneIndex(File dir, double ramBufferMB, @Nullable CountQuantizer quantizer) throws IOException {
+      this.quantizer = quantizer;
       Analyzer analyzer = new StandardAnalyzer();
       IndexWriterConfig config = new IndexWriterConfig(analyzer);
+      config.setRAMBufferSizeMB(ramBufferMB);
       directory = FSDirectory.open(dir.toPath());
       indexWriter = new IndexWriter(directory, config);
+      if (quantizer != null) {
+        addQuantizationDoc(indexWriter, quantizer);
+      }
     }
     
     void close() throws IOException {
@@ -18,6 +18,11 @@
  */
 package org.languagetool.dev.bigdata;
 
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.MultiFields;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
 import org.languagetool.AnalyzedSentence;
 import org.languagetool.JLanguageTool;
 import org.languagetool.Language;
@@ -25,6 +30,7 @@ import org.languagetool.Languages;
 import org.languagetool.chunking.Chunker;
 import org.languagetool.dev.dumpcheck.*;
 import org.languagetool.language.English;
+import org.languagetool.languagemodel.CountQuantizer;
 import org.languagetool.languagemodel.LanguageModel;
 import org.languagetool.languagemodel.LuceneLanguageModel;
 import org.languagetool.rules.ngrams.ConfusionProbabilityRule;
@@ -48,7 +54,9 @@ import static java.util.stream.Collectors.toList;
 
 /**
  * Loads sentences with a homophone (e.g. there/their) from Wikipedia or confusion set files
- * and evaluates EnglishConfusionProbabilityRule with them.
+ * and evaluates EnglishConfusionProbabilityRule with them. With {@code --quantize <bits>},
+ * the evaluation is repeated with quantized ngram counts (see {@link CountQuantizer})
+ * to show the impact of quantized indexes on precision and recall.
  *
  * @since 3.0
  * @author Daniel Naber 
@@ -223,9 +231,15 @@ class ConfusionRuleEvaluator {
   }
 
   public static void main(String[] args) throws IOException {
+    int quantizationBits = 0;
+    if (args.length >= 2 && args[0].equals("--quantize")) {
+      quantizationBits = Integer.parseInt(args[1]);
+      args = Arrays.copyOfRange(args, 2, args.length);
+    }
     if (args.length < 3 || args.length > 4) {
       System.err.println("Usage: " + ConfusionRuleEvaluator.class.getSimpleName()
-              + " <langCode> <languageModelTopDir> <wikipediaXml|tatoebaFile|plainTextFile|dir>...");
+              + " [--quantize <bits>] <langCode> <languageModelTopDir> <wikipediaXml|tatoebaFile|plainTextFile|dir>...");
+      System.err.println("   --quantize <bits>  additionally evaluate with counts quantized to 8 or 16 bits and compare the results");
       System.err.println("   <languageModelTopDir> is a directory with sub-directories like 'en' which then again contain '1grams',");
       System.err.println("                      '2grams', and '3grams' sub directories with Lucene indexes");
       System.err.println("                      See http://wiki.languagetool.org/finding-errors-using-n-gram-data");
@@ -252,11 +266,57 @@ class ConfusionRuleEvaluator {
       inputsFiles.add(args[3]);
     }
     ConfusionRuleEvaluator generator = new ConfusionRuleEvaluator(lang, languageModel);
-    generator.run(inputsFiles, TOKEN, TOKEN_HOMOPHONE, MAX_SENTENCES, EVAL_FACTORS);
+    Map<Long, EvalResult> results = generator.run(inputsFiles, TOKEN, TOKEN_HOMOPHONE, MAX_SENTENCES, EVAL_FACTORS);
+    if (quantizationBits > 0) {
+      File topIndexDir = new File(args[1], lang.getShortName());
+      Map<Integer, CountQuantizer> quantizers = getQuantizers(topIndexDir, quantizationBits);
+      LanguageModel quantizedModel = new QuantizingLanguageModel(topIndexDir, quantizers);
+      ConfusionRuleEvaluator quantizedGenerator = new ConfusionRuleEvaluator(lang, quantizedModel);
+      Map<Long, EvalResult> quantizedResults = quantizedGenerator.run(inputsFiles, TOKEN, TOKEN_HOMOPHONE, MAX_SENTENCES, EVAL_FACTORS);
+      printQuantizationImpact(results, quantizedResults, quantizers);
+    }
     long endTime = System.currentTimeMillis();
     System.out.println("\nTime: " + (endTime-startTime)+"ms");
   }
 
+  // like the indexers, use one quantizer per ngram order, spread up to the largest count of that order:
+  private static Map<Integer, CountQuantizer> getQuantizers(File topIndexDir, int bits) throws IOException {
+    Map<Integer, CountQuantizer> quantizers = new HashMap<>();
+    for (int order = 1; order <= 3; order++) {
+      long maxCount = 0;
+      try (FSDirectory directory = FSDirectory.open(new File(topIndexDir, order + "grams").toPath());
+           DirectoryReader reader = DirectoryReader.open(directory)) {
+        Bits liveDocs = MultiFields.getLiveDocs(reader);
+        for (int i = 0; i < reader.maxDoc(); i++) {
+          if (liveDocs == null || liveDocs.get(i)) {
+            Document doc = reader.document(i);
+            String count = doc.get("count");
+            if (count != null) {  // null for the meta documents
+              maxCount = Math.max(maxCount, Long.parseLong(count));
+            }
+          }
+        }
+      }
+      quantizers.put(order, new CountQuantizer(bits, Math.max(2, maxCount)));
+    }
+    return quantizers;
+  }
+
+  private static void printQuantizationImpact(Map<Long, EvalResult> results, Map<Long, EvalResult> quantizedResults, Map<Integer, CountQuantizer> quantizers) {
+    System.out.println("\nImpact of count quantization:");
+    for (Map.Entry<Integer, CountQuantizer> entry : quantizers.entrySet()) {
+      System.out.println(entry.getKey() + "grams: " + entry.getValue());
+    }
+    List<Long> factors = results.keySet().stream().sorted().collect(toList());
+    for (Long factor : factors) {
+      EvalResult exact = results.get(factor);
+      EvalResult quantized = quantizedResults.get(factor);
+      System.out.printf(ENGLISH, "Factor %d: p=%.3f -> %.3f (%+.3f), r=%.3f -> %.3f (%+.3f)\n", factor,
+              exact.getPrecision(), quantized.getPrecision(), quantized.getPrecision() - exact.getPrecision(),
+              exact.getRecall(), quantized.getRecall(), quantized.getRecall() - exact.getRecall());
+    }
+  }
+
   static class EvalValues {
     private int truePositives = 0;
     private int trueNegatives = 0;
@@ -264,6 +324,22 @@ class ConfusionRuleEvaluator {
     private int falseNegatives = 0;
   }
   
+  // simulates a quantized index by quantizing the exact counts of an existing index:
+  static class QuantizingLanguageModel extends LuceneLanguageModel {
+
+    private final Map<Integer, CountQuantizer> quantizers;
+
+    QuantizingLanguageModel(File topIndexDir, Map<Integer, CountQuantizer> quantizers) {
+      super(topIndexDir);
+      this.quantizers = quantizers;
+    }
+
+    @Override
+    public long getCount(List<String> tokens) {
+      return quantizers.get(tokens.size()).quantize(super.getCount(tokens));
+    }
+  }
+
   // faster version of English as it uses no chunking:
   static class EnglishLight extends English {
     
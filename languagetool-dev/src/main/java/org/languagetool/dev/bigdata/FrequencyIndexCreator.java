@@ -26,11 +26,13 @@ import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
+import org.languagetool.languagemodel.CountQuantizer;
 import org.languagetool.languagemodel.LanguageModel;
 
 import java.io.*;
 import java.text.NumberFormat;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.zip.GZIPInputStream;
 
@@ -44,6 +46,10 @@ import java.util.zip.GZIPInputStream;
  * the large amount of data. Indexing every line takes 3µs/doc, i.e. Lucene can 
  * index about 333,000 docs/s.
  * 
+ * <p>Input files are read in parallel. In 'lucene' mode, each file's documents can
+ * additionally be added by several indexing threads that share one {@link IndexWriter},
+ * so decompressing and parsing the input isn't blocked by Lucene (and vice versa).
+ * 
  * <p>Also see http://wiki.languagetool.org/finding-errors-using-big-data.
  * @since 2.7
  */
@@ -55,16 +61,44 @@ public class FrequencyIndexCreator {
   private static final String NAME_REGEX3 = "([_a-z0-9]{1,2}|other|punctuation)";  // result of FrequencyIndexCreator with text mode
   private static final int BUFFER_SIZE = 16384;
   private static final String LT_COMPLETE_MARKER = "languagetool_index_complete";
+  private static final int INDEX_BATCH_SIZE = 1000;  // number of docs handed to an indexing thread at once
 
   private enum Mode { PlainText, Lucene }
 
   private final AtomicLong bytesProcessed = new AtomicLong(0);
+  private final AtomicLong docsProcessed = new AtomicLong(0);
+  private final AtomicLong totalTokenCount = new AtomicLong(0);
   private final Mode mode;
-  
-  private long totalTokenCount;
+  private final int fileThreads;
+  private final int indexThreads;
+  private final double ramBufferMB;
+  private final int quantizationBits;
+
+  private long runStartTime = System.nanoTime();
 
   public FrequencyIndexCreator(Mode mode) {
+    this(mode, Runtime.getRuntime().availableProcessors(), 1, IndexWriterConfig.DEFAULT_RAM_BUFFER_SIZE_MB, 0);
+  }
+
+  /**
+   * @param fileThreads number of input files that are decompressed and parsed at the same time
+   * @param indexThreads number of threads that add documents to the {@link IndexWriter} of each
+   *                     input file ('lucene' mode only), use {@code 1} to add them from the parsing thread
+   * @param ramBufferMB RAM used by each {@link IndexWriter} for buffering documents before flushing them to disk
+   * @param quantizationBits 8 or 16 to store counts quantized with a {@link CountQuantizer} instead of exact
+   *                         ones ('lucene' mode only), {@code 0} for exact counts. Each index gets a codebook
+   *                         for its largest count, which needs an additional pass over its input file.
+   * @since 3.2
+   */
+  public FrequencyIndexCreator(Mode mode, int fileThreads, int indexThreads, double ramBufferMB, int quantizationBits) {
+    if (fileThreads < 1 || indexThreads < 1) {
+      throw new IllegalArgumentException("Thread counts must be >= 1: fileThreads=" + fileThreads + ", indexThreads=" + indexThreads);
+    }
     this.mode = mode;
+    this.fileThreads = fileThreads;
+    this.indexThreads = indexThreads;
+    this.ramBufferMB = ramBufferMB;
+    this.quantizationBits = quantizationBits;
   }
   
   private void run(File inputDir, File indexBaseDir) {
@@ -74,8 +108,17 @@ public class FrequencyIndexCreator {
     List<File> files = Arrays.asList(inputDir.listFiles());
     long totalBytes = files.stream().mapToLong(File::length).sum();
     System.out.println("Total input bytes: " + totalBytes);
+    runStartTime = System.nanoTime();
     //Collections.sort(files);  use for non-parallel streams
-    files.parallelStream().forEach(dir -> index(dir, indexBaseDir, totalBytes));
+    ForkJoinPool pool = new ForkJoinPool(fileThreads);
+    try {
+      pool.submit(() -> files.parallelStream().forEach(dir -> index(dir, indexBaseDir, totalBytes))).get();
+    } catch (InterruptedException | ExecutionException e) {
+      throw new RuntimeException("Could not index " + inputDir, e);
+    } finally {
+      pool.shutdown();
+    }
+    printThroughput();
   }
 
   public void index(File file, File indexBaseDir, long totalBytes) {
@@ -120,7 +163,8 @@ public class FrequencyIndexCreator {
           indexLinesFromGoogleFile(dw, file, totalBytes, hiveMode);
         }
       } else {
-        try (DataWriter dw = new LuceneDataWriter(indexDir)) {
+        CountQuantizer quantizer = quantizationBits > 0 ? getQuantizer(file, totalBytes, hiveMode) : null;
+        try (DataWriter dw = new LuceneDataWriter(indexDir, quantizer)) {
           indexLinesFromGoogleFile(dw, file, totalBytes, hiveMode);
         }
       }
@@ -131,6 +175,18 @@ public class FrequencyIndexCreator {
     bytesProcessed.addAndGet(file.length());
   }
 
+  // the codes are spread up to the largest count, so it needs to be known before indexing:
+  private CountQuantizer getQuantizer(File file, long totalBytes, boolean hiveMode) throws Exception {
+    System.out.println("Getting the largest count of " + file + " for count quantization");
+    try (MaxCountDataWriter maxCountWriter = new MaxCountDataWriter()) {
+      indexLinesFromGoogleFile(maxCountWriter, file, totalBytes, hiveMode);
+      docsProcessed.addAndGet(-maxCountWriter.docCount);  // the documents are only counted when they're indexed
+      CountQuantizer quantizer = new CountQuantizer(quantizationBits, Math.max(2, maxCountWriter.maxCount));
+      System.out.println("Count quantization for " + file + ": " + quantizer);
+      return quantizer;
+    }
+  }
+
   private void markIndexAsComplete(File directory) throws IOException {
     try (FileWriter fw = new FileWriter(new File(directory, LT_COMPLETE_MARKER))) {
       fw.write(new Date().toString());
@@ -176,6 +232,7 @@ public class FrequencyIndexCreator {
           }
           String docCountStr = parts[1];
           writer.addDoc(text, Long.parseLong(docCountStr));
+          docsProcessed.incrementAndGet();
           if (++i % 500_000 == 0) {
             printStats(i, inputFile, Long.parseLong(docCountStr), lineCount, text, startTime, totalBytes);
           }
@@ -190,6 +247,7 @@ public class FrequencyIndexCreator {
           } else {
             //System.out.println(">"+ prevText + ": " + count);
             writer.addDoc(prevText, docCount);
+            docsProcessed.incrementAndGet();
             if (++i % 5_000 == 0) {
               printStats(i, inputFile, docCount, lineCount, prevText, startTime, totalBytes);
             }
@@ -200,7 +258,7 @@ public class FrequencyIndexCreator {
       }
       printStats(i, inputFile, docCount, lineCount, prevText, startTime, totalBytes);
     }
-    writer.addTotalTokenCountDoc(totalTokenCount);
+    writer.addTotalTokenCountDoc(totalTokenCount.get());
   }
 
   private boolean isRealPosTag(String text) {
@@ -228,6 +286,15 @@ public class FrequencyIndexCreator {
     System.out.printf("%.2f%% input:%s doc:%s line:%s ngram:%s occ:%s (%.0fµs/doc)\n",
             progress, inputFile.getName(), format.format(i), format.format(lineCount),
             prevText, format.format(docCount), millisPerDoc);
+    printThroughput();
+  }
+
+  private void printThroughput() {
+    long docs = docsProcessed.get();
+    float seconds = Math.max(1, System.nanoTime() - runStartTime) / 1_000_000_000f;
+    float megaBytes = bytesProcessed.get() / 1024f / 1024f;
+    System.out.printf(Locale.ENGLISH, "Total: %d docs, %.0f docs/s, %.1f MB of input files completed (%.2f MB/s)\n",
+            docs, docs / seconds, megaBytes, megaBytes / seconds);
   }
   
   abstract static class DataWriter implements AutoCloseable {
@@ -238,16 +305,29 @@ public class FrequencyIndexCreator {
   
   class LuceneDataWriter extends DataWriter {
 
+    final CountQuantizer quantizer;  // null to store exact counts
     IndexWriter writer;
+    ExecutorService indexExecutor;  // null if documents are added from the calling thread
+    List<Document> batch = new ArrayList<>(INDEX_BATCH_SIZE);
+    List<Future<?>> pendingBatches = new ArrayList<>();
     
-    LuceneDataWriter(File indexDir) throws IOException {
+    LuceneDataWriter(File indexDir, CountQuantizer quantizer) throws IOException {
+      this.quantizer = quantizer;
       Analyzer analyzer = new StandardAnalyzer();
       IndexWriterConfig config = new IndexWriterConfig(analyzer);
       config.setUseCompoundFile(false);  // ~10% speedup
       config.setOpenMode(IndexWriterConfig.OpenMode.CREATE);
-      //config.setRAMBufferSizeMB(1000);
+      config.setRAMBufferSizeMB(ramBufferMB);
       Directory directory = FSDirectory.open(indexDir.toPath());
       writer = new IndexWriter(directory, config);
+      if (quantizer != null) {
+        addQuantizationDoc();
+      }
+      if (indexThreads > 1) {
+        // bounded queue so parsing cannot run away from indexing - if the queue is full, the parsing thread indexes itself:
+        indexExecutor = new ThreadPoolExecutor(indexThreads, indexThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(indexThreads * 2), new ThreadPoolExecutor.CallerRunsPolicy());
+      }
     }
 
     @Override
@@ -257,15 +337,61 @@ public class FrequencyIndexCreator {
       } else {
         Document doc = new Document();
         doc.add(new Field("ngram", text, StringField.TYPE_NOT_STORED));
-        FieldType fieldType = new FieldType();
-        fieldType.setStored(true);
-        Field countField = new Field("count", String.valueOf(count), fieldType);
-        doc.add(countField);
-        totalTokenCount += count;
-        writer.addDocument(doc);
+        if (quantizer != null) {
+          doc.add(new StoredField("qcount", quantizer.encodeToBytes(count)));
+        } else {
+          FieldType fieldType = new FieldType();
+          fieldType.setStored(true);
+          Field countField = new Field("count", String.valueOf(count), fieldType);
+          doc.add(countField);
+        }
+        totalTokenCount.addAndGet(count);
+        if (indexExecutor == null) {
+          writer.addDocument(doc);
+        } else {
+          batch.add(doc);
+          if (batch.size() >= INDEX_BATCH_SIZE) {
+            flushBatch();
+          }
+        }
       }
     }
 
+    private void flushBatch() {
+      List<Document> docs = batch;
+      batch = new ArrayList<>(INDEX_BATCH_SIZE);
+      pendingBatches.removeIf(Future::isDone);
+      pendingBatches.add(indexExecutor.submit(() -> {
+        writer.addDocuments(docs);
+        return null;
+      }));
+    }
+
+    private void awaitPendingBatches() throws IOException {
+      if (!batch.isEmpty()) {
+        flushBatch();
+      }
+      try {
+        for (Future<?> pendingBatch : pendingBatches) {
+          pendingBatch.get();
+        }
+      } catch (InterruptedException | ExecutionException e) {
+        throw new IOException("Indexing failed", e);
+      }
+      pendingBatches.clear();
+    }
+
+    // LuceneLanguageModel uses this to detect that the index contains quantized counts:
+    private void addQuantizationDoc() throws IOException {
+      FieldType fieldType = new FieldType();
+      fieldType.setIndexOptions(IndexOptions.DOCS);
+      fieldType.setStored(true);
+      Document doc = new Document();
+      doc.add(new Field("quantizationBits", String.valueOf(quantizer.getBits()), fieldType));
+      doc.add(new StoredField("quantizationMaxCount", String.valueOf(quantizer.getMaxCount())));
+      writer.addDocument(doc);
+    }
+
     @Override
     void addTotalTokenCountDoc(long totalTokenCount) throws IOException {
       FieldType fieldType = new FieldType();
@@ -274,17 +400,47 @@ public class FrequencyIndexCreator {
       Field countField = new Field("totalTokenCount", String.valueOf(totalTokenCount), fieldType);
       Document doc = new Document();
       doc.add(countField);
+      if (indexExecutor != null) {
+        awaitPendingBatches();
+      }
       writer.addDocument(doc);
     }
 
     @Override
     public void close() throws Exception {
+      if (indexExecutor != null) {
+        try {
+          awaitPendingBatches();
+        } finally {
+          indexExecutor.shutdown();
+        }
+      }
       if (writer != null) {
         writer.close();
       }
     }
   }
 
+  static class MaxCountDataWriter extends DataWriter {
+
+    long maxCount;
+    long docCount;
+
+    @Override
+    void addDoc(String text, long count) {
+      maxCount = Math.max(maxCount, count);
+      docCount++;
+    }
+
+    @Override
+    void addTotalTokenCountDoc(long totalTokenCount) {
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
   static class TextDataWriter extends DataWriter {
 
     private final FileWriter fw;
@@ -319,11 +475,16 @@ public class FrequencyIndexCreator {
   }
 
   public static void main(String[] args) {
-    if (args.length != 3) {
-      System.out.println("Usage: " + FrequencyIndexCreator.class.getSimpleName() + " <text|lucene> <inputDir> <outputDir>");
+    if (args.length < 3 || args.length > 7) {
+      System.out.println("Usage: " + FrequencyIndexCreator.class.getSimpleName() + " <text|lucene> <inputDir> <outputDir> [fileThreads] [indexThreads] [ramBufferMB] [quantizationBits]");
       System.out.println("    <text|lucene> 'text' will write plain text files, 'lucene' will write Lucene indexes");
       System.out.println("    <inputDir> is the Google ngram data, optionally already aggregated by Hive (lucene mode),");
       System.out.println("               please see http://wiki.languagetool.org/finding-errors-using-big-data");
+      System.out.println("    [fileThreads] number of input files to read in parallel, default: number of processors");
+      System.out.println("    [indexThreads] number of threads adding documents per input file (lucene mode only), default: 1");
+      System.out.println("    [ramBufferMB] Lucene RAM buffer per index in MB, default: " + IndexWriterConfig.DEFAULT_RAM_BUFFER_SIZE_MB);
+      System.out.println("    [quantizationBits] 8 or 16 to store log-quantized counts instead of exact counts (lucene mode only),");
+      System.out.println("                       0 for exact counts, default: 0. Each input file is read twice to find its largest count");
       System.exit(1);
     }
     Mode mode;
@@ -334,9 +495,15 @@ public class FrequencyIndexCreator {
     } else {
       throw new RuntimeException("Unknown mode: " + args[0]);
     }
-    FrequencyIndexCreator creator = new FrequencyIndexCreator(mode);
+    int fileThreads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+    int indexThreads = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+    double ramBufferMB = args.length > 5 ? Double.parseDouble(args[5]) : IndexWriterConfig.DEFAULT_RAM_BUFFER_SIZE_MB;
+    int quantizationBits = args.length > 6 ? Integer.parseInt(args[6]) : 0;
+    FrequencyIndexCreator creator = new FrequencyIndexCreator(mode, fileThreads, indexThreads, ramBufferMB, quantizationBits);
     System.out.println("Mode: " + mode);
     System.out.println("Minimum year: " + MIN_YEAR);
+    System.out.println("Count quantization: " + (quantizationBits > 0 ? quantizationBits + " bits" : "none"));
+    System.out.println("Threads: " + fileThreads + " for reading, " + indexThreads + " for indexing per file, RAM buffer: " + ramBufferMB + "MB");
     creator.run(new File(args[1]), new File(args[2]));
   }
 }
@@ -95,7 +95,7 @@ public final class MorfologikCatalanSpellerRule extends MorfologikSpellerRule {
   
   @Override
   protected List<String> getAdditionalTopSuggestions(List<String> suggestions,
-      String word) throws IOException {
+      String word) {
     //TODO Try other combinations. Ex. daconseguirlos, 
     //TODO Including errors (Hunspell can do it). Ex. sescontaminarla > descontaminar-la
     /*if (word.length() < 5) {
@@ -117,7 +117,7 @@ public final class MorfologikCatalanSpellerRule extends MorfologikSpellerRule {
   
   private String findSuggestion(String suggestion, String word,
       Pattern wordPattern, Pattern postagPattern, int suggestionPosition,
-      String separator) throws IOException {
+      String separator) {
     if (!suggestion.isEmpty()) {
       return suggestion;
     }
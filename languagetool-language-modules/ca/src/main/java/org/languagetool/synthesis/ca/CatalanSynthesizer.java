@@ -75,8 +75,7 @@ public class CatalanSynthesizer extends BaseSynthesizer {
 
   @Override
   public String[] synthesize(final AnalyzedToken token, final String posTag) throws IOException {
-    initPossibleTags();
-    Pattern p;
+    String tagRegExp;
     boolean addDt = false; 
     String prep = ""; 
     final Matcher mPrep = pPrep.matcher(posTag);
@@ -87,23 +86,20 @@ public class CatalanSynthesizer extends BaseSynthesizer {
       }
     }
     if (addDt) {
-      p = Pattern.compile("N.*|A.*|V.P.*|PX.");
+      tagRegExp = "N.*|A.*|V.P.*|PX.";
     } else {
-      p = Pattern.compile(posTag);
+      tagRegExp = posTag;
     }
     final List<String> results = new ArrayList<>();
-    final IStemmer synthesizer = createStemmer();
+    final IStemmer synthesizer = getStemmer();
     
-    for (final String tag : possibleTags) {
-      final Matcher m = p.matcher(tag);
-      if (m.matches()) {
-        if (addDt) {
-          lookupWithEl(token.getLemma(), tag, prep, results, synthesizer);
-        } else {
-          lookup(token.getLemma(), tag, results);
-        }
+    for (final String tag : getMatchingTags(tagRegExp)) {
+      if (addDt) {
+        lookupWithEl(token.getLemma(), tag, prep, results, synthesizer);
+      } else {
+        lookup(token.getLemma(), tag, results);
       }
-    }       
+    }
     
     // if not found, try verbs from any regional variant
     if ((results.size() == 0) && posTag.startsWith("V")) {
@@ -121,37 +117,22 @@ public class CatalanSynthesizer extends BaseSynthesizer {
   public String[] synthesize(final AnalyzedToken token, final String posTag,
       final boolean posTagRegExp) throws IOException {
     if (posTagRegExp) {
-      initPossibleTags();
-      Pattern p = Pattern.compile(posTag);
       final List<String> results = new ArrayList<>();
-      for (final String tag : possibleTags) {
-        final Matcher m = p.matcher(tag);
-        if (m.matches()) {
-          lookup(token.getLemma(), tag, results);
-        }
+      for (final String tag : getMatchingTags(posTag)) {
+        lookup(token.getLemma(), tag, results);
       }
       // if not found, try verbs from any regional variant
       if ((results.size() == 0)) {
         final Matcher mVerb = pVerb.matcher(posTag);
         if (mVerb.matches()) {
           if (!posTag.endsWith("0")) {
-            p = Pattern.compile(posTag.substring(0, posTag.length() - 1)
-                .concat("0"));
-            for (final String tag : possibleTags) {
-              final Matcher m = p.matcher(tag);
-              if (m.matches()) {
-                lookup(token.getLemma(), tag, results);
-              }
+            for (final String tag : getMatchingTags(posTag.substring(0, posTag.length() - 1).concat("0"))) {
+              lookup(token.getLemma(), tag, results);
             }
           }
           if (results.size() == 0) { // another try
-            p = Pattern.compile(posTag.substring(0, posTag.length() - 1)
-                .concat("."));
-            for (final String tag : possibleTags) {
-              final Matcher m = p.matcher(tag);
-              if (m.matches()) {
-                lookup(token.getLemma(), tag, results);
-              }
+            for (final String tag : getMatchingTags(posTag.substring(0, posTag.length() - 1).concat("."))) {
+              lookup(token.getLemma(), tag, results);
             }
           }
         }
@@ -57,8 +57,7 @@ public class German extends Language implements AutoCloseable {
   private Disambiguator disambiguator;
   private GermanChunker chunker;
   private CompoundWordTokenizer compoundTokenizer;
-  private GermanCompoundTokenizer strictCompoundTokenizer;
-  private LanguageModel languageModel;
+  private LuceneLanguageModel languageModel;
 
   @Override
   public Language getDefaultLanguageVariant() {
@@ -172,12 +171,9 @@ public class German extends Language implements AutoCloseable {
    */
   public CompoundWordTokenizer getNonStrictCompoundSplitter() {
     if (compoundTokenizer == null) {
-      try {
-        final GermanCompoundTokenizer tokenizer = new GermanCompoundTokenizer(false);  // there's a spelling mistake in (at least) one part, so strict mode wouldn't split the word
-        compoundTokenizer = word -> new ArrayList<>(tokenizer.tokenize(word));
-      } catch (IOException e) {
-        throw new RuntimeException("Could not set up German compound splitter", e);
-      }
+      // there's a spelling mistake in (at least) one part, so strict mode wouldn't split the word:
+      final GermanCompoundTokenizer tokenizer = GermanCompoundTokenizer.getNonStrictInstance();
+      compoundTokenizer = word -> new ArrayList<>(tokenizer.tokenize(word));
     }
     return compoundTokenizer;
   }
@@ -186,24 +182,12 @@ public class German extends Language implements AutoCloseable {
    * @since 2.7
    */
   public GermanCompoundTokenizer getStrictCompoundTokenizer() {
-    if (strictCompoundTokenizer == null) {
-      try {
-        strictCompoundTokenizer = new GermanCompoundTokenizer();
-      } catch (IOException e) {
-        throw new RuntimeException("Could not set up strict German compound splitter", e);
-      }
-    }
-    return strictCompoundTokenizer;
+    return GermanCompoundTokenizer.getStrictInstance();
   }
 
   @Override
   public synchronized LanguageModel getLanguageModel(File indexDir) throws IOException {
-    if (languageModel == null) {
-      languageModel = new LuceneLanguageModel(new File(indexDir, getShortName()));
-      // for testing:
-      //languageModel = new BerkeleyRawLanguageModel(new File("/media/Data/berkeleylm/google_books_binaries/ger.blm.gz"));
-      //languageModel = new BerkeleyLanguageModel(new File("/media/Data/berkeleylm/google_books_binaries/ger.blm.gz"));
-    }
+    languageModel = initLanguageModel(indexDir, languageModel);
     return languageModel;
   }
 
@@ -18,7 +18,6 @@
  */
 package org.languagetool.rules.de;
 
-import de.danielnaber.jwordsplitter.GermanWordSplitter;
 import org.jetbrains.annotations.Nullable;
 import org.languagetool.AnalyzedToken;
 import org.languagetool.AnalyzedTokenReadings;
@@ -35,6 +34,7 @@ import org.languagetool.tools.StringTools;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class GermanSpellerRule extends CompoundAwareHunspellRule {
 
@@ -42,6 +42,8 @@ public class GermanSpellerRule extends CompoundAwareHunspellRule {
   
   private static final int MAX_EDIT_DISTANCE = 2;
   private static final int SUGGESTION_MIN_LENGTH = 2;
+  // the spellers are immutable, so all rule instances for a variant can share one:
+  private static final Map<String,MorfologikMultiSpeller> spellers = new ConcurrentHashMap<>();
   private static final List<Replacement> REPL = Arrays.asList(
       // see de_DE.aff:
       new Replacement("f", "ph"),
@@ -79,7 +81,6 @@ public class GermanSpellerRule extends CompoundAwareHunspellRule {
   
   private final LineExpander lineExpander = new LineExpander();
   private final GermanCompoundTokenizer compoundTokenizer;
-  private final GermanWordSplitter splitter;
   private final Synthesizer synthesizer;
   private final Tagger tagger;
 
@@ -90,11 +91,6 @@ public class GermanSpellerRule extends CompoundAwareHunspellRule {
     compoundTokenizer = language.getStrictCompoundTokenizer();
     tagger = language.getTagger();
     synthesizer = language.getSynthesizer();
-    try {
-      splitter = new GermanWordSplitter(false);
-    } catch (IOException e) {
-      throw new RuntimeException(e);
-    }
   }
 
   @Override
@@ -105,7 +101,7 @@ public class GermanSpellerRule extends CompoundAwareHunspellRule {
   @Override
   public List<String> getCandidates(String word) {
     List<String> suggestions = new ArrayList<>();
-    List<List<String>> partList = splitter.getAllSplits(word);
+    List<List<String>> partList = GermanCompoundTokenizer.getNonStrictInstance().getAllSplits(word);
     final List<String> candidates = new ArrayList<>();
     for (List<String> parts : partList) {
       candidates.addAll(super.getCandidates(parts));
@@ -137,19 +133,22 @@ public class GermanSpellerRule extends CompoundAwareHunspellRule {
     if (!language.getShortName().equals(Locale.GERMAN.getLanguage())) {
       throw new RuntimeException("Language is not a variant of German: " + language);
     }
-    try {
-      final String morfoFile = "/de/hunspell/de_" + language.getCountries()[0] + ".dict";
-      if (JLanguageTool.getDataBroker().resourceExists(morfoFile)) {
-        // spell data will not exist in LibreOffice/OpenOffice context
-        try (InputStream stream = JLanguageTool.getDataBroker().getFromResourceDirAsStream("/de/hunspell/spelling.txt");
-             BufferedReader br = new BufferedReader(new InputStreamReader(stream, "utf-8"))) {
-          return new MorfologikMultiSpeller(morfoFile, new ExpandingReader(br), MAX_EDIT_DISTANCE);
-        }
-      } else {
-        return null;
-      }
+    final String morfoFile = "/de/hunspell/de_" + language.getCountries()[0] + ".dict";
+    if (JLanguageTool.getDataBroker().resourceExists(morfoFile)) {
+      // spell data will not exist in LibreOffice/OpenOffice context
+      // computeIfAbsent, so concurrent first calls don't each build a speller:
+      return spellers.computeIfAbsent(morfoFile, GermanSpellerRule::createSpeller);
+    } else {
+      return null;
+    }
+  }
+
+  private static MorfologikMultiSpeller createSpeller(String morfoFile) {
+    try (InputStream stream = JLanguageTool.getDataBroker().getFromResourceDirAsStream("/de/hunspell/spelling.txt");
+         BufferedReader br = new BufferedReader(new InputStreamReader(stream, "utf-8"))) {
+      return new MorfologikMultiSpeller(morfoFile, new ExpandingReader(br), MAX_EDIT_DISTANCE);
     } catch (IOException e) {
-      throw new RuntimeException("Could not set up morfologik spell checker", e);
+      throw new RuntimeException("Could not set up morfologik spell checker for " + morfoFile, e);
     }
   }
 
@@ -40,8 +40,6 @@ import org.languagetool.tools.StringTools;
  */
 public class GermanTagger extends BaseTagger {
 
-  private GermanCompoundTokenizer compoundTokenizer;
-
   public GermanTagger() {
     super("/de/german.dict");
   }
@@ -75,8 +73,6 @@ public class GermanTagger extends BaseTagger {
   }
 
   public List<AnalyzedTokenReadings> tag(List<String> sentenceTokens, boolean ignoreCase) throws IOException {
-    initializeIfRequired();
-
     boolean firstWord = true;
     List<AnalyzedTokenReadings> tokenReadings = new ArrayList<>();
     int pos = 0;
@@ -93,7 +89,7 @@ public class GermanTagger extends BaseTagger {
       } else {
         // word not known, try to decompose it and use the last part for POS tagging:
         if (!StringTools.isEmpty(word.trim())) {
-          List<String> compoundParts = compoundTokenizer.tokenize(word);
+          List<String> compoundParts = GermanCompoundTokenizer.getStrictInstance().tokenize(word);
           if (compoundParts.size() <= 1) {
             l.add(getNoInfoToken(word));
           } else {
@@ -120,12 +116,6 @@ public class GermanTagger extends BaseTagger {
     return tokenReadings;
   }
 
-  private synchronized void initializeIfRequired() throws IOException {
-    if (compoundTokenizer == null) {
-      compoundTokenizer = new GermanCompoundTokenizer();
-    }
-  }
-
   private AnalyzedToken getNoInfoToken(String word) {
     return new AnalyzedToken(word, null, null);
   }
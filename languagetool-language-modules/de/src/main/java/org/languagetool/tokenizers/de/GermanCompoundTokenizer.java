@@ -19,19 +19,73 @@
 package org.languagetool.tokenizers.de;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import de.danielnaber.jwordsplitter.GermanWordSplitter;
 import org.languagetool.tokenizers.Tokenizer;
+import org.languagetool.tools.LruCache;
 
 /**
- * Split German nouns using the jWordSplitter library.
+ * Split German nouns using the jWordSplitter library. The splits are cached,
+ * so use {@link #getStrictInstance()} and {@link #getNonStrictInstance()} to share
+ * the cache (and the splitter's word list) among all users.
  * 
  * @author Daniel Naber
  */
 public class GermanCompoundTokenizer implements Tokenizer {
 
+  private static final int CACHE_SIZE = 20_000;
+
+  private static volatile GermanCompoundTokenizer strictInstance;
+  private static volatile GermanCompoundTokenizer nonStrictInstance;
+
   private final GermanWordSplitter wordSplitter;
+  private final LruCache<String,List<String>> cache = new LruCache<>(CACHE_SIZE);
+  private final LruCache<String,List<List<String>>> allSplitsCache = new LruCache<>(CACHE_SIZE);
+
+  /**
+   * @return a shared tokenizer in strict mode, as used by the tagger
+   * @since 3.2
+   */
+  public static GermanCompoundTokenizer getStrictInstance() {
+    GermanCompoundTokenizer tokenizer = strictInstance;
+    if (tokenizer == null) {
+      synchronized (GermanCompoundTokenizer.class) {
+        tokenizer = strictInstance;
+        if (tokenizer == null) {
+          strictInstance = tokenizer = create(true);
+        }
+      }
+    }
+    return tokenizer;
+  }
+
+  /**
+   * @return a shared tokenizer in non-strict mode, which also splits words with a spelling mistake in one part
+   * @since 3.2
+   */
+  public static GermanCompoundTokenizer getNonStrictInstance() {
+    GermanCompoundTokenizer tokenizer = nonStrictInstance;
+    if (tokenizer == null) {
+      synchronized (GermanCompoundTokenizer.class) {
+        tokenizer = nonStrictInstance;
+        if (tokenizer == null) {
+          nonStrictInstance = tokenizer = create(false);
+        }
+      }
+    }
+    return tokenizer;
+  }
+
+  private static GermanCompoundTokenizer create(boolean strictMode) {
+    try {
+      return new GermanCompoundTokenizer(strictMode);
+    } catch (IOException e) {
+      throw new RuntimeException("Could not set up German compound splitter, strict mode: " + strictMode, e);
+    }
+  }
   
   public GermanCompoundTokenizer() throws IOException {
     this(true);
@@ -43,9 +97,42 @@ public class GermanCompoundTokenizer implements Tokenizer {
     wordSplitter.setMinimumWordLength(3);
   }
 
+  /**
+   * @return the parts of the word, or just the word itself if it cannot be split - the list must not be modified
+   */
   @Override
   public List<String> tokenize(String word) {
-    return wordSplitter.splitWord(word);
+    List<String> parts = cache.get(word);
+    if (parts == null) {
+      parts = Collections.unmodifiableList(wordSplitter.splitWord(word));
+      cache.put(word, parts);
+    }
+    return parts;
+  }
+
+  /**
+   * @return all ways to split the word into parts, as used for spelling suggestions - the lists must not be modified
+   * @since 3.2
+   */
+  public List<List<String>> getAllSplits(String word) {
+    List<List<String>> splits = allSplitsCache.get(word);
+    if (splits == null) {
+      List<List<String>> result = new ArrayList<>();
+      for (List<String> parts : wordSplitter.getAllSplits(word)) {
+        result.add(Collections.unmodifiableList(parts));
+      }
+      splits = Collections.unmodifiableList(result);
+      allSplitsCache.put(word, splits);
+    }
+    return splits;
+  }
+
+  /**
+   * @return the share of {@link #tokenize(String)} calls answered from the cache
+   * @since 3.2
+   */
+  public double getCacheHitRate() {
+    return cache.getHitRate();
   }
 
   public static void main(String[] args) throws IOException {
@@ -0,0 +1,77 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tokenizers.de;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class GermanCompoundTokenizerTest {
+
+  @Test
+  public void testTokenize() {
+    GermanCompoundTokenizer tokenizer = GermanCompoundTokenizer.getStrictInstance();
+    assertThat(tokenizer, sameInstance(GermanCompoundTokenizer.getStrictInstance()));
+    assertThat(tokenizer.tokenize("Donaudampfschiff").toString(), is("[Donau, dampf, schiff]"));
+    assertThat(tokenizer.tokenize("Donaudampfschiff").toString(), is("[Donau, dampf, schiff]"));
+    assertThat(tokenizer.tokenize("Haus").toString(), is("[Haus]"));
+    assertTrue(tokenizer.getCacheHitRate() > 0);
+  }
+
+  @Test
+  public void testGetAllSplits() {
+    GermanCompoundTokenizer tokenizer = GermanCompoundTokenizer.getNonStrictInstance();
+    List<List<String>> splits = tokenizer.getAllSplits("Donaudampfschiff");
+    assertTrue(splits.toString(), splits.contains(Arrays.asList("Donau", "dampfschiff")));
+    assertThat(tokenizer.getAllSplits("Donaudampfschiff"), sameInstance(splits));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testCachedSplitsCannotBeModified() {
+    GermanCompoundTokenizer.getNonStrictInstance().tokenize("Grammatikprüfung").add("foo");
+  }
+
+  @Test
+  public void testConcurrentUse() throws Exception {
+    GermanCompoundTokenizer tokenizer = GermanCompoundTokenizer.getStrictInstance();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<String>> futures = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        String word = i % 2 == 0 ? "Grammatikprüfung" : "Autobahnraststätte";
+        futures.add(executor.submit(() -> tokenizer.tokenize(word).toString()));
+      }
+      for (int i = 0; i < futures.size(); i++) {
+        String expected = i % 2 == 0 ? "[Grammatik, prüfung]" : "[Autobahn, raststätte]";
+        assertThat(futures.get(i).get(), is(expected));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+}
@@ -24,6 +24,8 @@ import opennlp.tools.postag.POSModel;
 import opennlp.tools.postag.POSTaggerME;
 import opennlp.tools.tokenize.TokenizerME;
 import opennlp.tools.tokenize.TokenizerModel;
+import opennlp.tools.util.Span;
+import opennlp.tools.util.StringUtil;
 import org.jetbrains.annotations.Nullable;
 import org.languagetool.AnalyzedTokenReadings;
 import org.languagetool.tools.Tools;
@@ -32,6 +34,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * OpenNLP-based chunker. Also uses the OpenNLP tokenizer and POS tagger and
@@ -49,29 +52,42 @@ public class EnglishChunker implements Chunker {
    * that is once created there will never be released. As English has several variants,
    * we'd have as many posModels etc. as we have variants -> huge waste of memory:
    */
-  private static TokenizerModel tokenModel;
-  private static POSModel posModel;
-  private static ChunkerModel chunkerModel;
+  private static volatile TokenizerModel tokenModel;
+  private static volatile POSModel posModel;
+  private static volatile ChunkerModel chunkerModel;
+  private static volatile Pattern alphanumeric;
+
+  // the ME classes are not thread-safe, so each thread gets its own (they share the models):
+  private static final ThreadLocal<TokenizerME> tokenizer = ThreadLocal.withInitial(() -> new TokenizerME(tokenModel));
+  private static final ThreadLocal<POSTaggerME> posTagger = ThreadLocal.withInitial(() -> new POSTaggerME(posModel));
+  private static final ThreadLocal<ChunkerME> chunker = ThreadLocal.withInitial(() -> new ChunkerME(chunkerModel));
 
   private final EnglishChunkFilter chunkFilter;
 
   public EnglishChunker() {
     try {
-      if (tokenModel == null) {
-        tokenModel = new TokenizerModel(Tools.getStream(TOKENIZER_MODEL));
-      }
-      if (posModel == null) {
-        posModel = new POSModel(Tools.getStream(POS_TAGGER_MODEL));
-      }
-      if (chunkerModel == null) {
-        chunkerModel = new ChunkerModel(Tools.getStream(CHUNKER_MODEL));
-      }
+      initModels();
       chunkFilter = new EnglishChunkFilter();
     } catch (IOException e) {
       throw new RuntimeException("Could not initialize English chunker", e);
     }
   }
 
+  private static synchronized void initModels() throws IOException {
+    if (tokenModel == null) {
+      TokenizerModel model = new TokenizerModel(Tools.getStream(TOKENIZER_MODEL));
+      // OpenNLP doesn't split these if the model says so, so we can skip its tokenizer for them:
+      alphanumeric = model.useAlphaNumericOptimization() ? model.getFactory().getAlphaNumericPattern() : null;
+      tokenModel = model;
+    }
+    if (posModel == null) {
+      posModel = new POSModel(Tools.getStream(POS_TAGGER_MODEL));
+    }
+    if (chunkerModel == null) {
+      chunkerModel = new ChunkerModel(Tools.getStream(CHUNKER_MODEL));
+    }
+  }
+
   @Override
   public void addChunkTags(List<AnalyzedTokenReadings> tokenReadings) {
     List<ChunkTaggedToken> origChunkTags = getChunkTagsForReadings(tokenReadings);
@@ -80,48 +96,80 @@ public class EnglishChunker implements Chunker {
   }
 
   private List<ChunkTaggedToken> getChunkTagsForReadings(List<AnalyzedTokenReadings> tokenReadings) {
-    // these are not thread-safe, so create them here, not as members:
-    String sentence = getSentence(tokenReadings);
-    String[] tokens = tokenize(sentence);
-    String[] posTags = posTag(tokens);
-    String[] chunkTags = chunk(tokens, posTags);
+    List<String> tokenList = new ArrayList<>();
+    List<AnalyzedTokenReadings> readingsList = new ArrayList<>();
+    // OpenNLP splits at whitespace first and then tokenizes each part on its own:
+    int i = 0;
+    while (i < tokenReadings.size()) {
+      int end = i;
+      while (end < tokenReadings.size() && !isWhitespace(tokenReadings.get(end).getToken())) {
+        end++;
+      }
+      if (end > i) {
+        addTokens(tokenReadings.subList(i, end), tokenList, readingsList);
+        i = end;
+      } else {
+        i++;
+      }
+    }
+    String[] tokens = tokenList.toArray(new String[tokenList.size()]);
+    String[] posTags = posTagger.get().tag(tokens);
+    String[] chunkTags = chunker.get().chunk(tokens, posTags);
     if (tokens.length != posTags.length || tokens.length != chunkTags.length) {
       throw new RuntimeException("Length of results must be the same: " + tokens.length + ", " + posTags.length + ", " + chunkTags.length);
     }
-    return getTokensWithTokenReadings(tokenReadings, tokens, chunkTags);
-  }
-
-  // non-private for test cases
-  String[] tokenize(String sentence) {
-    TokenizerME tokenizer = new TokenizerME(tokenModel);
-    String cleanString = sentence.replace('’', '\'');  // this is the type of apostrophe that OpenNLP expects
-    return tokenizer.tokenize(cleanString);
+    List<ChunkTaggedToken> result = new ArrayList<>(tokens.length);
+    for (int j = 0; j < tokens.length; j++) {
+      result.add(new ChunkTaggedToken(tokens[j], Collections.singletonList(new ChunkTag(chunkTags[j])), readingsList.get(j)));
+    }
+    return result;
   }
 
-  private String[] posTag(String[] tokens) {
-    POSTaggerME posTagger = new POSTaggerME(posModel);
-    return posTagger.tag(tokens);
+  // Adds the OpenNLP tokens for a part of the sentence without whitespace, and the readings for those
+  // tokens that are exactly at the same position as one of our tokens (or null).
+  private void addTokens(List<AnalyzedTokenReadings> part, List<String> tokens, List<AnalyzedTokenReadings> readings) {
+    StringBuilder sb = new StringBuilder();
+    AnalyzedTokenReadings lastReadings = null;
+    int tokenCount = 0;
+    for (AnalyzedTokenReadings tokenReadings : part) {
+      if (!tokenReadings.getToken().isEmpty()) {  // e.g. sentence start
+        sb.append(tokenReadings.getToken());
+        lastReadings = tokenReadings;
+        tokenCount++;
+      }
+    }
+    if (tokenCount == 0) {
+      return;
+    }
+    if (tokenCount == 1 && alphanumeric != null && alphanumeric.matcher(lastReadings.getToken()).matches()) {
+      // the usual case, this is what the OpenNLP tokenizer would return anyway:
+      tokens.add(lastReadings.getToken());
+      readings.add(lastReadings);
+      return;
+    }
+    String text = sb.toString().replace('’', '\'');  // this is the type of apostrophe that OpenNLP expects
+    for (Span span : tokenizer.get().tokenizePos(text)) {
+      tokens.add(span.getCoveredText(text).toString());
+      readings.add(getAnalyzedTokenReadingsFor(span.getStart(), span.getEnd(), part));
+    }
   }
 
-  private String[] chunk(String[] tokens, String[] posTags) {
-    ChunkerME chunker = new ChunkerME(chunkerModel);
-    return chunker.chunk(tokens, posTags);
+  private boolean isWhitespace(String token) {
+    if (token.isEmpty()) {
+      return false;
+    }
+    for (int i = 0; i < token.length(); i++) {
+      if (!StringUtil.isWhitespace(token.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
   }
 
-  private List<ChunkTaggedToken> getTokensWithTokenReadings(List<AnalyzedTokenReadings> tokenReadings, String[] tokens, String[] chunkTags) {
-    List<ChunkTaggedToken> result = new ArrayList<>();
-    int i = 0;
-    int pos = 0;
-    for (String chunkTag : chunkTags) {
-      int startPos = pos;
-      int endPos = startPos + tokens[i].length();
-      //System.out.println("OPEN: " + tokens[i]);
-      AnalyzedTokenReadings readings = getAnalyzedTokenReadingsFor(startPos, endPos, tokenReadings);
-      result.add(new ChunkTaggedToken(tokens[i], Collections.singletonList(new ChunkTag(chunkTag)), readings));
-      pos = endPos;
-      i++;
-    }
-    return result;
+  // non-private for test cases
+  String[] tokenize(String sentence) {
+    String cleanString = sentence.replace('’', '\'');  // this is the type of apostrophe that OpenNLP expects
+    return tokenizer.get().tokenize(cleanString);
   }
 
   private void assignChunksToReadings(List<ChunkTaggedToken> chunkTaggedTokens) {
@@ -133,14 +181,6 @@ public class EnglishChunker implements Chunker {
     }
   }
 
-  private String getSentence(List<AnalyzedTokenReadings> sentenceTokens) {
-    StringBuilder sb = new StringBuilder();
-    for (AnalyzedTokenReadings token : sentenceTokens) {
-      sb.append(token.getToken());
-    }
-    return sb.toString();
-  }
-
   // Get only exact position matches - i.e. this can only be used for a trivial mapping
   // where tokens that are not exactly at the same position will be skipped. For example,
   // the tokens of "I'll" ([I] ['ll] vs [I]['][ll) cannot be mapped with this.
@@ -149,13 +189,9 @@ public class EnglishChunker implements Chunker {
     int pos = 0;
     for (AnalyzedTokenReadings tokenReading : tokenReadings) {
       String token = tokenReading.getToken();
-      if (token.trim().isEmpty()) {
-        continue;  // the OpenNLP result has no whitespace, so we need to skip it
-      }
       int tokenStart = pos;
       int tokenEnd = pos + token.length();
-      if (tokenStart == startPos && tokenEnd == endPos) {
-        //System.out.println("!!!" + startPos + " " + endPos + "  " + tokenReading);
+      if (tokenStart == startPos && tokenEnd == endPos && !token.isEmpty()) {
         return tokenReading;
       }
       pos = tokenEnd;
@@ -52,14 +52,16 @@ public abstract class AbstractEnglishSpellerRule extends MorfologikSpellerRule {
                 "Possible spelling mistake. Did you mean <suggestion>" + forms.forms.get(0) +
                 "</suggestion>, the irregular " + forms.formName + " form of the " + forms.posName +
                 " '" + forms.baseform + "'?");
-        List<String> allSuggestions = new ArrayList<>();
-        allSuggestions.addAll(forms.forms);
-        for (String repl : oldMatch.getSuggestedReplacements()) {
-          if (!allSuggestions.contains(repl)) {
-            allSuggestions.add(repl);
+        newMatch.setLazySuggestedReplacements(() -> {
+          List<String> allSuggestions = new ArrayList<>();
+          allSuggestions.addAll(forms.forms);
+          for (String repl : oldMatch.getSuggestedReplacements()) {
+            if (!allSuggestions.contains(repl)) {
+              allSuggestions.add(repl);
+            }
           }
-        }
-        newMatch.setSuggestedReplacements(allSuggestions);
+          return allSuggestions;
+        });
         ruleMatches.set(0, newMatch);
       }
     }
@@ -115,11 +117,10 @@ public abstract class AbstractEnglishSpellerRule extends MorfologikSpellerRule {
   }
 
   /**
-   * @throws IOException 
    * @since 2.7
    */
   @Override
-  protected List<String> getAdditionalTopSuggestions(List<String> suggestions, String word) throws IOException {
+  protected List<String> getAdditionalTopSuggestions(List<String> suggestions, String word) {
     if ("Alot".equals(word)) {
       return Arrays.asList("A lot");
     } else if ("alot".equals(word)) {
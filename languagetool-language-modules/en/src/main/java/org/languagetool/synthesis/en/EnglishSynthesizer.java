@@ -21,10 +21,7 @@ package org.languagetool.synthesis.en;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-import morfologik.stemming.IStemmer;
 import morfologik.stemming.WordData;
 
 import org.languagetool.AnalyzedToken;
@@ -81,8 +78,7 @@ public class EnglishSynthesizer extends BaseSynthesizer {
     } else if (ADD_IND_DETERMINER.equals(posTag)) {
       return new String[] { aOrAn };
     }
-    final IStemmer synthesizer = createStemmer();
-    final List<WordData> wordData = synthesizer.lookup(token.getLemma() + "|" + posTag);
+    final List<WordData> wordData = getStemmer().lookup(token.getLemma() + "|" + posTag);
     final List<String> wordForms = new ArrayList<>();
     for (WordData wd : wordData) {
       wordForms.add(wd.getStem().toString());
@@ -112,15 +108,9 @@ public class EnglishSynthesizer extends BaseSynthesizer {
         det = "the ";
       }
 
-      initPossibleTags();
-      final Pattern p = Pattern.compile(myPosTag);
       final List<String> results = new ArrayList<>();
-
-      for (final String tag : possibleTags) {
-        final Matcher m = p.matcher(tag);
-        if (m.matches()) {
-          lookup(token.getLemma(), tag, results, det);
-        }
+      for (final String tag : getMatchingTags(myPosTag)) {
+        lookup(token.getLemma(), tag, results, det);
       }
       return results.toArray(new String[results.size()]);
     }
@@ -129,11 +119,9 @@ public class EnglishSynthesizer extends BaseSynthesizer {
   }
 
   private void lookup(String lemma, String posTag, List<String> results, String determiner) {
-    synchronized (this) { // the stemmer is not thread-safe
-      final List<WordData> wordForms = getStemmer().lookup(lemma + "|" + posTag);
-      for (WordData wd : wordForms) {
-        results.add(determiner + wd.getStem());
-      }
+    final List<WordData> wordForms = getStemmer().lookup(lemma + "|" + posTag);
+    for (WordData wd : wordForms) {
+      results.add(determiner + wd.getStem());
     }
   }
 
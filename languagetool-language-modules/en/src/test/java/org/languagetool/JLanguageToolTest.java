@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import junit.framework.TestCase;
 
@@ -32,6 +33,7 @@ import org.languagetool.language.English;
 import org.languagetool.rules.Category;
 import org.languagetool.rules.Rule;
 import org.languagetool.rules.RuleMatch;
+import org.languagetool.rules.TextLevelRule;
 import org.languagetool.rules.patterns.PatternToken;
 import org.languagetool.rules.patterns.PatternRule;
 
@@ -177,6 +179,34 @@ public class JLanguageToolTest extends TestCase {
     }
   }
 
+  public void testMaxSuggestions() throws IOException {
+    final JLanguageTool tool = new JLanguageTool(new AmericanEnglish());
+    final List<RuleMatch> allSuggestions = tool.check("This is a tset.");
+    assertEquals(1, allSuggestions.size());
+    assertTrue(allSuggestions.get(0).getSuggestedReplacements().size() > 1);
+    tool.setMaxSuggestions(1);
+    final List<RuleMatch> oneSuggestion = tool.check("This is a tset.");
+    assertEquals(1, oneSuggestion.size());
+    assertEquals(allSuggestions.get(0).getSuggestedReplacements().subList(0, 1), oneSuggestion.get(0).getSuggestedReplacements());
+    tool.setMaxSuggestions(0);
+    final List<RuleMatch> noSuggestions = tool.check("This is a tset.");
+    assertEquals(1, noSuggestions.size());
+    assertEquals(allSuggestions.get(0).getFromPos(), noSuggestions.get(0).getFromPos());
+    assertEquals(0, noSuggestions.get(0).getSuggestedReplacements().size());
+  }
+
+  public void testMaxSuggestionsForTextLevelRule() throws IOException {
+    final JLanguageTool tool = new JLanguageTool(new AmericanEnglish());
+    final LazySuggestionsTextLevelRule rule = new LazySuggestionsTextLevelRule();
+    tool.addRule(rule);
+    tool.setMaxSuggestions(1);
+    final List<RuleMatch> matches = tool.check("This is a test.");
+    final RuleMatch match = matches.stream().filter(m -> m.getRule() == rule).findFirst().get();
+    assertEquals("suggestions must not be computed before they are needed", 0, rule.supplierCalls.get());
+    assertEquals(Arrays.asList("a"), match.getSuggestedReplacements());
+    assertEquals(1, rule.supplierCalls.get());
+  }
+
   public void testOverlapFilter() throws IOException {
     final Category category = new Category("test category");
     final List<PatternToken> elements1 = Arrays.asList(new PatternToken("one", true, false, false));
@@ -204,4 +234,33 @@ public class JLanguageToolTest extends TestCase {
     assertEquals("one overlapping rule must be filtered out", 1, ruleMatches2.size());
     assertEquals("msg1", ruleMatches2.get(0).getMessage());
   }
+
+  static class LazySuggestionsTextLevelRule extends TextLevelRule {
+
+    private final AtomicInteger supplierCalls = new AtomicInteger();
+
+    LazySuggestionsTextLevelRule() {
+      super(null);
+    }
+
+    @Override
+    public String getId() {
+      return "LAZY_SUGGESTIONS_TEXT_LEVEL_RULE";
+    }
+
+    @Override
+    public String getDescription() {
+      return "test rule with lazy suggestions";
+    }
+
+    @Override
+    public RuleMatch[] match(List<AnalyzedSentence> sentences) {
+      final RuleMatch match = new RuleMatch(this, 0, 4, "msg");
+      match.setLazySuggestedReplacements(() -> {
+        supplierCalls.incrementAndGet();
+        return Arrays.asList("a", "b", "c");
+      });
+      return new RuleMatch[] {match};
+    }
+  }
 }
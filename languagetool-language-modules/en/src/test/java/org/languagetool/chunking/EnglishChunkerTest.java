@@ -29,6 +29,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.StringTokenizer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
@@ -78,6 +81,33 @@ public class EnglishChunkerTest {
     assertThat(tokens[5].getChunkTags().get(0), is(new ChunkTag("I-VP")));
   }
 
+  @Test
+  public void testConcurrentUse() throws Exception {
+    EnglishChunker chunker = new EnglishChunker();
+    String sentence = "A short test of the bicycle is needed";
+    List<AnalyzedTokenReadings> expected = createReadingsList(sentence);
+    chunker.addChunkTags(expected);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<List<AnalyzedTokenReadings>>> futures = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        futures.add(executor.submit(() -> {
+          List<AnalyzedTokenReadings> readingsList = createReadingsList(sentence);
+          chunker.addChunkTags(readingsList);
+          return readingsList;
+        }));
+      }
+      for (Future<List<AnalyzedTokenReadings>> future : futures) {
+        List<AnalyzedTokenReadings> readingsList = future.get();
+        for (int i = 0; i < expected.size(); i++) {
+          assertThat(readingsList.get(i).getChunkTags(), is(expected.get(i).getChunkTags()));
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   public void testTokenize() throws Exception {
     EnglishChunker chunker = new EnglishChunker();
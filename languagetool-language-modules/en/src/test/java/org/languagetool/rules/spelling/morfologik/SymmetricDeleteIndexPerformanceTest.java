@@ -0,0 +1,123 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling.morfologik;
+
+import morfologik.stemming.Dictionary;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.languagetool.JLanguageTool;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.*;
+
+/**
+ * Compares speed and suggestions of the Morfologik speller with an edit distance of 2
+ * with and without a {@link SymmetricDeleteIndex}.
+ */
+public class SymmetricDeleteIndexPerformanceTest {
+
+  private static final String DICT = "/en/hunspell/en_US.dict";
+  private static final int RUNS = 3;
+  private static final String[] MISSPELLINGS = {"garentee", "greatful", "recieve", "definately", "seperate",
+          "occurence", "accomodate", "begining", "beleive", "calender", "concious", "embarass", "enviroment",
+          "existance", "foriegn", "goverment", "harrass", "independant", "knowlege", "millenium", "neccessary",
+          "noticable", "occassion", "persistant", "posession", "publically", "reccomend", "refered", "rythm",
+          "tommorow", "truely", "untill", "wierd", "wich", "teh", "becuase", "thier", "acheive", "arguement"};
+
+  @Test
+  @Ignore("Interactive use only")
+  public void testPerformance() throws IOException {
+    Dictionary dictionary = JLanguageTool.getDataBroker().getDictionaryFromResourceDir(DICT);
+    long buildStart = System.currentTimeMillis();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    SymmetricDeleteIndex.write(dictionary, 2, 7, out);
+    SymmetricDeleteIndex index = new SymmetricDeleteIndex(ByteBuffer.wrap(out.toByteArray()));
+    System.out.printf("Index built in %dms, size: %,d bytes\n", System.currentTimeMillis() - buildStart, out.size());
+
+    MorfologikSpeller speller = new MorfologikSpeller(dictionary, 2);
+    MorfologikSpeller indexSpeller = new MorfologikSpeller(dictionary, 2, index);
+    List<String> words = new ArrayList<>(Arrays.asList(MISSPELLINGS));
+    words.addAll(getRandomMisspellings(dictionary, 500));
+
+    for (int run = 0; run < RUNS; run++) {
+      System.out.printf("Run %d: Morfologik: %dms, index: %dms\n", run, getTime(speller, words), getTime(indexSpeller, words));
+    }
+    int sameFirst = 0;
+    int bothEmpty = 0;
+    double overlapSum = 0;
+    for (String word : words) {
+      List<String> expected = speller.getSuggestions(word);
+      List<String> actual = indexSpeller.getSuggestions(word);
+      if (expected.isEmpty() && actual.isEmpty()) {
+        bothEmpty++;
+        overlapSum += 1;
+        continue;
+      }
+      if (!expected.isEmpty() && !actual.isEmpty() && expected.get(0).equals(actual.get(0))) {
+        sameFirst++;
+      }
+      Set<String> common = new HashSet<>(expected);
+      common.retainAll(actual);
+      overlapSum += expected.isEmpty() ? 0 : (double) common.size() / expected.size();
+    }
+    System.out.printf("%d words: same first suggestion: %d, no suggestions from both: %d, share of Morfologik suggestions also found: %.3f\n",
+            words.size(), sameFirst, bothEmpty, overlapSum / words.size());
+  }
+
+  private long getTime(MorfologikSpeller speller, List<String> words) {
+    long startTime = System.currentTimeMillis();
+    for (String word : words) {
+      speller.getSuggestions(word);
+    }
+    return System.currentTimeMillis() - startTime;
+  }
+
+  // misspellings created by applying two random edits to dictionary words:
+  private List<String> getRandomMisspellings(Dictionary dictionary, int count) {
+    Charset charset = Charset.forName(dictionary.metadata.getEncoding());
+    List<String> dictWords = new ArrayList<>();
+    for (ByteBuffer sequence : dictionary.fsa) {
+      String word = new String(sequence.array(), sequence.arrayOffset() + sequence.position(), sequence.remaining(), charset);
+      int sepPos = word.indexOf(dictionary.metadata.getSeparatorAsChar());
+      word = sepPos == -1 ? word : word.substring(0, sepPos);
+      if (word.length() >= 5 && word.chars().allMatch(Character::isLowerCase)) {
+        dictWords.add(word);
+      }
+    }
+    Random random = new Random(42);
+    List<String> result = new ArrayList<>();
+    while (result.size() < count) {
+      StringBuilder sb = new StringBuilder(dictWords.get(random.nextInt(dictWords.size())));
+      for (int i = 0; i < 2; i++) {
+        int pos = random.nextInt(sb.length());
+        switch (random.nextInt(3)) {
+          case 0: sb.deleteCharAt(pos); break;
+          case 1: sb.insert(pos, (char) ('a' + random.nextInt(26))); break;
+          default: sb.setCharAt(pos, (char) ('a' + random.nextInt(26)));
+        }
+      }
+      result.add(sb.toString());
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,100 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.synthesis.en;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.languagetool.AnalyzedToken;
+import org.languagetool.tagging.MorfologikTagger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Measures how dictionary lookups of the synthesizer and the tagger scale with the number of threads,
+ * and how fast synthesis with regular expressions for the POS tag is.
+ */
+public class EnglishSynthesizerPerformanceTest {
+
+  private static final int WARMUP_RUNS = 3;
+  private static final int RUNS = 5;
+  private static final int LOOKUPS_PER_THREAD = 200_000;
+  private static final String[] LEMMAS = {"be", "have", "test", "house", "president", "work", "go", "big", "university", "hour"};
+  private static final String[] TAGS = {"VBD", "VBG", "VBZ", "NNS", "JJR"};
+  private static final String[] TAG_REGEXPS = {"VB[DN]", "VBG|VBZ", "NNS?", "JJ[RS]", "VB.*"};
+
+  @Test
+  @Ignore("Interactive use only")
+  public void testPerformance() throws Exception {
+    EnglishSynthesizer synthesizer = new EnglishSynthesizer();
+    MorfologikTagger tagger = new MorfologikTagger("/en/english.dict");
+    for (int threads : new int[] {1, 2, 4, 8}) {
+      run("synthesizer", threads, i -> {
+        synthesizer.synthesize(new AnalyzedToken(LEMMAS[i % LEMMAS.length], null, LEMMAS[i % LEMMAS.length]), TAGS[i % TAGS.length]);
+      });
+      run("tagger", threads, i -> tagger.tag(LEMMAS[i % LEMMAS.length]));
+    }
+  }
+
+  @Test
+  @Ignore("Interactive use only")
+  public void testRegExpPerformance() throws Exception {
+    EnglishSynthesizer synthesizer = new EnglishSynthesizer();
+    run("regexp", 1, i -> {
+      synthesizer.synthesize(new AnalyzedToken(LEMMAS[i % LEMMAS.length], null, LEMMAS[i % LEMMAS.length]), TAG_REGEXPS[i % TAG_REGEXPS.length], true);
+    });
+  }
+
+  private void run(String name, int threads, Lookup lookup) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      long bestTime = Long.MAX_VALUE;
+      for (int run = 0; run < WARMUP_RUNS + RUNS; run++) {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+          tasks.add(() -> {
+            for (int i = 0; i < LOOKUPS_PER_THREAD; i++) {
+              lookup.run(i);
+            }
+            return null;
+          });
+        }
+        long startTime = System.nanoTime();
+        for (Future<Void> future : executor.invokeAll(tasks)) {
+          future.get();
+        }
+        long runTime = System.nanoTime() - startTime;
+        if (run >= WARMUP_RUNS) {
+          bestTime = Math.min(bestTime, runTime);
+        }
+      }
+      long lookupsPerSecond = (long) threads * LOOKUPS_PER_THREAD * 1_000_000_000L / bestTime;
+      System.out.printf("%-11s %d thread(s): %,d lookups/s\n", name, threads, lookupsPerSecond);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  interface Lookup {
+    void run(int i) throws IOException;
+  }
+
+}
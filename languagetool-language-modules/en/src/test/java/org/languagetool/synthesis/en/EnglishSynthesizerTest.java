@@ -20,7 +20,12 @@
 package org.languagetool.synthesis.en;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import junit.framework.TestCase;
 
@@ -58,4 +63,28 @@ public class EnglishSynthesizerTest extends TestCase {
     assertEquals("[the hour]", Arrays.toString(synth.synthesize(dummyToken("hours", "hour"), "NN\\+DT", true)));
   }
 
+  public final void testConcurrentSynthesis() throws Exception {
+    EnglishSynthesizer synth = new EnglishSynthesizer();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(executor.submit(() -> {
+          for (int j = 0; j < 1000; j++) {
+            if (!"[was, were]".equals(Arrays.toString(synth.synthesize(dummyToken("be"), "VBD"))) ||
+                !"[tested, testing]".equals(Arrays.toString(synth.synthesize(dummyToken("test"), "VBD|VBG", true)))) {
+              return false;
+            }
+          }
+          return true;
+        }));
+      }
+      for (Future<Boolean> result : results) {
+        assertTrue(result.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
 }
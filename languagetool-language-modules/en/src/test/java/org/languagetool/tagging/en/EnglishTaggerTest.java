@@ -20,6 +20,7 @@ package org.languagetool.tagging.en;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import junit.framework.TestCase;
@@ -79,4 +80,15 @@ public class EnglishTaggerTest extends TestCase {
     assertEquals("work", aToken.get(1).getReadings().get(1).getLemma());
   }
 
+  public void testCachedReadingsAreNotShared() throws IOException {
+    EnglishTagger tagger = new EnglishTagger();
+    List<AnalyzedTokenReadings> first = tagger.tag(Arrays.asList("works"));
+    first.get(0).setWhitespaceBefore(true);
+    first.get(0).removeReading(first.get(0).getAnalyzedToken(0));
+    List<AnalyzedTokenReadings> second = tagger.tag(Arrays.asList("works"));
+    assertEquals(2, second.get(0).getReadings().size());
+    assertFalse(second.get(0).getAnalyzedToken(0).isWhitespaceBefore());
+    assertTrue(tagger.getAnalysisCacheHitRate() > 0);
+  }
+
 }
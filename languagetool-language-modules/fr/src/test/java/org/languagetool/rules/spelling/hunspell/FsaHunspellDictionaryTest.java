@@ -0,0 +1,107 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling.hunspell;
+
+import org.junit.Test;
+import org.languagetool.JLanguageTool;
+import org.languagetool.TestTools;
+import org.languagetool.language.French;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares the pure Java implementation with the native Hunspell library.
+ */
+public class FsaHunspellDictionaryTest {
+
+  @Test
+  public void testSameResultsAsNativeHunspell() throws Exception {
+    String baseName = getBaseName();
+    // not the shared instances, as HunspellRule adds words to those:
+    HunspellDictionary nativeDict = Hunspell.getInstance().new Dictionary(baseName);
+    HunspellDictionary javaDict = new FsaHunspellDictionary(baseName, FsaHunspellDictionary.getDefaultCacheDir());
+    try {
+      Set<String> words = getWords(nativeDict.getWordChars());
+      List<String> differences = new ArrayList<>();
+      for (String word : words) {
+        if (nativeDict.misspelled(word) != javaDict.misspelled(word)) {
+          differences.add(word);
+        }
+      }
+      // there are some small differences in the handling of case for homonyms and hyphenated words:
+      assertTrue("Too many differences for " + words.size() + " words: " + differences, differences.size() <= words.size() / 1000);
+      for (String word : Arrays.asList("maison", "maisons", "L'Allemagne", "l’Italie", "Aujourd'hui", "après-demain", "FRANÇAIS", "1er")) {
+        assertFalse(word, javaDict.misspelled(word));
+      }
+      for (String word : Arrays.asList("maisonn", "l'allemagne", "recevoire")) {
+        assertTrue(word, javaDict.misspelled(word));
+      }
+    } finally {
+      nativeDict.destroy();
+    }
+  }
+
+  @Test
+  public void testRuleWithJavaEngine() throws Exception {
+    String oldValue = System.setProperty(HunspellRule.ENGINE_PROPERTY, "java");
+    try {
+      French french = new French();
+      HunspellRule rule = new HunspellRule(TestTools.getMessages("fr"), french);
+      JLanguageTool langTool = new JLanguageTool(french);
+      assertEquals(0, rule.match(langTool.getAnalyzedSentence("Un test simple.")).length);
+      assertEquals(1, rule.match(langTool.getAnalyzedSentence("Un test simpple.")).length);
+      assertEquals(0, rule.match(langTool.getAnalyzedSentence("LanguageTool")).length);
+      assertEquals(0, rule.match(langTool.getAnalyzedSentence("Il arrive après-demain.")).length);
+      assertEquals(0, rule.match(langTool.getAnalyzedSentence("Aujourd’hui et jusqu’à demain.")).length);
+      assertEquals(2, rule.match(langTool.getAnalyzedSentence("L’allemagne et l’italie.")).length);
+      assertTrue(rule.getSuggestions("simpple").contains("simple"));
+    } finally {
+      if (oldValue == null) {
+        System.clearProperty(HunspellRule.ENGINE_PROPERTY);
+      } else {
+        System.setProperty(HunspellRule.ENGINE_PROPERTY, oldValue);
+      }
+    }
+  }
+
+  static String getBaseName() throws Exception {
+    File dic = new File(JLanguageTool.getDataBroker().getFromResourceDirAsUrl("/fr/hunspell/fr_FR.dic").toURI());
+    return dic.getAbsolutePath().replaceFirst("\\.dic$", "");
+  }
+
+  // the words of the examples in the French grammar.xml, tokenized like HunspellRule does:
+  static Set<String> getWords(String wordChars) throws IOException {
+    String text;
+    try (InputStream stream = JLanguageTool.getDataBroker().getFromRulesDirAsStream("/fr/grammar.xml");
+         Scanner scanner = new Scanner(stream, "utf-8")) {
+      text = scanner.useDelimiter("\\A").next();
+    }
+    Pattern nonWord = Pattern.compile("(?![" + wordChars.replace("-", "\\-") + "])[^\\p{L}]");
+    Set<String> words = new LinkedHashSet<>(Arrays.asList(nonWord.split(text.replaceAll("<[^>]+>", " "))));
+    words.remove("");
+    return words;
+  }
+
+}
@@ -0,0 +1,81 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling.hunspell;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the speed of the native Hunspell library and {@link FsaHunspellDictionary}.
+ */
+public class HunspellEnginePerformanceTest {
+
+  private static final int WARMUP_RUNS = 3;
+  private static final int RUNS = 5;
+  private static final int SUGGESTION_WORDS = 200;
+
+  @Test
+  @Ignore("Interactive use only")
+  public void testPerformance() throws Exception {
+    String baseName = FsaHunspellDictionaryTest.getBaseName();
+    long startTime = System.currentTimeMillis();
+    HunspellDictionary nativeDict = Hunspell.getInstance().getDictionary(baseName);
+    System.out.printf("Native: loaded in %dms\n", System.currentTimeMillis() - startTime);
+    startTime = System.currentTimeMillis();
+    HunspellDictionary javaDict = FsaHunspellDictionary.getInstance(baseName);
+    System.out.printf("Java: loaded in %dms (the first time includes creating the cache)\n", System.currentTimeMillis() - startTime);
+    List<String> words = new ArrayList<>(FsaHunspellDictionaryTest.getWords(nativeDict.getWordChars()));
+    List<String> misspellings = new ArrayList<>();
+    for (String word : words) {
+      if (misspellings.size() < SUGGESTION_WORDS && nativeDict.misspelled(word)) {
+        misspellings.add(word);
+      }
+    }
+    run("Native", nativeDict, words, misspellings);
+    run("Java", javaDict, words, misspellings);
+  }
+
+  private void run(String name, HunspellDictionary dict, List<String> words, List<String> misspellings) throws IOException {
+    long bestCheckTime = Long.MAX_VALUE;
+    long bestSuggestTime = Long.MAX_VALUE;
+    for (int i = 0; i < WARMUP_RUNS + RUNS; i++) {
+      long startTime = System.nanoTime();
+      for (String word : words) {
+        dict.misspelled(word);
+      }
+      long checkTime = System.nanoTime() - startTime;
+      startTime = System.nanoTime();
+      for (String word : misspellings) {
+        dict.suggest(word);
+      }
+      long suggestTime = System.nanoTime() - startTime;
+      if (i >= WARMUP_RUNS) {
+        bestCheckTime = Math.min(bestCheckTime, checkTime);
+        bestSuggestTime = Math.min(bestSuggestTime, suggestTime);
+      }
+    }
+    System.out.printf("%s: %d words checked in %.1fms (%.0f words/s), suggestions for %d words in %.1fms\n", name,
+            words.size(), bestCheckTime / 1e6, words.size() / (bestCheckTime / 1e9), misspellings.size(), bestSuggestTime / 1e6);
+  }
+
+}
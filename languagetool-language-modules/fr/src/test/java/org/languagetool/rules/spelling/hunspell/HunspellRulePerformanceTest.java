@@ -0,0 +1,93 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling.hunspell;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.AnalyzedTokenReadings;
+import org.languagetool.JLanguageTool;
+import org.languagetool.TestTools;
+import org.languagetool.language.French;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares splitting sentences into words with a regular expression on the sentence text
+ * to walking the tokens with {@link HunspellRule#getWords(AnalyzedTokenReadings[], int[])}.
+ */
+public class HunspellRulePerformanceTest {
+
+  private static final int WARMUP_RUNS = 3;
+  private static final int RUNS = 5;
+  private static final int ITERATIONS = 200;
+
+  @Test
+  @Ignore("Interactive use only")
+  public void testPerformance() throws Exception {
+    French french = new French();
+    HunspellRule rule = new HunspellRule(TestTools.getMessages("fr"), french);
+    JLanguageTool langTool = new JLanguageTool(french);
+    List<AnalyzedSentence> sentences = new ArrayList<>();
+    for (String word : FsaHunspellDictionaryTest.getWords("-")) {
+      if (sentences.size() >= 1000) {
+        break;
+      }
+      sentences.add(langTool.getAnalyzedSentence("L'année dernière, " + word + " et aujourd'hui après-demain, voir http://example.org/" + word + " ici."));
+    }
+    rule.match(sentences.get(0));
+    long bestRegexTime = Long.MAX_VALUE;
+    long bestScanTime = Long.MAX_VALUE;
+    long bestMatchTime = Long.MAX_VALUE;
+    int words = 0;
+    for (int i = 0; i < WARMUP_RUNS + RUNS; i++) {
+      long startTime = System.nanoTime();
+      for (int j = 0; j < ITERATIONS; j++) {
+        for (AnalyzedSentence sentence : sentences) {
+          words += rule.tokenizeText(sentence.getText()).length;
+        }
+      }
+      long regexTime = System.nanoTime() - startTime;
+      startTime = System.nanoTime();
+      for (int j = 0; j < ITERATIONS; j++) {
+        for (AnalyzedSentence sentence : sentences) {
+          AnalyzedTokenReadings[] tokens = sentence.getTokens();
+          words += rule.getWords(tokens, new int[HunspellRule.getMaxWordCount(tokens)]).size();
+        }
+      }
+      long scanTime = System.nanoTime() - startTime;
+      startTime = System.nanoTime();
+      for (AnalyzedSentence sentence : sentences) {
+        rule.match(sentence);
+      }
+      long matchTime = System.nanoTime() - startTime;
+      if (i >= WARMUP_RUNS) {
+        bestRegexTime = Math.min(bestRegexTime, regexTime);
+        bestScanTime = Math.min(bestScanTime, scanTime);
+        bestMatchTime = Math.min(bestMatchTime, matchTime);
+      }
+    }
+    int count = sentences.size() * ITERATIONS;
+    System.out.printf("Regex split: %.2fus per sentence\n", bestRegexTime / 1e3 / count);
+    System.out.printf("Token scan:  %.2fus per sentence\n", bestScanTime / 1e3 / count);
+    System.out.printf("match():     %.2fus per sentence (%d)\n", bestMatchTime / 1e3 / sentences.size(), words);
+  }
+
+}
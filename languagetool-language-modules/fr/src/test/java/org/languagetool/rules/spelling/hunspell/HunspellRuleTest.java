@@ -20,11 +20,18 @@
 package org.languagetool.rules.spelling.hunspell;
 
 import org.junit.Test;
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.AnalyzedTokenReadings;
 import org.languagetool.JLanguageTool;
 import org.languagetool.TestTools;
 import org.languagetool.language.French;
+import org.languagetool.rules.RuleMatch;
 import org.languagetool.tagging.disambiguation.Disambiguator;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import static org.junit.Assert.*;
 
 public class HunspellRuleTest {
@@ -70,4 +77,42 @@ public class HunspellRuleTest {
     langTool = new JLanguageTool(frenchWithDisambiguator);
     assertEquals(0, rule.match(langTool.getAnalyzedSentence("languageTool est génial.")).length);
   }
+
+  @Test
+  public void testGetWords() throws Exception {
+    final French french = new French();
+    final HunspellRule rule = new HunspellRule(TestTools.getMessages("fr"), french);
+    final JLanguageTool langTool = new JLanguageTool(french);
+    rule.match(langTool.getAnalyzedSentence("Init."));
+    for (String text : Arrays.asList("Un test simple.", "L'Haÿ-les-Roses, après-demain !", "  Deux  espaces --- et http://example.org ici.",
+            "Aujourd’hui 3,5 km/h... fin", "x")) {
+      final AnalyzedTokenReadings[] tokens = langTool.getAnalyzedSentence(text).getTokens();
+      final int[] startPositions = new int[HunspellRule.getMaxWordCount(tokens)];
+      final List<String> words = rule.getWords(tokens, startPositions);
+      final List<String> expected = new ArrayList<>();
+      for (String word : rule.tokenizeText(text.replace("http://example.org", "                  "))) {
+        if (!word.isEmpty()) {
+          expected.add(word);
+        }
+      }
+      assertEquals(expected, words);
+      for (int i = 0; i < words.size(); i++) {
+        assertEquals(words.get(i), text.substring(startPositions[i], startPositions[i] + words.get(i).length()));
+      }
+    }
+  }
+
+  @Test
+  public void testMatchPositions() throws Exception {
+    final French french = new French();
+    final HunspellRule rule = new HunspellRule(TestTools.getMessages("fr"), french);
+    final JLanguageTool langTool = new JLanguageTool(french);
+    final AnalyzedSentence sentence = langTool.getAnalyzedSentence("Un  tesst, et l'Haÿ-les-Rozes.");
+    final RuleMatch[] matches = rule.match(sentence);
+    assertEquals(2, matches.length);
+    assertEquals(4, matches[0].getFromPos());
+    assertEquals(9, matches[0].getToPos());
+    assertEquals(14, matches[1].getFromPos());
+    assertEquals(29, matches[1].getToPos());
+  }
 }
@@ -25,16 +25,23 @@ import java.util.List;
 import org.languagetool.AnalyzedToken;
 import org.languagetool.AnalyzedTokenReadings;
 import org.languagetool.tagging.Tagger;
+import org.languagetool.tokenizers.TaggedTokenList;
 
 public class JapaneseTagger implements Tagger {
 
   @Override
   public List<AnalyzedTokenReadings> tag(List<String> sentenceTokens) throws IOException {
     final List<AnalyzedTokenReadings> tokenReadings = new ArrayList<>(sentenceTokens.size());
+    final TaggedTokenList taggedTokens = sentenceTokens instanceof TaggedTokenList ? (TaggedTokenList) sentenceTokens : null;
     int pos = 0;
-
+    int i = 0;
     for (String word : sentenceTokens) {
-      AnalyzedToken at = asAnalyzedToken(word);
+      // use the analysis from JapaneseWordTokenizer if there is one, so the token needn't be parsed again:
+      AnalyzedToken at = taggedTokens != null ? taggedTokens.getAnalyzedToken(i) : null;
+      if (at == null) {
+        at = asAnalyzedToken(word);
+      }
+      i++;
       tokenReadings.add(new AnalyzedTokenReadings(at, pos));
       pos += at.getToken().length();
     }
@@ -53,11 +60,12 @@ public class JapaneseTagger implements Tagger {
   }
 
   private AnalyzedToken asAnalyzedToken(final String word) {
-    String[] parts = word.split(" ");
-    if (parts.length != 3) {
+    int posStart = word.indexOf(' ');
+    int lemmaStart = posStart == -1 ? -1 : word.indexOf(' ', posStart + 1);
+    if (lemmaStart == -1 || lemmaStart == word.length() - 1 || word.indexOf(' ', lemmaStart + 1) != -1) {
       return new AnalyzedToken(" ", null, null);
     }
-    return new AnalyzedToken(parts[0], parts[1], parts[2]);
+    return new AnalyzedToken(word.substring(0, posStart), word.substring(posStart + 1, lemmaStart), word.substring(lemmaStart + 1));
   }
 
 }
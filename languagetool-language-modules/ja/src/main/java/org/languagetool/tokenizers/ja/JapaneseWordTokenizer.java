@@ -20,39 +20,61 @@ package org.languagetool.tokenizers.ja;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import net.java.sen.*;
 import net.java.sen.dictionary.Token;
 
+import org.languagetool.AnalyzedToken;
+import org.languagetool.tokenizers.TaggedTokenList;
 import org.languagetool.tokenizers.Tokenizer;
 
+/**
+ * Splits Japanese text into tokens using Sen. The result is a {@link TaggedTokenList}
+ * whose strings have the form {@code surface partOfSpeech basicForm} and which also
+ * carries the analysis, so {@link org.languagetool.tagging.ja.JapaneseTagger} doesn't
+ * need to parse the strings again. This class is thread-safe.
+ */
 public class JapaneseWordTokenizer implements Tokenizer {
 
-  private final StringTagger stringTagger;
-
-  public JapaneseWordTokenizer() {
-    stringTagger = SenFactory.getStringTagger(null);
-  }
+  // StringTagger is not thread-safe, but instances share the dictionary data of their
+  // SenFactory, so we keep a pool of instances that grows with the number of concurrent callers:
+  private static final Queue<StringTagger> stringTaggers = new ConcurrentLinkedQueue<>();
 
   @Override  
   public List<String> tokenize(String text) {
-    final List<String> ret = new ArrayList<>();
     List<Token> tokens = new ArrayList<>();
+    StringTagger stringTagger = borrowStringTagger();
+    final TaggedTokenList ret;
     try {
       stringTagger.analyze(text, tokens);
-    } catch (Exception e) {
-      return ret;
-    }
-    
-    for(Token token : tokens){
-      String basicForm;
-      if (token.getMorpheme().getBasicForm().equalsIgnoreCase("*")) {
-        basicForm = token.getSurface();
-      } else {
-        basicForm = token.getMorpheme().getBasicForm();
+      ret = new TaggedTokenList(tokens.size());
+      // the morphemes are read lazily from the tagger's dictionary buffers, so this
+      // needs to happen before another thread can use the tagger:
+      for (Token token : tokens) {
+        String surface = token.getSurface();
+        String partOfSpeech = token.getMorpheme().getPartOfSpeech();
+        String basicForm = token.getMorpheme().getBasicForm();
+        if (basicForm.equalsIgnoreCase("*")) {
+          basicForm = surface;
+        }
+        ret.add(surface + " " + partOfSpeech + " " + basicForm, new AnalyzedToken(surface, partOfSpeech, basicForm));
       }
-      ret.add(token.getSurface() + " " + token.getMorpheme().getPartOfSpeech() + " " + basicForm);
+    } catch (Exception e) {
+      // the tagger may be left in an inconsistent state, so it's not put back into the pool
+      // (the pool creates a new one when needed):
+      return new ArrayList<>();
     }
+    stringTaggers.offer(stringTagger);
     return ret;
   }
+
+  private static StringTagger borrowStringTagger() {
+    StringTagger stringTagger = stringTaggers.poll();
+    if (stringTagger == null) {
+      stringTagger = SenFactory.getStringTagger(null);
+    }
+    return stringTagger;
+  }
 }
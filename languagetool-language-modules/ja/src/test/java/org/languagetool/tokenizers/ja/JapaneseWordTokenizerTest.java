@@ -21,7 +21,9 @@ package org.languagetool.tokenizers.ja;
 
 import junit.framework.TestCase;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.*;
 
 public class JapaneseWordTokenizerTest extends TestCase {
 
@@ -34,4 +36,29 @@ public class JapaneseWordTokenizerTest extends TestCase {
     assertEquals(testList.size(), 12);
     assertEquals("[私 名詞-代名詞-一般 私, は 助詞-係助詞 は, 「 記号-括弧開 「, うん 感動詞 うん, 、 記号-読点 、, そう 副詞-助詞類接続 そう, だ 助動詞 だ, 」 記号-括弧閉 」, と 助詞-格助詞-引用 と, 答え 動詞-自立 答える, た 助動詞 た, 。 記号-句点 。]", testList.toString());
   }
+
+  public void testTokenizeWithThreads() throws Exception {
+    JapaneseWordTokenizer w = new JapaneseWordTokenizer();
+    String[] sentences = {"これはペンです。", "私は「うん、そうだ」と答えた。"};
+    String[] expected = {w.tokenize(sentences[0]).toString(), w.tokenize(sentences[1]).toString()};
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Callable<Boolean>> tasks = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        tasks.add(() -> {
+          for (int j = 0; j < 500; j++) {
+            if (!w.tokenize(sentences[j % 2]).toString().equals(expected[j % 2])) {
+              return false;
+            }
+          }
+          return true;
+        });
+      }
+      for (Future<Boolean> future : executor.invokeAll(tasks)) {
+        assertTrue(future.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 }
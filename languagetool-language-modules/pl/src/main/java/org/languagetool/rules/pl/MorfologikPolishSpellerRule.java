@@ -123,17 +123,22 @@ public final class MorfologikPolishSpellerRule extends MorfologikSpellerRule {
         ruleMatches.add(ruleMatch);
         return ruleMatches;
       }
-      List<String> suggestions = speller1.getSuggestions(word);
-      suggestions.addAll(0, getAdditionalTopSuggestions(suggestions, word));
-      suggestions.addAll(getAdditionalSuggestions(suggestions, word));
-      if (!suggestions.isEmpty()) {
-        ruleMatch.setSuggestedReplacements(pruneSuggestions(orderSuggestions(suggestions,word)));
-      }
+      ruleMatch.setLazySuggestedReplacements(() -> getCachedSuggestions(word, this::getSuggestionsForMatch));
       ruleMatches.add(ruleMatch);
     }
     return ruleMatches;
   }
 
+  private List<String> getSuggestionsForMatch(String word) {
+    List<String> suggestions = speller1.getSuggestions(word);
+    suggestions.addAll(0, getAdditionalTopSuggestions(suggestions, word));
+    suggestions.addAll(getAdditionalSuggestions(suggestions, word));
+    if (suggestions.isEmpty()) {
+      return suggestions;
+    }
+    return pruneSuggestions(orderSuggestions(suggestions, word));
+  }
+
   /**
    * Check whether the word is a compound adjective or contains a non-splitting prefix.
    * Used to suppress false positives.
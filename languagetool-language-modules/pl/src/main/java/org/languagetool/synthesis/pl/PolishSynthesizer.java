@@ -20,7 +20,6 @@ package org.languagetool.synthesis.pl;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.URL;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -62,8 +61,7 @@ public class PolishSynthesizer implements Synthesizer {
       synchronized (this) {
         result = this.dictionary;
         if (result == null) {
-          final URL url = JLanguageTool.getDataBroker().getFromResourceDirAsUrl(RESOURCE_FILENAME);
-          this.dictionary = result = Dictionary.read(url);
+          this.dictionary = result = JLanguageTool.getDataBroker().getDictionaryFromResourceDir(RESOURCE_FILENAME);
         }
       }
     }
@@ -25,18 +25,24 @@ import java.util.List;
 import org.languagetool.AnalyzedToken;
 import org.languagetool.AnalyzedTokenReadings;
 import org.languagetool.tagging.Tagger;
+import org.languagetool.tokenizers.TaggedTokenList;
 
 public class ChineseTagger implements Tagger {
 
   @Override
   public List<AnalyzedTokenReadings> tag(List<String> sentenceTokens) throws IOException {
-    final List<AnalyzedTokenReadings> tokenReadings = new ArrayList<>();
+    final List<AnalyzedTokenReadings> tokenReadings = new ArrayList<>(sentenceTokens.size());
+    final TaggedTokenList taggedTokens = sentenceTokens instanceof TaggedTokenList ? (TaggedTokenList) sentenceTokens : null;
     int pos = 0;
+    int i = 0;
     for (String word : sentenceTokens) {
-      final List<AnalyzedToken> l = new ArrayList<>();
-      AnalyzedToken at = asAnalyzedToken(word);
-      l.add(at);
-      tokenReadings.add(new AnalyzedTokenReadings(l, pos));
+      // use the analysis from ChineseWordTokenizer if there is one, so the token needn't be parsed again:
+      AnalyzedToken at = taggedTokens != null ? taggedTokens.getAnalyzedToken(i) : null;
+      if (at == null) {
+        at = asAnalyzedToken(word);
+      }
+      i++;
+      tokenReadings.add(new AnalyzedTokenReadings(at, pos));
       pos += at.getToken().length();
     }
     return tokenReadings;
@@ -53,11 +59,12 @@ public class ChineseTagger implements Tagger {
   }
 
   private AnalyzedToken asAnalyzedToken(final String word) {
-    if (!word.contains("/")) {
+    int slashPos = word.indexOf('/');
+    if (slashPos == -1) {
       return new AnalyzedToken(" ", null, null);
     }
-    String[] parts = word.split("/");
-    return new AnalyzedToken(parts[0], parts[1], null);
+    int posEnd = word.indexOf('/', slashPos + 1);
+    return new AnalyzedToken(word.substring(0, slashPos), word.substring(slashPos + 1, posEnd == -1 ? word.length() : posEnd), null);
   }
 
 }
@@ -21,52 +21,44 @@ package org.languagetool.tokenizers.zh;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.ictclas4j.segment.SegTag;
+import org.languagetool.AnalyzedToken;
 import org.languagetool.JLanguageTool;
 import org.languagetool.databroker.ResourceDataBroker;
+import org.languagetool.tokenizers.TaggedTokenList;
 import org.languagetool.tokenizers.Tokenizer;
 
 import cn.com.cjf.CJFBeanFactory;
 import cn.com.cjf.ChineseJF;
 
+/**
+ * Splits Chinese text into tokens using ictclas4j. The result is a {@link TaggedTokenList}
+ * whose strings have the form {@code word/pos} and which also carries the analysis, so
+ * {@link org.languagetool.tagging.zh.ChineseTagger} doesn't need to parse the strings again.
+ * This class is thread-safe.
+ */
 public class ChineseWordTokenizer implements Tokenizer {
 
-  private SegTag seg;
-  private ChineseJF chinesdJF;
+  // SegTag is not thread-safe and each instance loads its own copy of the dictionaries,
+  // so we keep a pool of at most MAX_SEGMENTERS instances that callers borrow from:
+  private static final int MAX_SEGMENTERS = Math.max(1, Runtime.getRuntime().availableProcessors());
+  private static final BlockingQueue<SegTag> segmenters = new LinkedBlockingQueue<>();
+  private static final AtomicInteger segmenterCount = new AtomicInteger();
 
-  private void init() {
-    if (chinesdJF == null) {
-      chinesdJF = CJFBeanFactory.getChineseJF();
-    }
-    if (seg == null) {
-      final ResourceDataBroker dataBroker = JLanguageTool.getDataBroker();
-      try (InputStream coreDictIn = dataBroker.getFromResourceDirAsStream("/zh/coreDict.dct");
-           InputStream bigramDictIn = dataBroker.getFromResourceDirAsStream("/zh/BigramDict.dct");
-           InputStream personTaggerDctIn = dataBroker.getFromResourceDirAsStream("/zh/nr.dct");
-           InputStream personTaggerCtxIn = dataBroker.getFromResourceDirAsStream("/zh/nr.ctx");
-           InputStream transPersonTaggerDctIn = dataBroker.getFromResourceDirAsStream("/zh/tr.dct");
-           InputStream transPersonTaggerCtxIn = dataBroker.getFromResourceDirAsStream("/zh/tr.ctx");
-           InputStream placeTaggerDctIn = dataBroker.getFromResourceDirAsStream("/zh/ns.dct");
-           InputStream placeTaggerCtxIn = dataBroker.getFromResourceDirAsStream("/zh/ns.ctx");
-           InputStream lexTaggerCtxIn = dataBroker.getFromResourceDirAsStream("/zh/lexical.ctx")) {
-        seg = new SegTag(1, coreDictIn, bigramDictIn, personTaggerDctIn, personTaggerCtxIn,
-                transPersonTaggerDctIn, transPersonTaggerCtxIn, placeTaggerDctIn, placeTaggerCtxIn,
-                lexTaggerCtxIn);
-      } catch (IOException e) {
-        throw new RuntimeException(e);
-      }
-    }
-  }
+  private static volatile ChineseJF chineseJF;
 
   @Override
   public List<String> tokenize(String text) {
-    init();
     String result;
+    SegTag seg = borrowSegmenter();
     try {
-      result = seg.split(chinesdJF.chineseFan2Jan(text)).getFinalResult();
+      result = seg.split(getChineseJF().chineseFan2Jan(text)).getFinalResult();
+      segmenters.offer(seg);
       // a hacky workaround for http://sourceforge.net/p/languagetool/bugs/186/ and
       // http://code.google.com/p/ictclas4j/issues/detail?id=14 which otherwise causes a StringIndexOutOfBoundsException
       // TODO: fix the original cause
@@ -76,9 +68,98 @@ public class ChineseWordTokenizer implements Tokenizer {
       // ArrayIndexOutOfBoundsException, due to some internal bugs of ictclas4j. The reasons of the
       // bugs and how to resolve them are unknown now. In this case, we can just bypass the sentence
       // and return a empty List.
+      // The segmenter may be left in an inconsistent state, so it's replaced by a new one:
+      replaceSegmenter();
       return new ArrayList<>();
     }
-    final String[] list = result.split(" ");
-    return Arrays.asList(list);
+    final TaggedTokenList tokens = new TaggedTokenList();
+    int start = 0;
+    while (start <= result.length()) {
+      int end = result.indexOf(' ', start);
+      if (end == -1) {
+        end = result.length();
+      }
+      String token = result.substring(start, end);
+      tokens.add(token, asAnalyzedToken(token));
+      start = end + 1;
+    }
+    // like String.split(), don't return trailing empty tokens:
+    while (tokens.size() > 1 && tokens.get(tokens.size() - 1).isEmpty()) {
+      tokens.remove(tokens.size() - 1);
+    }
+    return tokens;
+  }
+
+  private AnalyzedToken asAnalyzedToken(String token) {
+    int slashPos = token.indexOf('/');
+    if (slashPos == -1) {
+      return null;
+    }
+    int posEnd = token.indexOf('/', slashPos + 1);
+    return new AnalyzedToken(token.substring(0, slashPos),
+            token.substring(slashPos + 1, posEnd == -1 ? token.length() : posEnd), null);
+  }
+
+  private static SegTag borrowSegmenter() {
+    SegTag seg = segmenters.poll();
+    if (seg != null) {
+      return seg;
+    }
+    if (segmenterCount.incrementAndGet() <= MAX_SEGMENTERS) {
+      try {
+        return createSegmenter();
+      } catch (RuntimeException e) {
+        segmenterCount.decrementAndGet();
+        throw e;
+      }
+    }
+    segmenterCount.decrementAndGet();
+    try {
+      return segmenters.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while waiting for a Chinese segmenter", e);
+    }
+  }
+
+  private static void replaceSegmenter() {
+    try {
+      segmenters.offer(createSegmenter());
+    } catch (RuntimeException e) {
+      segmenterCount.decrementAndGet();
+      throw e;
+    }
+  }
+
+  private static SegTag createSegmenter() {
+    final ResourceDataBroker dataBroker = JLanguageTool.getDataBroker();
+    try (InputStream coreDictIn = dataBroker.getFromResourceDirAsStream("/zh/coreDict.dct");
+         InputStream bigramDictIn = dataBroker.getFromResourceDirAsStream("/zh/BigramDict.dct");
+         InputStream personTaggerDctIn = dataBroker.getFromResourceDirAsStream("/zh/nr.dct");
+         InputStream personTaggerCtxIn = dataBroker.getFromResourceDirAsStream("/zh/nr.ctx");
+         InputStream transPersonTaggerDctIn = dataBroker.getFromResourceDirAsStream("/zh/tr.dct");
+         InputStream transPersonTaggerCtxIn = dataBroker.getFromResourceDirAsStream("/zh/tr.ctx");
+         InputStream placeTaggerDctIn = dataBroker.getFromResourceDirAsStream("/zh/ns.dct");
+         InputStream placeTaggerCtxIn = dataBroker.getFromResourceDirAsStream("/zh/ns.ctx");
+         InputStream lexTaggerCtxIn = dataBroker.getFromResourceDirAsStream("/zh/lexical.ctx")) {
+      return new SegTag(1, coreDictIn, bigramDictIn, personTaggerDctIn, personTaggerCtxIn,
+              transPersonTaggerDctIn, transPersonTaggerCtxIn, placeTaggerDctIn, placeTaggerCtxIn,
+              lexTaggerCtxIn);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static ChineseJF getChineseJF() {
+    ChineseJF result = chineseJF;
+    if (result == null) {
+      synchronized (ChineseWordTokenizer.class) {
+        result = chineseJF;
+        if (result == null) {
+          chineseJF = result = CJFBeanFactory.getChineseJF();
+        }
+      }
+    }
+    return result;
   }
 }
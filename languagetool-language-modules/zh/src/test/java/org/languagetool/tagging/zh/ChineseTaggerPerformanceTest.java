@@ -0,0 +1,38 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tagging.zh;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.languagetool.tagging.TaggerPerformanceTest;
+import org.languagetool.tokenizers.zh.ChineseWordTokenizer;
+
+public class ChineseTaggerPerformanceTest extends TaggerPerformanceTest {
+
+  @Test
+  @Ignore("Interactive use only")
+  public void testPerformance() throws Exception {
+    testPerformance(new ChineseWordTokenizer(), new ChineseTagger(),
+            "主任强调指出错误的地方。",
+            "她胸前挂着一块碧绿的玉。",
+            "国务院，非国家工作人员不能随便进去的地方。",
+            "在炎热的暑假里，我和其他同学们参加了姜老师的一个项目。");
+  }
+
+}
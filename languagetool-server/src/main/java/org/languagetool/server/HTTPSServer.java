@@ -79,6 +79,7 @@ public class HTTPSServer extends Server {
         httpHandler.setAfterTheDeadlineMode(config.getAfterTheDeadlineLanguage());
       }
       httpHandler.setLanguageModel(config.getLanguageModelDir());
+      httpHandler.setLanguageModelReloadInterval(config.getLanguageModelReloadSeconds());
       httpHandler.setMaxWorkQueueSize(config.getMaxWorkQueueSize());
       httpHandler.setRulesConfigurationFile(config.getRulesConfigFile());
       server.createContext("/", httpHandler);
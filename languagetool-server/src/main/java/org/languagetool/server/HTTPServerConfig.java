@@ -49,6 +49,7 @@ public class HTTPServerConfig {
   protected Mode mode;
   protected Language atdLanguage;
   protected File languageModelDir = null;
+  protected int languageModelReloadSeconds = 0;
   protected int requestLimit;
   protected int requestLimitPeriodInSeconds;
   protected boolean trustXForwardForHeader;
@@ -124,6 +125,10 @@ public class HTTPServerConfig {
             throw new RuntimeException("LanguageModel directory not found or is not a directory: " + languageModelDir);
           }
         }
+        languageModelReloadSeconds = Integer.parseInt(getOptionalProperty(props, "languageModelReloadSeconds", "0"));
+        if (languageModelReloadSeconds < 0) {
+          throw new IllegalArgumentException("Invalid value for languageModelReloadSeconds: " + languageModelReloadSeconds);
+        }
         maxCheckThreads = Integer.parseInt(getOptionalProperty(props, "maxCheckThreads", "10"));
         if (maxCheckThreads < 1) {
           throw new IllegalArgumentException("Invalid value for maxCheckThreads: " + maxCheckThreads);
@@ -211,6 +216,15 @@ public class HTTPServerConfig {
     return languageModelDir;
   }
 
+  /**
+   * Interval in seconds after which to check whether the language model directory (typically
+   * a symlink) points to a new version of the data, or {@code 0} to not check.
+   * @since 3.2
+   */
+  int getLanguageModelReloadSeconds() {
+    return languageModelReloadSeconds;
+  }
+
   /** @since 2.7 */
   Mode getMode() {
     return mode;
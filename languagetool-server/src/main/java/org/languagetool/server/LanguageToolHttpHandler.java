@@ -23,12 +23,14 @@ import java.net.*;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.Nullable;
 import org.languagetool.JLanguageTool;
 import org.languagetool.Language;
 import org.languagetool.Languages;
+import org.languagetool.databroker.DictionaryRegistry;
 import org.languagetool.gui.Configuration;
 import org.languagetool.language.LanguageIdentifier;
 import org.languagetool.rules.RuleMatch;
@@ -47,7 +49,9 @@ class LanguageToolHttpHandler implements HttpHandler {
   private static final String CONTENT_TYPE_VALUE = "text/xml; charset=UTF-8";
   private static final String ENCODING = "utf-8";
   private static final int CONTEXT_SIZE = 40; // characters
+  private static final int DICTIONARY_STATS_INTERVAL = 1000; // checks
 
+  private static final AtomicLong checkCount = new AtomicLong();
   private static int handleCount = 0;
 
   private final Set<String> allowedIps;  
@@ -63,7 +67,9 @@ class LanguageToolHttpHandler implements HttpHandler {
   private String allowOriginUrl;
   private boolean afterTheDeadlineMode;
   private Language afterTheDeadlineLanguage;
-  private File languageModelDir;
+  private File languageModelDir;  // as configured, may be a symlink to a versioned directory
+  private volatile File activeLanguageModelDir;  // languageModelDir resolved, used for checking
+  private ScheduledExecutorService languageModelWatcher;
   private int maxWorkQueueSize;
   private boolean trustXForwardForHeader = false;
   private Set<String> ownIps;
@@ -88,6 +94,9 @@ class LanguageToolHttpHandler implements HttpHandler {
   /** @since 2.6 */
   void shutdown() {
     executorService.shutdownNow();
+    if (languageModelWatcher != null) {
+      languageModelWatcher.shutdownNow();
+    }
   }
 
   void setMaxTextLength(int maxTextLength) {
@@ -135,6 +144,74 @@ class LanguageToolHttpHandler implements HttpHandler {
   /** @since 2.7 */
   void setLanguageModel(File languageModelDir) {
     this.languageModelDir = languageModelDir;
+    this.activeLanguageModelDir = null;
+    if (languageModelDir != null) {
+      reloadLanguageModel();
+    }
+  }
+
+  /**
+   * Check every {@code seconds} seconds whether the language model directory now resolves
+   * to a different directory (e.g. because it's a symlink that has been changed to point to
+   * a newer version of the ngram data) and if so, switch to that directory. Use {@code 0} to not check.
+   * @since 3.2
+   */
+  void setLanguageModelReloadInterval(int seconds) {
+    if (seconds < 0) {
+      throw new IllegalArgumentException("Reload interval must be >= 0: " + seconds);
+    }
+    if (languageModelWatcher != null) {
+      languageModelWatcher.shutdownNow();
+      languageModelWatcher = null;
+    }
+    if (seconds > 0 && languageModelDir != null) {
+      languageModelWatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "language-model-watcher");
+        thread.setDaemon(true);
+        return thread;
+      });
+      languageModelWatcher.scheduleWithFixedDelay(() -> {
+        try {
+          reloadLanguageModel();
+        } catch (Exception e) {
+          print("Could not reload language model from " + languageModelDir + ": " + e, System.err);
+        }
+      }, seconds, seconds, TimeUnit.SECONDS);
+    }
+  }
+
+  /**
+   * Resolve the configured language model directory again. If it now points to a different
+   * directory, requests that start from now on use the language model in that directory. The
+   * language models are swapped atomically on their next use (see {@link JLanguageTool#activateLanguageModelRules(File)}),
+   * checks that are already running finish with the old data.
+   * @return {@code true} if the language model directory has changed
+   * @since 3.2
+   */
+  boolean reloadLanguageModel() {
+    if (languageModelDir == null) {
+      return false;
+    }
+    File newDir;
+    try {
+      // not File.getCanonicalFile(), as that may return cached results after a symlink has changed:
+      newDir = languageModelDir.toPath().toRealPath().toFile();
+    } catch (IOException e) {
+      throw new RuntimeException("Could not resolve language model directory " + languageModelDir, e);
+    }
+    if (!newDir.isDirectory()) {
+      throw new RuntimeException("LanguageModel directory not found or is not a directory: " + newDir);
+    }
+    synchronized (this) {
+      if (newDir.equals(activeLanguageModelDir)) {
+        return false;
+      }
+      if (activeLanguageModelDir != null) {
+        print("Switching language model from " + activeLanguageModelDir + " to " + newDir);
+      }
+      activeLanguageModelDir = newDir;
+      return true;
+    }
   }
 
   /**
@@ -188,6 +265,9 @@ class LanguageToolHttpHandler implements HttpHandler {
         if (requestedUri.getRawPath().endsWith("/Languages")) {
           // request type: list known languages
           printListOfLanguages(httpExchange);
+        } else if (requestedUri.getRawPath().endsWith("/admin/reloadLanguageModel")) {
+          // request type: switch to the current version of the language model
+          reloadLanguageModel(httpExchange, remoteAddress);
         } else {
           // request type: text checking
           if (afterTheDeadlineMode) {
@@ -320,6 +400,25 @@ class LanguageToolHttpHandler implements HttpHandler {
     httpExchange.getResponseBody().write(response.getBytes(ENCODING));
   }
 
+  private void reloadLanguageModel(HttpExchange httpExchange, String remoteAddress) throws IOException {
+    if (!InetAddress.getByName(remoteAddress).isLoopbackAddress()) {
+      final String errorMessage = "Error: Access from " + StringTools.escapeXML(remoteAddress) + " denied, admin requests are only allowed from localhost";
+      sendError(httpExchange, HttpURLConnection.HTTP_FORBIDDEN, errorMessage);
+      print(errorMessage);
+      return;
+    }
+    if (languageModelDir == null) {
+      sendError(httpExchange, HttpURLConnection.HTTP_NOT_FOUND, "Error: No language model configured");
+      return;
+    }
+    boolean changed = reloadLanguageModel();
+    final String response = "<?xml version='1.0' encoding='" + ENCODING + "'?>\n" +
+            "<languageModel dir=\"" + StringTools.escapeXML(activeLanguageModelDir.getPath()) + "\" changed=\"" + changed + "\"/>\n";
+    setCommonHeaders(httpExchange);
+    httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, response.getBytes(ENCODING).length);
+    httpExchange.getResponseBody().write(response.getBytes(ENCODING));
+  }
+
   private void setCommonHeaders(HttpExchange httpExchange) {
     httpExchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE_VALUE);
     if (allowOriginUrl != null) {
@@ -367,7 +466,8 @@ class LanguageToolHttpHandler implements HttpHandler {
     }
     
     final boolean useQuerySettings = enabledRules.size() > 0 || disabledRules.size() > 0;
-    final QueryParams params = new QueryParams(enabledRules, disabledRules, useEnabledOnly, useQuerySettings);
+    final int maxSuggestions = getMaxSuggestions(parameters);
+    final QueryParams params = new QueryParams(enabledRules, disabledRules, useEnabledOnly, useQuerySettings, maxSuggestions);
     
     final Future<List<RuleMatch>> future = executorService.submit(new Callable<List<RuleMatch>>() {
       @Override
@@ -409,6 +509,25 @@ class LanguageToolHttpHandler implements HttpHandler {
             + "handlers:" + handleCount + ", queue:" + workQueue.size() + ", " + matches.size() + " matches, "
             + (System.currentTimeMillis() - timeStart) + "ms, agent:" + agent
             + ", " + messageSent);
+    if (checkCount.incrementAndGet() % DICTIONARY_STATS_INTERVAL == 0) {
+      print("Memory used by loaded dictionaries in bytes: " + DictionaryRegistry.getMemoryFootprint());
+    }
+  }
+
+  private int getMaxSuggestions(Map<String, String> parameters) {
+    final String maxSuggestionsParam = parameters.get("maxSuggestions");
+    if (maxSuggestionsParam == null) {
+      return -1;
+    }
+    try {
+      final int maxSuggestions = Integer.parseInt(maxSuggestionsParam);
+      if (maxSuggestions < 0) {
+        throw new IllegalArgumentException("'maxSuggestions' must not be negative: " + maxSuggestionsParam);
+      }
+      return maxSuggestions;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("'maxSuggestions' must be a number: " + maxSuggestionsParam);
+    }
   }
 
   private boolean getLanguageAutoDetect(Map<String, String> parameters) {
@@ -511,6 +630,7 @@ class LanguageToolHttpHandler implements HttpHandler {
    */
   private JLanguageTool getLanguageToolInstance(Language lang, Language motherTongue, QueryParams params) throws Exception {
     final JLanguageTool newLanguageTool = new JLanguageTool(lang, motherTongue);
+    File languageModelDir = activeLanguageModelDir;
     if (languageModelDir != null) {
       newLanguageTool.activateLanguageModelRules(languageModelDir);
     }
@@ -525,6 +645,7 @@ class LanguageToolHttpHandler implements HttpHandler {
     if (params.useQuerySettings) {
       Tools.selectRules(newLanguageTool, params.disabledRules, params.enabledRules, params.useEnabledOnly);
     }
+    newLanguageTool.setMaxSuggestions(params.maxSuggestions);
     return newLanguageTool;
   }
 
@@ -592,12 +713,14 @@ class LanguageToolHttpHandler implements HttpHandler {
     final List<String> disabledRules;
     final boolean useEnabledOnly;
     final boolean useQuerySettings;
+    final int maxSuggestions;
 
-    QueryParams(List<String> enabledRules, List<String> disabledRules, boolean useEnabledOnly, boolean useQuerySettings) {
+    QueryParams(List<String> enabledRules, List<String> disabledRules, boolean useEnabledOnly, boolean useQuerySettings, int maxSuggestions) {
       this.enabledRules = enabledRules;
       this.disabledRules = disabledRules;
       this.useEnabledOnly = useEnabledOnly;
       this.useQuerySettings = useQuerySettings;
+      this.maxSuggestions = maxSuggestions;
     }
   }
 
@@ -112,6 +112,9 @@ abstract class Server {
     System.out.println("                 'requestLimitPeriodInSeconds' - time period to which requestLimit applies (optional)");
     System.out.println("                 'languageModel' - a directory with '1grams', '2grams', '3grams' sub directories which contain a Lucene index");
     System.out.println("                  each with ngram occurrence counts; activates the confusion rule if supported (optional)");
+    System.out.println("                 'languageModelReloadSeconds' - check this often if 'languageModel' (e.g. a symlink) points to a");
+    System.out.println("                  new directory and switch to it without restart; '/admin/reloadLanguageModel' requested");
+    System.out.println("                  from localhost switches immediately (optional)");
     System.out.println("                 'maxWorkQueueSize' - reject request if request queue gets larger than this (optional)");
     System.out.println("                 'rulesFile' - a file containing rules configuration, such as .langugagetool.cfg (optional)");
   }
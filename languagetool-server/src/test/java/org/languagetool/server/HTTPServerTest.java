@@ -221,6 +221,37 @@ public class HTTPServerTest {
     }
   }
 
+  @Test
+  public void testMaxSuggestionsParameter() throws Exception {
+    final HTTPServer server = new HTTPServer(new HTTPServerConfig(HTTPTools.getDefaultPort()), false);
+    try {
+      server.run();
+      final String allSuggestions = checkWithMaxSuggestions("");
+      assertTrue("Got " + allSuggestions, allSuggestions.matches("(?s).*replacements=\"[^\"]+#.*"));
+      final String oneSuggestion = checkWithMaxSuggestions("&maxSuggestions=1");
+      assertTrue("Got " + oneSuggestion, oneSuggestion.matches("(?s).*replacements=\"[^\"#]+\".*"));
+      final String noSuggestions = checkWithMaxSuggestions("&maxSuggestions=0");
+      assertTrue("Got " + noSuggestions, noSuggestions.contains("MORFOLOGIK_RULE_EN_US"));
+      assertTrue("Got " + noSuggestions, noSuggestions.contains("replacements=\"\""));
+      try {
+        System.out.println("=== Testing 'maxSuggestions parameter' now, please ignore the following exception ===");
+        checkWithMaxSuggestions("&maxSuggestions=-1");
+        fail();
+      } catch (IOException expected) {
+        if (!expected.toString().contains(" 500 ")) {
+          fail("Expected exception with error 500, got: " + expected);
+        }
+      }
+    } finally {
+      server.stop();
+    }
+  }
+
+  private String checkWithMaxSuggestions(String maxSuggestionsParam) throws IOException {
+    final URL url = new URL("http://localhost:" + HTTPTools.getDefaultPort() + "/?language=en-US&text=This+is+a+tset." + maxSuggestionsParam);
+    return HTTPTools.checkAtUrl(url);
+  }
+
   @Test
   public void testMissingLanguageParameter() throws Exception {
     final HTTPServer server = new HTTPServer(new HTTPServerConfig(HTTPTools.getDefaultPort()), false);
@@ -0,0 +1,56 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class LanguageToolHttpHandlerTest {
+
+  @Rule
+  public TemporaryFolder tempDir = new TemporaryFolder();
+
+  @Test
+  public void testReloadLanguageModel() throws Exception {
+    Path topDir = tempDir.newFolder("lt-lm").toPath();
+    Path v1 = Files.createDirectory(topDir.resolve("v1"));
+    Path v2 = Files.createDirectory(topDir.resolve("v2"));
+    Path current = Files.createSymbolicLink(topDir.resolve("current"), v1);
+    LanguageToolHttpHandler handler = new LanguageToolHttpHandler(false, null, false, null, new LinkedBlockingQueue<>());
+    try {
+      handler.setLanguageModel(current.toFile());
+      assertThat(handler.reloadLanguageModel(), is(false));
+      Files.delete(current);
+      Files.createSymbolicLink(current, v2);
+      assertThat(handler.reloadLanguageModel(), is(true));
+      assertThat(handler.reloadLanguageModel(), is(false));
+    } finally {
+      handler.shutdown();
+    }
+  }
+
+}
@@ -54,26 +54,28 @@ class HomophoneOccurrenceDumper extends LuceneLanguageModel {
    */
   Map<String,Long> getContext(String... tokens) throws IOException {
     Objects.requireNonNull(tokens);
-    TermsEnum iterator = getIterator();
-    Map<String,Long> result = new HashMap<>();
-    BytesRef byteRef;
-    int i = 0;
-    while ((byteRef = iterator.next()) != null) {
-      String term = new String(byteRef.bytes, byteRef.offset, byteRef.length);
-      for (String token : tokens) {
-        if (term.contains(" " + token + " ")) {
-          String[] split = term.split(" ");
-          if (split.length == 3) {
-            long count = getCount(Arrays.asList(split[0], split[1], split[2]));
-            result.put(term, count);
+    return search(3, luceneSearcher -> {
+      TermsEnum iterator = getIterator(luceneSearcher);
+      Map<String,Long> result = new HashMap<>();
+      BytesRef byteRef;
+      int i = 0;
+      while ((byteRef = iterator.next()) != null) {
+        String term = new String(byteRef.bytes, byteRef.offset, byteRef.length);
+        for (String token : tokens) {
+          if (term.contains(" " + token + " ")) {
+            String[] split = term.split(" ");
+            if (split.length == 3) {
+              long count = getCount(Arrays.asList(split[0], split[1], split[2]));
+              result.put(term, count);
+            }
           }
         }
+        /*if (i++ > 1_000_000) { // comment in for faster testing with subsets of the data
+          break;
+        }*/
       }
-      /*if (i++ > 1_000_000) { // comment in for faster testing with subsets of the data
-        break;
-      }*/
-    }
-    return result;
+      return result;
+    });
   }
 
   private void run(String confusionSetPath) throws IOException {
@@ -87,30 +89,32 @@ class HomophoneOccurrenceDumper extends LuceneLanguageModel {
 
   private void dumpOccurrences(Set<String> tokens) throws IOException {
     Objects.requireNonNull(tokens);
-    TermsEnum iterator = getIterator();
-    BytesRef byteRef;
-    int i = 0;
-    while ((byteRef = iterator.next()) != null) {
-      String term = new String(byteRef.bytes, byteRef.offset, byteRef.length);
-      String[] split = term.split(" ");
-      if (split.length == 3) {
-        String token = split[1];
-        if (tokens.contains(token)) {
-          long count = getCount(Arrays.asList(split[0], split[1], split[2]));
-          if (count >= MIN_COUNT) {
-            System.out.println(token + "\t" + count + "\t" + split[0] + " " + split[1] + " " + split[2]);
+    search(3, luceneSearcher -> {
+      TermsEnum iterator = getIterator(luceneSearcher);
+      BytesRef byteRef;
+      int i = 0;
+      while ((byteRef = iterator.next()) != null) {
+        String term = new String(byteRef.bytes, byteRef.offset, byteRef.length);
+        String[] split = term.split(" ");
+        if (split.length == 3) {
+          String token = split[1];
+          if (tokens.contains(token)) {
+            long count = getCount(Arrays.asList(split[0], split[1], split[2]));
+            if (count >= MIN_COUNT) {
+              System.out.println(token + "\t" + count + "\t" + split[0] + " " + split[1] + " " + split[2]);
+            }
           }
         }
+        if (i % 10_000 == 0) {
+          System.err.println(i + "...");
+        }
+        i++;
       }
-      if (i % 10_000 == 0) {
-        System.err.println(i + "...");
-      }
-      i++;
-    }
+      return null;
+    });
   }
 
-  private TermsEnum getIterator() throws IOException {
-    LuceneSearcher luceneSearcher = getLuceneSearcher(3);
+  private TermsEnum getIterator(LuceneSearcher luceneSearcher) throws IOException {
     Fields fields = MultiFields.getFields(luceneSearcher.getReader());
     Terms terms = fields.terms("ngram");
     return terms.iterator();
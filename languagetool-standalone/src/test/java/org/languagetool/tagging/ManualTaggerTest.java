@@ -20,12 +20,16 @@ package org.languagetool.tagging;
 
 import org.junit.Test;
 import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.Languages;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 public class ManualTaggerTest {
 
@@ -43,4 +47,21 @@ public class ManualTaggerTest {
     assertThat(tagger.tag("ableitungen").size(), is(0));
   }
 
+  @Test
+  public void testBinaryDictionariesAreUpToDate() throws IOException {
+    // a binary dictionary that doesn't match its plain text file would be silently ignored:
+    for (Language language : Languages.get()) {
+      if (language.getTagger() instanceof BaseTagger) {
+        BaseTagger tagger = (BaseTagger) language.getTagger();
+        for (String fileName : Arrays.asList(tagger.getManualAdditionsFileName(), tagger.getManualRemovalsFileName())) {
+          String binaryFileName = fileName != null ? ManualTagger.getBinaryFileName(fileName) : null;
+          if (binaryFileName != null && JLanguageTool.getDataBroker().resourceExists(binaryFileName)) {
+            assertTrue(binaryFileName + " is outdated, rebuild it from " + fileName + " with ManualTaggerDictionaryBuilder",
+                    ManualTagger.hasUpToDateBinaryDictionary(fileName));
+          }
+        }
+      }
+    }
+  }
+
 }
@@ -38,6 +38,18 @@ public class MultiWordChunkerTest extends TestCase {
     assertTrue(tokens[6].getReadings().toString().contains("</ELLIPSIS>"));
   }
   
+  public void testDisambiguateOverlapping() throws Exception {
+    final Disambiguator chunker = new MultiWordChunker("/pl/multiwords.txt");
+    final JLanguageTool lt = new JLanguageTool(new English());
+    final AnalyzedSentence analyzedSentence = lt.getAnalyzedSentence("na co dzień");
+    final AnalyzedSentence disambiguated = chunker.disambiguate(analyzedSentence);
+    final AnalyzedTokenReadings[] tokens = disambiguated.getTokens();
+    assertTrue(tokens[1].getReadings().toString().contains("na co dzień/<ADV>"));
+    assertTrue(tokens[3].getReadings().toString().contains("co dzień/<ADV>"));
+    assertTrue(tokens[5].getReadings().toString().contains("na co dzień/</ADV>"));
+    assertTrue(tokens[5].getReadings().toString().contains(", co dzień/</ADV>"));
+  }
+
   public void testDisambiguateMultiSpace() throws Exception {
       final Disambiguator chunker = new MultiWordChunker("/uk/multiwords.txt");
       final JLanguageTool lt = new JLanguageTool(new Ukrainian());
@@ -0,0 +1,112 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tools;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.commons.cli.CommandLine;
+import org.languagetool.tagging.ManualTagger;
+
+/**
+ * Create a Morfologik binary dictionary from the plain text files used by
+ * {@code org.languagetool.tagging.ManualTagger}, e.g. {@code /de/added.txt}, so they
+ * don't need to be parsed on every start. The plain text file stays the source
+ * that gets edited, the binary file is used if it's next to it, e.g. {@code /de/added.dict}.
+ * An {@code .info} file is written next to the output file, based on the given one
+ * (usually the one of the language's tagger dictionary).
+ * @since 3.2
+ */
+public final class ManualTaggerDictionaryBuilder extends DictionaryBuilder {
+
+  private final File infoFile;
+
+  public ManualTaggerDictionaryBuilder(File infoFile) throws IOException {
+    super(infoFile);
+    this.infoFile = infoFile;
+  }
+
+  public static void main(String[] args) throws Exception {
+    CommandLine cmdLine = new BuilderOptions().parseArguments(args, ManualTaggerDictionaryBuilder.class);
+    ManualTaggerDictionaryBuilder builder = new ManualTaggerDictionaryBuilder(new File(cmdLine.getOptionValue(BuilderOptions.INFO_OPTION)));
+    builder.setOutputFilename(cmdLine.getOptionValue(BuilderOptions.OUTPUT_OPTION));
+    builder.build(new File(cmdLine.getOptionValue(BuilderOptions.INPUT_OPTION)));
+  }
+
+  /**
+   * @param manualTaggerFile a UTF-8 file in the format {@code fullform baseform postags} (tab separated)
+   *                         with optional comment lines starting with {@code #}
+   */
+  public File build(File manualTaggerFile) throws Exception {
+    File plainFile = File.createTempFile(ManualTaggerDictionaryBuilder.class.getSimpleName(), ".txt");
+    File tempFile = File.createTempFile(ManualTaggerDictionaryBuilder.class.getSimpleName(), ".tab2morph");
+    try {
+      convert(manualTaggerFile, plainFile);
+      List<String> tab2morphOptions = getTab2MorphOptions(plainFile, tempFile);
+      tab2morphOptions.add(0, "tab2morph");
+      prepare(tab2morphOptions);
+      File dictFile = buildDict(tempFile);
+      writeInfoFile(new File(dictFile.getAbsolutePath().replaceFirst("\\.dict$", "") + ".info"), manualTaggerFile);
+      return dictFile;
+    } finally {
+      plainFile.delete();
+      tempFile.delete();
+    }
+  }
+
+  // remove comments and empty lines, and convert to the dictionary's encoding:
+  private void convert(File manualTaggerFile, File outputFile) throws IOException {
+    String encoding = getOption("fsa.dict.encoding");
+    try (
+      BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(manualTaggerFile), StandardCharsets.UTF_8));
+      BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(outputFile), encoding != null ? encoding : "utf-8"))
+    ) {
+      String line;
+      while ((line = br.readLine()) != null) {
+        if (line.isEmpty() || line.charAt(0) == '#') {
+          continue;
+        }
+        if (line.split("\t").length != 3) {
+          throw new IOException("Unknown line format in " + manualTaggerFile + ", expected three tab-separated fields: '" + line + "'");
+        }
+        bw.write(line);
+        bw.write('\n');
+      }
+    }
+  }
+
+  private void writeInfoFile(File outputInfoFile, File manualTaggerFile) throws IOException {
+    Properties props = new Properties();
+    try (InputStream in = new FileInputStream(infoFile)) {
+      props.load(in);
+    }
+    // the plain text files have no frequency data, and the tags must be returned unchanged:
+    props.setProperty("fsa.dict.frequency-included", "false");
+    try (OutputStream out = new FileOutputStream(outputInfoFile)) {
+      props.store(out, "Generated by " + ManualTaggerDictionaryBuilder.class.getSimpleName() + " from " + infoFile.getName());
+      // lets ManualTagger detect that the plain text file has been changed since:
+      String checksum = ManualTagger.getChecksum(new FileInputStream(manualTaggerFile));
+      out.write((ManualTagger.SOURCE_CHECKSUM_PREFIX + checksum + "\n").getBytes(StandardCharsets.ISO_8859_1));
+    }
+    System.out.println("The info file has been written to " + outputInfoFile.getAbsolutePath());
+  }
+
+}
@@ -22,31 +22,41 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
 
 import org.apache.commons.cli.CommandLine;
+import org.languagetool.rules.spelling.morfologik.SymmetricDeleteIndex;
 
 /**
  * Create a Morfologik spelling binary dictionary from plain text data.
  */
 final class SpellDictionaryBuilder extends DictionaryBuilder {
 
+  private static final int INDEX_MAX_DISTANCE = 2;
+  private static final int INDEX_PREFIX_LENGTH = 7;
+
+  private boolean buildIndex;
+
   SpellDictionaryBuilder(File infoFile) throws IOException {
     super(infoFile);
   }
   
   public static void main(String[] args) throws Exception {
-    CommandLine cmdLine = new BuilderWithFreqOptions().parseArguments(args, SpellDictionaryBuilder.class);
+    CommandLine cmdLine = new SpellBuilderOptions().parseArguments(args, SpellDictionaryBuilder.class);
     
     String plainTextFile = cmdLine.getOptionValue(BuilderOptions.INPUT_OPTION);
     String infoFile = cmdLine.getOptionValue(BuilderOptions.INFO_OPTION);
     
     SpellDictionaryBuilder builder = new SpellDictionaryBuilder(new File(infoFile));
     builder.setOutputFilename(cmdLine.getOptionValue(BuilderOptions.OUTPUT_OPTION));
+    builder.setBuildIndex(cmdLine.hasOption(SpellBuilderOptions.INDEX_OPTION));
 
     File inputFile = new File(plainTextFile);
 
@@ -58,11 +68,22 @@ final class SpellDictionaryBuilder extends DictionaryBuilder {
     builder.build(inputFile);
   }
 
+  /**
+   * Whether to also create a {@link SymmetricDeleteIndex} next to the dictionary.
+   */
+  void setBuildIndex(boolean buildIndex) {
+    this.buildIndex = buildIndex;
+  }
+
   private File build(File plainTextDictFile) throws Exception {
     File tempFile = null;
     try {
       tempFile = tokenizeInput(plainTextDictFile);
-      return buildDict(tempFile);
+      File dictFile = buildDict(tempFile);
+      if (buildIndex) {
+        buildIndex(tempFile, dictFile);
+      }
+      return dictFile;
     } finally {
       if (tempFile != null) {
         tempFile.delete();
@@ -70,6 +91,20 @@ final class SpellDictionaryBuilder extends DictionaryBuilder {
     }
   }
 
+  private void buildIndex(File tokenizedFile, File dictFile) throws IOException {
+    String separator = hasOption("fsa.dict.separator") ? getOption("fsa.dict.separator") : "+";
+    if (separator.length() != 1) {
+      throw new RuntimeException("Separator must be a single character to build an index: '" + separator + "'");
+    }
+    List<String> lines = Files.readAllLines(tokenizedFile.toPath(), Charset.forName(getOption("fsa.dict.encoding")));
+    String dictFileName = dictFile.getAbsolutePath();
+    File indexFile = new File(dictFileName.replaceFirst("\\.dict$", "") + SymmetricDeleteIndex.FILE_SUFFIX);
+    try (OutputStream out = new FileOutputStream(indexFile)) {
+      SymmetricDeleteIndex.write(lines, separator.charAt(0), INDEX_MAX_DISTANCE, INDEX_PREFIX_LENGTH, out);
+    }
+    System.out.println("Symmetric delete index written to " + indexFile + " (" + indexFile.length() + " bytes)");
+  }
+
   private File tokenizeInput(File plainTextDictFile) throws IOException {
 //    Tokenizer wordTokenizer = language.getWordTokenizer();
     String encoding = getOption("fsa.dict.encoding");
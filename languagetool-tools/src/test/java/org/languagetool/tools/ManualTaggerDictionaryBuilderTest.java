@@ -0,0 +1,103 @@
+/* LanguageTool, a natural language style checker 
+ * Copyright (C) 2015 Daniel Naber (http://www.danielnaber.de)
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tools;
+
+import morfologik.stemming.Dictionary;
+import org.junit.Test;
+import org.languagetool.JLanguageTool;
+import org.languagetool.tagging.ManualTagger;
+import org.languagetool.tagging.MorfologikTagger;
+import org.languagetool.tagging.TaggedWord;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ManualTaggerDictionaryBuilderTest {
+
+  private static final String INFO =
+      "fsa.dict.separator=+\n" +
+      "fsa.dict.encoding=utf-8\n" +
+      "fsa.dict.frequency-included=true\n";
+
+  @Test
+  public void testBuilder() throws Exception {
+    Path dir = Files.createTempDirectory("manualTaggerTest");
+    Path inputFile = dir.resolve("added.txt");
+    Path infoFile = dir.resolve("lang.info");
+    Path outFile = dir.resolve("added.dict");
+    Files.write(inputFile, Arrays.asList("# comment", "", "Grüße\tGruß\tSUB:NOM:PLU:FEM", "Grüße\tGruß\tSUB:AKK:PLU:FEM"), StandardCharsets.UTF_8);
+    Files.write(infoFile, Arrays.asList(INFO));
+    ManualTaggerDictionaryBuilder.main(new String[] {
+        "-i", inputFile.toAbsolutePath().toString(),
+        "-info", infoFile.toAbsolutePath().toString(),
+        "-o", outFile.toAbsolutePath().toString()} );
+    File outInfoFile = dir.resolve("added.info").toFile();
+    assertThat(outInfoFile.exists(), is(true));
+    String info = new String(Files.readAllBytes(outInfoFile.toPath()), StandardCharsets.ISO_8859_1);
+    String checksum = ManualTagger.getChecksum(Files.newInputStream(inputFile));
+    assertThat(info.contains(ManualTagger.SOURCE_CHECKSUM_PREFIX + checksum + "\n"), is(true));
+    MorfologikTagger tagger = new MorfologikTagger(Dictionary.read(outFile.toUri().toURL()));
+    List<TaggedWord> result = tagger.tag("Grüße");
+    assertThat(result.size(), is(2));
+    assertThat(result.get(0).getLemma(), is("Gruß"));
+    assertThat(result.get(0).getPosTag(), is("SUB:AKK:PLU:FEM"));  // the FSA returns the tags in sorted order
+    assertThat(result.get(1).getPosTag(), is("SUB:NOM:PLU:FEM"));
+    assertThat(tagger.tag("Gruß").size(), is(0));
+  }
+
+  @Test
+  public void testBuildGermanDictionary() throws Exception {
+    Path dir = Files.createTempDirectory("manualTaggerTest");
+    Path inputFile = dir.resolve("added.txt");
+    Path infoFile = dir.resolve("german.info");
+    Path outFile = dir.resolve("added.dict");
+    copyResource("/de/added.txt", inputFile);
+    copyResource("/de/german.info", infoFile);
+    ManualTaggerDictionaryBuilder.main(new String[] {
+        "-i", inputFile.toAbsolutePath().toString(),
+        "-info", infoFile.toAbsolutePath().toString(),
+        "-o", outFile.toAbsolutePath().toString()} );
+    ManualTagger plainTagger = new ManualTagger(Files.newInputStream(inputFile));
+    MorfologikTagger binaryTagger = new MorfologikTagger(Dictionary.read(outFile.toUri().toURL()));
+    for (String line : Files.readAllLines(inputFile, StandardCharsets.UTF_8)) {
+      if (!line.isEmpty() && line.charAt(0) != '#') {
+        String word = line.split("\t")[0];
+        // the binary dictionary returns the readings sorted, not in the order of the plain text file:
+        assertThat(word, new HashSet<>(binaryTagger.tag(word)), is(new HashSet<>(plainTagger.tag(word))));
+      }
+    }
+  }
+
+  private void copyResource(String path, Path target) throws IOException {
+    try (InputStream stream = JLanguageTool.getDataBroker().getFromResourceDirAsStream(path)) {
+      Files.copy(stream, target);
+    }
+  }
+
+}